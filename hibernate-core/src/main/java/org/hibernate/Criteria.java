@@ -23,6 +23,7 @@
  *
  */
 package org.hibernate;
+import java.util.Iterator;
 import java.util.List;
 import org.hibernate.criterion.CriteriaSpecification;
 import org.hibernate.criterion.Criterion;
@@ -467,6 +468,45 @@ public interface Criteria extends CriteriaSpecification {
 	 */
 	public ScrollableResults scroll(ScrollMode scrollMode) throws HibernateException;
 
+	/**
+	 * Get the results as an {@link Iterator} which reads them lazily from forward-only
+	 * {@link ScrollableResults}, rather than materializing them in a {@link List}.
+	 * <p/>
+	 * Every <tt>evictionInterval</tt> results, the entities among the results already returned are
+	 * evicted from the session, along with whatever the eviction cascades to.  Any change made to them and
+	 * not yet flushed is lost.  Other entities loaded with them (associated entities, proxies) and their
+	 * collections stay in the session, so the persistence context still grows with the results if they have
+	 * associations; use {@link #stream(int, boolean)} to clear the session instead.
+	 *
+	 * @param evictionInterval The number of results after which processed entities are evicted, <tt>0</tt>
+	 * to keep them in the session.
+	 *
+	 * @return The result iterator, which may be closed early through {@link Hibernate#close(Iterator)}.
+	 *
+	 * @throws HibernateException Indicates a problem either translating the criteria to SQL,
+	 * exeucting the SQL or processing the SQL results.
+	 */
+	public Iterator stream(int evictionInterval) throws HibernateException;
+
+	/**
+	 * Get the results as an {@link Iterator}, like {@link #stream(int)}, optionally clearing the session
+	 * every <tt>interval</tt> results rather than evicting the results.
+	 * <p/>
+	 * Clearing keeps the persistence context bounded however many rows the query returns, but detaches
+	 * every entity of the session, including those loaded before the results were read, and discards any
+	 * change not yet flushed.
+	 *
+	 * @param interval The number of results after which the session is cleared or the processed entities
+	 * are evicted, <tt>0</tt> to keep them in the session.
+	 * @param clear <tt>true</tt> to clear the session, <tt>false</tt> to evict the processed entities.
+	 *
+	 * @return The result iterator, which may be closed early through {@link Hibernate#close(Iterator)}.
+	 *
+	 * @throws HibernateException Indicates a problem either translating the criteria to SQL,
+	 * exeucting the SQL or processing the SQL results.
+	 */
+	public Iterator stream(int interval, boolean clear) throws HibernateException;
+
 	/**
 	 * Convenience method to return a single instance that matches
 	 * the query, or null if the query returns no results.
@@ -130,6 +130,42 @@ public interface Query {
 	 * @throws HibernateException
 	 */
 	public ScrollableResults scroll(ScrollMode scrollMode) throws HibernateException;
+	/**
+	 * Return the query results as an <tt>Iterator</tt> which reads them lazily from
+	 * forward-only <tt>ScrollableResults</tt>, rather than materializing them in a
+	 * <tt>List</tt>. If the query contains multiple results per row, the results are
+	 * returned in an instance of <tt>Object[]</tt>.<br>
+	 * <br>
+	 * Every <tt>evictionInterval</tt> results, the entities among the results already
+	 * returned are evicted from the session, along with whatever the eviction cascades to.
+	 * Any change made to them and not yet flushed is lost. Other entities loaded with them
+	 * (associated entities, proxies) and their collections stay in the session, so the
+	 * persistence context still grows with the results if they have associations; use
+	 * {@link #stream(int, boolean)} to clear the session instead.<br>
+	 *
+	 * @see org.hibernate.Hibernate#close(java.util.Iterator)
+	 * @param evictionInterval the number of results after which processed entities are
+	 * evicted, <tt>0</tt> to keep them in the session
+	 * @return the result iterator
+	 * @throws HibernateException
+	 */
+	public Iterator stream(int evictionInterval) throws HibernateException;
+	/**
+	 * Return the query results as an <tt>Iterator</tt>, like {@link #stream(int)}, optionally
+	 * clearing the session every <tt>interval</tt> results rather than evicting the results.<br>
+	 * <br>
+	 * Clearing keeps the persistence context bounded however many rows the query returns,
+	 * but detaches every entity of the session, including those loaded before the results
+	 * were read, and discards any change not yet flushed.<br>
+	 *
+	 * @see org.hibernate.Hibernate#close(java.util.Iterator)
+	 * @param interval the number of results after which the session is cleared or the processed
+	 * entities are evicted, <tt>0</tt> to keep them in the session
+	 * @param clear <tt>true</tt> to clear the session, <tt>false</tt> to evict the processed entities
+	 * @return the result iterator
+	 * @throws HibernateException
+	 */
+	public Iterator stream(int interval, boolean clear) throws HibernateException;
 	/**
 	 * Return the query results as a <tt>List</tt>. If the query contains
 	 * multiple results pre row, the results are returned in an instance
@@ -29,8 +29,11 @@ import java.sql.Blob;
 import java.sql.Clob;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
+import java.util.concurrent.Executor;
 import org.hibernate.type.Type;
 
 /**
@@ -103,6 +106,21 @@ public interface ScrollableResults {
 	 * @return an object or array
 	 */
 	public Object[] get() throws HibernateException;
+	/**
+	 * Iterate over the remaining results in chunks of up to <tt>chunkSize</tt> results, in order. Each result is
+	 * what {@link Query#list()} would return: the transformed row if the query has a result transformer, the single
+	 * column value, or the row itself. Rows are always read on the calling thread; if an executor is given, the
+	 * transformation of each chunk is split across it. Parallel transformation is only allowed for the results of a
+	 * {@link StatelessSession} or of a read-only query, and the result transformer must not initialize lazy state.
+	 * The first result of each chunk is transformed on the calling thread, so a transformer which sets itself up on
+	 * its first tuple may be used, provided it is thread-safe afterwards. Results of queries fetching collections are
+	 * always built on the calling thread.
+	 *
+	 * @param chunkSize the maximum number of results per chunk
+	 * @param executor the executor transforming chunks in parallel, or <tt>null</tt> to transform on the calling thread
+	 * @return an iterator over the chunks of results
+	 */
+	public Iterator<List> chunks(int chunkSize, Executor executor) throws HibernateException;
 	/**
 	 * Get the <tt>i</tt>th object in the current row of results, without
 	 * initializing any other results in the row. This method may be used
@@ -63,6 +63,10 @@ public final class EntityIdentityInsertAction extends EntityAction  {
 		this.delayedEntityKey = isDelayed ? generateDelayedEntityKey() : null;
 	}
 
+	public Object[] getState() {
+		return state;
+	}
+
 	@Override
 	public void execute() throws HibernateException {
 		final EntityPersister persister = getPersister();
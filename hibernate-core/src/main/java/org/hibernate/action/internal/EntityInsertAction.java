@@ -65,20 +65,40 @@ public final class EntityInsertAction extends EntityAction {
 
 	@Override
 	public void execute() throws HibernateException {
+		boolean veto = beforeInsert();
+
+		// Don't need to lock the cache here, since if someone
+		// else inserted the same pk first, the insert would fail
+
+		if ( !veto ) {
+			getPersister().insert( getId(), state, getInstance(), getSession() );
+		}
+
+		afterInsert( veto );
+	}
+
+	/**
+	 * The part of {@link #execute} preceding the actual insert, for callers inserting the entity themselves (along
+	 * with others, see {@link org.hibernate.persister.entity.MultiRowInsertable}).
+	 *
+	 * @return Whether a listener vetoed the insert
+	 */
+	public boolean beforeInsert() {
+		return preInsert();
+	}
+
+	/**
+	 * The part of {@link #execute} following the actual insert, for callers inserting the entity themselves.
+	 *
+	 * @param veto Whether a listener vetoed the insert, as returned by {@link #beforeInsert}
+	 */
+	public void afterInsert(boolean veto) throws HibernateException {
 		EntityPersister persister = getPersister();
 		SessionImplementor session = getSession();
 		Object instance = getInstance();
 		Serializable id = getId();
 
-		boolean veto = preInsert();
-
-		// Don't need to lock the cache here, since if someone
-		// else inserted the same pk first, the insert would fail
-
 		if ( !veto ) {
-			
-			persister.insert( id, state, instance, session );
-		
 			EntityEntry entry = session.getPersistenceContext().getEntry( instance );
 			if ( entry == null ) {
 				throw new AssertionFailure( "possible nonthreadsafe access to session" );
@@ -106,59 +106,66 @@ public final class FieldInterceptorImpl extends AbstractFieldInterceptor impleme
 	}
 
 	public boolean writeBoolean(Object target, String name, boolean oldValue, boolean newValue) {
-		dirty();
+		markWritten( name, oldValue != newValue );
 		intercept( target, name, oldValue ? Boolean.TRUE : Boolean.FALSE );
 		return newValue;
 	}
 
 	public byte writeByte(Object target, String name, byte oldValue, byte newValue) {
-		dirty();
+		markWritten( name, oldValue != newValue );
 		intercept( target, name, Byte.valueOf( oldValue ) );
 		return newValue;
 	}
 
 	public char writeChar(Object target, String name, char oldValue, char newValue) {
-		dirty();
+		markWritten( name, oldValue != newValue );
 		intercept( target, name, Character.valueOf( oldValue ) );
 		return newValue;
 	}
 
 	public double writeDouble(Object target, String name, double oldValue, double newValue) {
-		dirty();
+		markWritten( name, Double.doubleToLongBits( oldValue ) != Double.doubleToLongBits( newValue ) );
 		intercept( target, name, Double.valueOf( oldValue ) );
 		return newValue;
 	}
 
 	public float writeFloat(Object target, String name, float oldValue, float newValue) {
-		dirty();
+		markWritten( name, Float.floatToIntBits( oldValue ) != Float.floatToIntBits( newValue ) );
 		intercept( target, name, Float.valueOf( oldValue ) );
 		return newValue;
 	}
 
 	public int writeInt(Object target, String name, int oldValue, int newValue) {
-		dirty();
+		markWritten( name, oldValue != newValue );
 		intercept( target, name, Integer.valueOf( oldValue ) );
 		return newValue;
 	}
 
 	public long writeLong(Object target, String name, long oldValue, long newValue) {
-		dirty();
+		markWritten( name, oldValue != newValue );
 		intercept( target, name, Long.valueOf( oldValue ) );
 		return newValue;
 	}
 
 	public short writeShort(Object target, String name, short oldValue, short newValue) {
-		dirty();
+		markWritten( name, oldValue != newValue );
 		intercept( target, name, Short.valueOf( oldValue ) );
 		return newValue;
 	}
 
 	public Object writeObject(Object target, String name, Object oldValue, Object newValue) {
-		dirty();
+		markWritten( name, oldValue != newValue );
 		intercept( target, name, oldValue );
 		return newValue;
 	}
 
+	private void markWritten(String name, boolean changed) {
+		// writing back the value already held is not a change, unless the field was not loaded yet
+		if ( changed || !isInitialized( name ) ) {
+			dirty( name );
+		}
+	}
+
 	public String toString() {
 		return "FieldInterceptorImpl(" +
 		       "entityName=" + getEntityName() +
@@ -23,6 +23,8 @@
  */
 package org.hibernate.bytecode.instrumentation.spi;
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Set;
 import org.hibernate.LazyInitializationException;
 import org.hibernate.engine.SessionImplementor;
@@ -38,6 +40,8 @@ public abstract class AbstractFieldInterceptor implements FieldInterceptor, Seri
 
 	private transient boolean initializing;
 	private boolean dirty;
+	// the fields written since the dirty flag was last cleared; null while dirty if the entity was marked dirty as a whole
+	private Set<String> dirtyFields;
 
 	protected AbstractFieldInterceptor(SessionImplementor session, Set uninitializedFields, String entityName) {
 		this.session = session;
@@ -62,19 +66,45 @@ public abstract class AbstractFieldInterceptor implements FieldInterceptor, Seri
 
 	public final void dirty() {
 		dirty = true;
+		dirtyFields = null;
 	}
 
 	public final boolean isDirty() {
 		return dirty;
 	}
 
+	public final Set<String> getDirtyFields() {
+		if ( !dirty ) {
+			return Collections.emptySet();
+		}
+		return dirtyFields == null ? null : Collections.unmodifiableSet( dirtyFields );
+	}
+
 	public final void clearDirty() {
 		dirty = false;
+		dirtyFields = null;
 	}
 
 
 	// subclass accesses ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
+	/**
+	 * Record a write to the given field of the entity to which we are bound.
+	 *
+	 * @param fieldName The name of the written field
+	 */
+	protected final void dirty(String fieldName) {
+		if ( !dirty ) {
+			dirty = true;
+			dirtyFields = new HashSet<String>();
+		}
+		else if ( dirtyFields == null ) {
+			// already dirty as a whole
+			return;
+		}
+		dirtyFields.add( fieldName );
+	}
+
 	protected final Object intercept(Object target, String fieldName, Object value) {
 		if ( initializing ) {
 			return value;
@@ -23,6 +23,8 @@
  */
 package org.hibernate.bytecode.instrumentation.spi;
 
+import java.util.Set;
+
 import org.hibernate.engine.SessionImplementor;
 
 /**
@@ -66,6 +68,14 @@ public interface FieldInterceptor {
 	 */
 	public boolean isDirty();
 
+	/**
+	 * The names of the fields written since the dirty flag was last cleared.
+	 *
+	 * @return The written fields (empty if the entity is not dirty), or null if the entity was
+	 * {@link #dirty() marked dirty} without saying which fields changed.
+	 */
+	public Set<String> getDirtyFields();
+
 	/**
 	 * Clear the internal dirty flag.
 	 */
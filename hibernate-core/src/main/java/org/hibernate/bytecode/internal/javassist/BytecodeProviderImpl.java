@@ -32,9 +32,11 @@ import org.hibernate.bytecode.buildtime.spi.ClassFilter;
 import org.hibernate.bytecode.buildtime.spi.FieldFilter;
 import org.hibernate.bytecode.spi.BytecodeProvider;
 import org.hibernate.bytecode.spi.ClassTransformer;
+import org.hibernate.bytecode.spi.DirtyCheckOptimizer;
 import org.hibernate.bytecode.spi.ProxyFactoryFactory;
 import org.hibernate.bytecode.spi.ReflectionOptimizer;
 import org.hibernate.internal.util.StringHelper;
+import org.hibernate.tuple.StandardProperty;
 
 /**
  * Bytecode provider implementation for Javassist.
@@ -97,6 +99,26 @@ public class BytecodeProviderImpl implements BytecodeProvider {
         return null;
 	}
 
+	public DirtyCheckOptimizer getDirtyCheckOptimizer(
+			String entityName,
+			StandardProperty[] properties,
+			boolean[][] includeColumns) {
+		try {
+			return new DirtyCheckerFactory( entityName, properties, includeColumns ).create();
+		}
+		catch ( Throwable t ) {
+			if ( LOG.isDebugEnabled() ) {
+				LOG.debugf(
+						"Dirty check optimizer disabled for: %s [%s: %s]",
+						entityName,
+						StringHelper.unqualify( t.getClass().getName() ),
+						t.getMessage()
+				);
+			}
+			return null;
+		}
+	}
+
 	public ClassTransformer getTransformer(ClassFilter classFilter, FieldFilter fieldFilter) {
 		return new JavassistClassTransformer( classFilter, fieldFilter );
 	}
@@ -0,0 +1,65 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.bytecode.internal.javassist;
+
+import org.hibernate.bytecode.instrumentation.spi.LazyPropertyInitializer;
+import org.hibernate.bytecode.spi.DirtyCheckOptimizer;
+import org.hibernate.engine.SessionImplementor;
+import org.hibernate.tuple.StandardProperty;
+
+/**
+ * Base class of the dirty checkers generated by {@link DirtyCheckerFactory}.  The generated
+ * {@link #findDirty} compares the state of properties of simple types inline and hands any other
+ * property to {@link #isDirty}.
+ */
+public abstract class DirtyChecker implements DirtyCheckOptimizer {
+	protected StandardProperty[] properties;
+	protected boolean[][] includeColumns;
+
+	protected DirtyChecker() {
+	}
+
+	/**
+	 * Dirty check a single property the way {@link org.hibernate.type.TypeHelper#findDirty} does.
+	 */
+	protected final boolean isDirty(
+			int i,
+			Object[] currentState,
+			Object[] previousState,
+			boolean anyUninitializedProperties,
+			SessionImplementor session) {
+		return currentState[i] != LazyPropertyInitializer.UNFETCHED_PROPERTY
+				&& properties[i].isDirtyCheckable( anyUninitializedProperties )
+				&& properties[i].getType().isDirty( previousState[i], currentState[i], includeColumns[i], session );
+	}
+
+	protected static int[] trim(int[] results, int count) {
+		if ( count == 0 ) {
+			return null;
+		}
+		int[] trimmed = new int[count];
+		System.arraycopy( results, 0, trimmed, 0, count );
+		return trimmed;
+	}
+}
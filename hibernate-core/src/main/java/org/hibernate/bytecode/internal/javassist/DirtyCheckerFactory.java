@@ -0,0 +1,174 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.bytecode.internal.javassist;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javassist.ClassClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtNewConstructor;
+import javassist.CtNewMethod;
+
+import org.hibernate.engine.SessionImplementor;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.tuple.StandardProperty;
+import org.hibernate.type.BooleanType;
+import org.hibernate.type.ByteType;
+import org.hibernate.type.CharacterType;
+import org.hibernate.type.DoubleType;
+import org.hibernate.type.FloatType;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.LongType;
+import org.hibernate.type.NumericBooleanType;
+import org.hibernate.type.ShortType;
+import org.hibernate.type.StringType;
+import org.hibernate.type.TrueFalseType;
+import org.hibernate.type.YesNoType;
+
+/**
+ * A factory of {@link DirtyChecker}s.
+ * <p/>
+ * The generated checker unrolls the dirty checking loop of {@link org.hibernate.type.TypeHelper#findDirty} for one
+ * entity.  Whatever can be decided from the mapping alone (whether the property is dirty checkable at all, whether
+ * its column is updateable) is decided at generation time.  Properties of the single column types listed in
+ * {@link #DIRECTLY_COMPARABLE_TYPES}, whose dirtiness is plain (null safe) <tt>equals()</tt>, are compared inline,
+ * each through its own call site; everything else goes through {@link org.hibernate.type.Type#isDirty}.
+ */
+class DirtyCheckerFactory {
+	private static final String CHECKER_CLASS_NAME_SUFFIX = "_$$_dirtychecker_";
+	private static final AtomicInteger counter = new AtomicInteger();
+
+	/**
+	 * Types whose <tt>isDirty</tt> amounts to a null safe <tt>equals()</tt> of the values; the exact classes are used
+	 * since subclasses might change that.
+	 */
+	private static final Set<Class> DIRECTLY_COMPARABLE_TYPES = new HashSet<Class>();
+	static {
+		DIRECTLY_COMPARABLE_TYPES.add( LongType.class );
+		DIRECTLY_COMPARABLE_TYPES.add( IntegerType.class );
+		DIRECTLY_COMPARABLE_TYPES.add( ShortType.class );
+		DIRECTLY_COMPARABLE_TYPES.add( ByteType.class );
+		DIRECTLY_COMPARABLE_TYPES.add( BooleanType.class );
+		DIRECTLY_COMPARABLE_TYPES.add( YesNoType.class );
+		DIRECTLY_COMPARABLE_TYPES.add( TrueFalseType.class );
+		DIRECTLY_COMPARABLE_TYPES.add( NumericBooleanType.class );
+		DIRECTLY_COMPARABLE_TYPES.add( CharacterType.class );
+		DIRECTLY_COMPARABLE_TYPES.add( FloatType.class );
+		DIRECTLY_COMPARABLE_TYPES.add( DoubleType.class );
+		DIRECTLY_COMPARABLE_TYPES.add( StringType.class );
+	}
+
+	private final String entityName;
+	private final StandardProperty[] properties;
+	private final boolean[][] includeColumns;
+
+	DirtyCheckerFactory(String entityName, StandardProperty[] properties, boolean[][] includeColumns) {
+		this.entityName = entityName;
+		this.properties = properties;
+		this.includeColumns = includeColumns;
+	}
+
+	DirtyChecker create() throws Exception {
+		final ClassPool pool = new ClassPool( true );
+		pool.appendClassPath( new ClassClassPath( DirtyChecker.class ) );
+
+		final CtClass checkerClass = pool.makeClass( getClassName(), pool.get( DirtyChecker.class.getName() ) );
+		checkerClass.addConstructor( CtNewConstructor.defaultConstructor( checkerClass ) );
+		checkerClass.addMethod( CtNewMethod.make( generateFindDirty( false ), checkerClass ) );
+		checkerClass.addMethod( CtNewMethod.make( generateFindDirty( true ), checkerClass ) );
+
+		final Class generated = checkerClass.toClass(
+				DirtyChecker.class.getClassLoader(),
+				DirtyChecker.class.getProtectionDomain()
+		);
+		checkerClass.detach();
+
+		final DirtyChecker checker = (DirtyChecker) generated.newInstance();
+		checker.properties = properties;
+		checker.includeColumns = includeColumns;
+		return checker;
+	}
+
+	private String getClassName() {
+		final StringBuilder name = new StringBuilder( DirtyChecker.class.getName() ).append( '_' );
+		for ( char c : StringHelper.unqualify( entityName ).toCharArray() ) {
+			name.append( Character.isJavaIdentifierPart( c ) ? c : '_' );
+		}
+		return name.append( CHECKER_CLASS_NAME_SUFFIX ).append( counter.getAndIncrement() ).toString();
+	}
+
+	/**
+	 * Generate the source of the <tt>findDirty</tt> method.
+	 *
+	 * @param masked Whether to generate the variant taking the properties to check as a <tt>boolean[]</tt>
+	 *
+	 * @return The method source
+	 */
+	String generateFindDirty(boolean masked) {
+		final StringBuilder body = new StringBuilder()
+				.append( "public int[] findDirty(Object[] current, Object[] previous, " )
+				.append( masked ? "boolean[] includeProperties, " : "" )
+				.append( "boolean anyUninitializedProperties, " )
+				.append( SessionImplementor.class.getName() )
+				.append( " session) {" )
+				.append( "int[] results = null; int count = 0; Object c; Object p;" );
+
+		for ( int i = 0; i < properties.length; i++ ) {
+			final StandardProperty property = properties[i];
+			if ( !property.isDirtyCheckable() ) {
+				// never dirty
+				continue;
+			}
+
+			final String condition;
+			if ( !property.isLazy()
+					&& DIRECTLY_COMPARABLE_TYPES.contains( property.getType().getClass() )
+					&& includeColumns[i].length == 1 ) {
+				if ( !includeColumns[i][0] ) {
+					// the only column is not updateable, so never dirty
+					continue;
+				}
+				body.append( "c = current[" ).append( i ).append( "]; p = previous[" ).append( i ).append( "];" );
+				condition = "c != p && ( c == null || p == null || !c.equals( p ) )";
+			}
+			else {
+				condition = "isDirty( " + i + ", current, previous, anyUninitializedProperties, session )";
+			}
+
+			body.append( "if ( " );
+			if ( masked ) {
+				body.append( "includeProperties[" ).append( i ).append( "] && " );
+			}
+			body.append( "( " ).append( condition ).append( " ) ) {" )
+					.append( "if ( results == null ) { results = new int[" ).append( properties.length ).append( "]; }" )
+					.append( "results[count++] = " ).append( i ).append( ";" )
+					.append( "}" );
+		}
+
+		return body.append( "return trim( results, count ); }" ).toString();
+	}
+}
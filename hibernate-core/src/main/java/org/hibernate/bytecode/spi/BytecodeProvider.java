@@ -25,13 +25,15 @@ package org.hibernate.bytecode.spi;
 
 import org.hibernate.bytecode.buildtime.spi.ClassFilter;
 import org.hibernate.bytecode.buildtime.spi.FieldFilter;
+import org.hibernate.tuple.StandardProperty;
 
 /**
  * Contract for providers of bytecode services to Hibernate.
  * <p/>
- * Bytecode requirements break down into basically 3 areas<ol>
+ * Bytecode requirements break down into basically 4 areas<ol>
  *     <li>proxy generation (both for runtime-lazy-loading and basic proxy generation) {@link #getProxyFactoryFactory()}</li>
  *     <li>bean reflection optimization {@link #getReflectionOptimizer}</li>
+ *     <li>dirty checking optimization {@link #getDirtyCheckOptimizer}</li>
  *     <li>field-access instrumentation {@link #getTransformer}</li>
  * </ol>
  *
@@ -58,6 +60,18 @@ public interface BytecodeProvider {
 	 */
 	public ReflectionOptimizer getReflectionOptimizer(Class clazz, String[] getterNames, String[] setterNames, Class[] types);
 
+	/**
+	 * Retrieve a DirtyCheckOptimizer delegate for this provider, comparing the state
+	 * arrays of the given entity without going through the generic {@link org.hibernate.type.Type#isDirty}
+	 * where the property types allow it.
+	 *
+	 * @param entityName The name of the entity whose state is to be dirty checked.
+	 * @param properties The entity properties, in state array order.
+	 * @param includeColumns The updateability of the columns of each property.
+	 * @return The dirty checking delegate, or null if none could be generated.
+	 */
+	public DirtyCheckOptimizer getDirtyCheckOptimizer(String entityName, StandardProperty[] properties, boolean[][] includeColumns);
+
 	/**
 	 * Generate a ClassTransformer capable of performing bytecode manipulation.
 	 *
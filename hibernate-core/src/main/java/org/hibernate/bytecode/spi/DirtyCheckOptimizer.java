@@ -0,0 +1,67 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.bytecode.spi;
+
+import org.hibernate.engine.SessionImplementor;
+
+/**
+ * Represents optimized dirty checking of the state of a particular entity, as a replacement for
+ * {@link org.hibernate.type.TypeHelper#findDirty}.
+ */
+public interface DirtyCheckOptimizer {
+	/**
+	 * Locate the indices of the properties whose current state differs from the previous (loaded) state.
+	 *
+	 * @param currentState The current state of the entity
+	 * @param previousState The baseline state of the entity
+	 * @param anyUninitializedProperties Does the entity currently hold any uninitialized property values?
+	 * @param session The session from which the dirty check request originated.
+	 *
+	 * @return Array containing indices of the dirty properties, or null if no properties are considered dirty.
+	 */
+	public int[] findDirty(
+			Object[] currentState,
+			Object[] previousState,
+			boolean anyUninitializedProperties,
+			SessionImplementor session);
+
+	/**
+	 * Locate the indices of the properties whose current state differs from the previous (loaded) state, considering
+	 * only the given properties.
+	 *
+	 * @param currentState The current state of the entity
+	 * @param previousState The baseline state of the entity
+	 * @param includeProperties The properties to dirty check
+	 * @param anyUninitializedProperties Does the entity currently hold any uninitialized property values?
+	 * @param session The session from which the dirty check request originated.
+	 *
+	 * @return Array containing indices of the dirty properties, or null if no properties are considered dirty.
+	 */
+	public int[] findDirty(
+			Object[] currentState,
+			Object[] previousState,
+			boolean[] includeProperties,
+			boolean anyUninitializedProperties,
+			SessionImplementor session);
+}
@@ -0,0 +1,49 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache;
+
+
+/**
+ * Contract for a {@link TimestampsRegion} able to report every change made to the timestamps
+ * it holds, whether made locally or received from another node.  A change made through
+ * {@link #put} on this node must be reported before <tt>put</tt> returns.  {@link UpdateTimestampsCache}
+ * uses this to keep a local snapshot of the timestamps instead of reading the region for each
+ * query space on every query cache hit.
+ */
+public interface ObservableTimestampsRegion extends TimestampsRegion {
+	/**
+	 * Register a listener.  The timestamps currently held by the region are first replayed to
+	 * the listener; no concurrent change may be delivered to it before this replay is complete.
+	 *
+	 * @param listener The listener to register
+	 */
+	public void addTimestampsRegionListener(TimestampsRegionListener listener);
+
+	/**
+	 * Unregister a listener.
+	 *
+	 * @param listener The listener to unregister
+	 */
+	public void removeTimestampsRegionListener(TimestampsRegionListener listener);
+}
@@ -25,6 +25,8 @@
 package org.hibernate.cache;
 import java.io.Serializable;
 import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.cache.access.SoftLock;
@@ -42,7 +44,13 @@ import org.jboss.logging.Logger;
  * must support distributed hard locks (which are held only momentarily). This
  * strategy also assumes that the underlying cache implementation does not do
  * asynchronous replication and that state has been fully replicated as soon
- * as the lock is released.
+ * as the lock is released.<br>
+ * <br>
+ * Reads do not acquire any lock: cached {@link Item}s are immutable and a
+ * {@link Lock} is never gettable, so a reader only needs to look at whatever
+ * is currently cached. Operations which change the cached state for a key
+ * are serialized by one of a fixed set of striped locks chosen by the key's
+ * hash, so writers of unrelated keys do not contend with each other.
  *
  * @see NonstrictReadWriteCache for a faster algorithm
  * @see CacheConcurrencyStrategy
@@ -51,10 +59,22 @@ public class ReadWriteCache implements CacheConcurrencyStrategy {
 
     private static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class, ReadWriteCache.class.getName());
 
+	/**
+	 * The number of lock stripes; must be a power of two.
+	 */
+	private static final int LOCK_STRIPES = 64;
+
+	private final ReentrantLock[] locks;
+	private final AtomicInteger nextLockId = new AtomicInteger();
+
 	private Cache cache;
-	private int nextLockId;
 
-	public ReadWriteCache() {}
+	public ReadWriteCache() {
+		locks = new ReentrantLock[LOCK_STRIPES];
+		for ( int i = 0; i < LOCK_STRIPES; i++ ) {
+			locks[i] = new ReentrantLock();
+		}
+	}
 
 	public void setCache(Cache cache) {
 		this.cache=cache;
@@ -70,12 +90,21 @@ public class ReadWriteCache implements CacheConcurrencyStrategy {
 
 	/**
 	 * Generate an id for a new lock. Uniqueness per cache instance is very
-	 * desirable but not absolutely critical. Must be called from one of the
-	 * synchronized methods of this class.
+	 * desirable but not absolutely critical; the counter simply wraps around
+	 * once it reaches {@link Integer#MAX_VALUE}.
 	 */
 	private int nextLockId() {
-		if (nextLockId==Integer.MAX_VALUE) nextLockId = Integer.MIN_VALUE;
-		return nextLockId++;
+		return nextLockId.getAndIncrement();
+	}
+
+	/**
+	 * Get the striped lock guarding changes to the cached state of the given key.
+	 */
+	private ReentrantLock lockFor(Object key) {
+		int h = key.hashCode();
+		h ^= ( h >>> 20 ) ^ ( h >>> 12 );
+		h ^= ( h >>> 7 ) ^ ( h >>> 4 );
+		return locks[h & ( LOCK_STRIPES - 1 )];
 	}
 
 	/**
@@ -92,9 +121,11 @@ public class ReadWriteCache implements CacheConcurrencyStrategy {
 	 * to overwrite changes made and committed by another transaction
 	 * after the current transaction read the item from the cache. This
 	 * problem would be caught by the update-time version-checking, if
-	 * the data is versioned or timestamped.
+	 * the data is versioned or timestamped.<br>
+	 * <br>
+	 * No lock is acquired.
 	 */
-	public synchronized Object get(Object key, long txTimestamp) throws CacheException {
+	public Object get(Object key, long txTimestamp) throws CacheException {
         LOG.debugf("Cache lookup: %s", key);
 		Lockable lockable = (Lockable)cache.get(key);
 		boolean gettable = lockable != null && lockable.isGettable(txTimestamp);
@@ -114,8 +145,10 @@ public class ReadWriteCache implements CacheConcurrencyStrategy {
 	 * locks of transactions which simultaneously attempt to write to an
 	 * item.
 	 */
-	public synchronized SoftLock lock(Object key, Object version) throws CacheException {
+	public SoftLock lock(Object key, Object version) throws CacheException {
         LOG.debugf("Invalidating: %s", key);
+		final ReentrantLock stripe = lockFor( key );
+		stripe.lock();
 		try {
 			cache.lock(key);
 
@@ -128,7 +161,12 @@ public class ReadWriteCache implements CacheConcurrencyStrategy {
 			return lock;
 		}
 		finally {
-			cache.unlock(key);
+			try {
+				cache.unlock(key);
+			}
+			finally {
+				stripe.unlock();
+			}
 		}
 
 	}
@@ -141,7 +179,7 @@ public class ReadWriteCache implements CacheConcurrencyStrategy {
 	 * For versioned data, don't add the item unless it is the later
 	 * version.
 	 */
-	public synchronized boolean put(
+	public boolean put(
 			Object key,
 			Object value,
 			long txTimestamp,
@@ -151,6 +189,8 @@ public class ReadWriteCache implements CacheConcurrencyStrategy {
 	throws CacheException {
         LOG.debugf("Caching: %s", key);
 
+		final ReentrantLock stripe = lockFor( key );
+		stripe.lock();
 		try {
 			cache.lock(key);
 
@@ -169,7 +209,12 @@ public class ReadWriteCache implements CacheConcurrencyStrategy {
             return false;
 		}
 		finally {
-			cache.unlock(key);
+			try {
+				cache.unlock(key);
+			}
+			finally {
+				stripe.unlock();
+			}
 		}
 	}
 
@@ -187,9 +232,11 @@ public class ReadWriteCache implements CacheConcurrencyStrategy {
 	 * re-cache the item (assuming that no other transaction holds a
 	 * simultaneous lock).
 	 */
-	public synchronized void release(Object key, SoftLock clientLock) throws CacheException {
+	public void release(Object key, SoftLock clientLock) throws CacheException {
         LOG.debugf("Releasing: %s", key);
 
+		final ReentrantLock stripe = lockFor( key );
+		stripe.lock();
 		try {
 			cache.lock(key);
 
@@ -202,7 +249,12 @@ public class ReadWriteCache implements CacheConcurrencyStrategy {
 			}
 		}
 		finally {
-			cache.unlock(key);
+			try {
+				cache.unlock(key);
+			}
+			finally {
+				stripe.unlock();
+			}
 		}
 	}
 
@@ -236,11 +288,13 @@ public class ReadWriteCache implements CacheConcurrencyStrategy {
 	 * Re-cache the updated state, if and only if there there are
 	 * no other concurrent soft locks. Release our lock.
 	 */
-	public synchronized boolean afterUpdate(Object key, Object value, Object version, SoftLock clientLock)
+	public boolean afterUpdate(Object key, Object value, Object version, SoftLock clientLock)
 	throws CacheException {
 
         LOG.debugf("Updating: %s", key);
 
+		final ReentrantLock stripe = lockFor( key );
+		stripe.lock();
 		try {
 			cache.lock(key);
 
@@ -262,7 +316,12 @@ public class ReadWriteCache implements CacheConcurrencyStrategy {
             return false;
 		}
 		finally {
-			cache.unlock(key);
+			try {
+				cache.unlock(key);
+			}
+			finally {
+				stripe.unlock();
+			}
 		}
 	}
 
@@ -270,10 +329,12 @@ public class ReadWriteCache implements CacheConcurrencyStrategy {
 	 * Add the new item to the cache, checking that no other transaction has
 	 * accessed the item.
 	 */
-	public synchronized boolean afterInsert(Object key, Object value, Object version)
+	public boolean afterInsert(Object key, Object value, Object version)
 	throws CacheException {
 
         LOG.debugf("Inserting: %s", key);
+		final ReentrantLock stripe = lockFor( key );
+		stripe.lock();
 		try {
 			cache.lock(key);
 
@@ -286,7 +347,12 @@ public class ReadWriteCache implements CacheConcurrencyStrategy {
             return false;
 		}
 		finally {
-			cache.unlock(key);
+			try {
+				cache.unlock(key);
+			}
+			finally {
+				stripe.unlock();
+			}
 		}
 	}
 
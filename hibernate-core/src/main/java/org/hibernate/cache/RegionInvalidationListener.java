@@ -0,0 +1,45 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache;
+
+
+/**
+ * Receives the invalidations of the entries of an {@link ObservableEntityRegion}.  A
+ * notification may be delivered before and after the change is applied to the region, and
+ * may be delivered for changes which do not actually affect the entry; it must be treated as
+ * "any copy of this entry may be stale".
+ */
+public interface RegionInvalidationListener {
+	/**
+	 * The entry with the given key was modified, removed or invalidated.
+	 *
+	 * @param key The key of the entry
+	 */
+	public void invalidated(Object key);
+
+	/**
+	 * All the entries of the region were invalidated.
+	 */
+	public void invalidatedAll();
+}
@@ -0,0 +1,51 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache;
+
+
+/**
+ * Receives the changes made to the timestamps held by an {@link ObservableTimestampsRegion}.
+ * Changes to the same space must be delivered in the order they were applied to the region.
+ */
+public interface TimestampsRegionListener {
+	/**
+	 * The update timestamp of the given space changed.
+	 *
+	 * @param space The query space (table)
+	 * @param timestamp The new timestamp
+	 */
+	public void timestampUpdated(Object space, Object timestamp);
+
+	/**
+	 * The update timestamp of the given space was removed.
+	 *
+	 * @param space The query space (table)
+	 */
+	public void timestampRemoved(Object space);
+
+	/**
+	 * All the timestamps of the region were removed.
+	 */
+	public void timestampsCleared();
+}
@@ -23,6 +23,9 @@
  */
 package org.hibernate.cache;
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -38,6 +41,12 @@ import org.jboss.logging.Logger;
  * to a higher value than the timeouts of any of the query caches. In fact, we
  * recommend that the the underlying cache not be configured for expiry at all.
  * Note, in particular, that an LRU cache expiry policy is never appropriate.
+ * <p/>
+ * When the region is an {@link ObservableTimestampsRegion}, a local snapshot of the
+ * timestamps is kept up to date from the region's change notifications, and query
+ * cache validation reads that snapshot instead of the region.  The snapshot is only
+ * ever changed by those notifications, local puts included, so that it applies the
+ * changes to each space in the order the region did.
  *
  * @author Gavin King
  * @author Mikheil Kapanadze
@@ -51,11 +60,25 @@ public class UpdateTimestampsCache {
 	private ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
 	private final TimestampsRegion region;
 
+	// immutable, replaced as a whole on each change so that readers need no locking;
+	// null when the region cannot be observed
+	private volatile Map<Serializable, Long> localTimestamps;
+	private final Object localTimestampsLock = new Object();
+	private final TimestampsRegionListener regionListener;
+
 	public UpdateTimestampsCache(Settings settings, Properties props) throws HibernateException {
 		String prefix = settings.getCacheRegionPrefix();
 		String regionName = prefix == null ? REGION_NAME : prefix + '.' + REGION_NAME;
         LOG.startingUpdateTimestampsCache(regionName);
 		this.region = settings.getRegionFactory().buildTimestampsRegion( regionName, props );
+		if ( region instanceof ObservableTimestampsRegion ) {
+			this.localTimestamps = Collections.emptyMap();
+			this.regionListener = new LocalTimestampsUpdater();
+			( (ObservableTimestampsRegion) region ).addTimestampsRegionListener( regionListener );
+		}
+		else {
+			this.regionListener = null;
+		}
 	}
 
 	@SuppressWarnings({"UnnecessaryBoxing"})
@@ -102,21 +125,20 @@ public class UpdateTimestampsCache {
 
 	@SuppressWarnings({"unchecked", "UnnecessaryUnboxing"})
 	public boolean isUpToDate(Set spaces, Long timestamp) throws HibernateException {
+		final Map<Serializable, Long> snapshot = localTimestamps;
+		if ( snapshot != null ) {
+			// a consistent local copy: neither locking nor region lookups needed
+			for ( Serializable space : (Set<Serializable>) spaces ) {
+				if ( isUpdatedSince( space, snapshot.get( space ), timestamp ) ) return false;
+			}
+			return true;
+		}
+
 		readWriteLock.readLock().lock();
 
 		try {
 			for ( Serializable space : (Set<Serializable>) spaces ) {
-				Long lastUpdate = (Long) region.get( space );
-				if ( lastUpdate == null ) {
-					//the last update timestamp was lost from the cache
-					//(or there were no updates since startup!)
-					//updateTimestamps.put( space, new Long( updateTimestamps.nextTimestamp() ) );
-					//result = false; // safer
-				}
-				else {
-	                LOG.debugf("[%s] last update timestamp: %s", space, lastUpdate + ", result set timestamp: " + timestamp);
-					if ( lastUpdate.longValue() >= timestamp.longValue() ) return false;
-				}
+				if ( isUpdatedSince( space, (Long) region.get( space ), timestamp ) ) return false;
 			}
 			return true;
 		}
@@ -125,11 +147,30 @@ public class UpdateTimestampsCache {
 		}
 	}
 
+	@SuppressWarnings({"UnnecessaryUnboxing"})
+	private boolean isUpdatedSince(Serializable space, Long lastUpdate, Long timestamp) {
+		if ( lastUpdate == null ) {
+			//the last update timestamp was lost from the cache
+			//(or there were no updates since startup!)
+			//updateTimestamps.put( space, new Long( updateTimestamps.nextTimestamp() ) );
+			//result = false; // safer
+			return false;
+		}
+        LOG.debugf("[%s] last update timestamp: %s", space, lastUpdate + ", result set timestamp: " + timestamp);
+		return lastUpdate.longValue() >= timestamp.longValue();
+	}
+
 	public void clear() throws CacheException {
 		region.evictAll();
+		if ( regionListener != null ) {
+			regionListener.timestampsCleared();
+		}
 	}
 
 	public void destroy() {
+		if ( regionListener != null ) {
+			( (ObservableTimestampsRegion) region ).removeTimestampsRegionListener( regionListener );
+		}
 		try {
 			region.destroy();
 		}
@@ -147,4 +188,33 @@ public class UpdateTimestampsCache {
         return "UpdateTimestampsCache";
 	}
 
+	/**
+	 * Applies the changes made to the region, locally or on other nodes, to the local snapshot.
+	 * This is the only writer of the snapshot.
+	 */
+	private class LocalTimestampsUpdater implements TimestampsRegionListener {
+		public void timestampUpdated(Object space, Object timestamp) {
+			synchronized ( localTimestampsLock ) {
+				Map<Serializable, Long> copy = new HashMap<Serializable, Long>( localTimestamps );
+				copy.put( (Serializable) space, (Long) timestamp );
+				localTimestamps = copy;
+			}
+		}
+
+		public void timestampRemoved(Object space) {
+			synchronized ( localTimestampsLock ) {
+				if ( localTimestamps.containsKey( space ) ) {
+					Map<Serializable, Long> copy = new HashMap<Serializable, Long>( localTimestamps );
+					copy.remove( space );
+					localTimestamps = copy;
+				}
+			}
+		}
+
+		public void timestampsCleared() {
+			synchronized ( localTimestampsLock ) {
+				localTimestamps = Collections.emptyMap();
+			}
+		}
+	}
 }
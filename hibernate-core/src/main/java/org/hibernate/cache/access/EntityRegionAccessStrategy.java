@@ -23,6 +23,9 @@
  *
  */
 package org.hibernate.cache.access;
+import java.util.Collection;
+import java.util.Map;
+
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.EntityRegion;
 
@@ -61,6 +64,19 @@ public interface EntityRegionAccessStrategy {
 	 */
 	public Object get(Object key, long txTimestamp) throws CacheException;
 
+	/**
+	 * Attempt to retrieve a number of objects from the cache at once.  Used when
+	 * batch fetching entities, so that only those missing from the cache need to
+	 * be read from the database.
+	 *
+	 * @param keys The keys of the items to be retrieved.
+	 * @param txTimestamp a timestamp prior to the transaction start time
+	 * @return the cached objects, keyed by their key; keys for which {@link #get}
+	 * would have returned <tt>null</tt> are left out
+	 * @throws CacheException Propogated from underlying {@link org.hibernate.cache.Region}
+	 */
+	public Map<Object,Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException;
+
 	/**
 	 * Attempt to cache an object, after loading from the database.
 	 *
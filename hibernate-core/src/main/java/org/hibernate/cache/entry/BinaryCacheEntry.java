@@ -0,0 +1,357 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.entry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.bytecode.instrumentation.spi.LazyPropertyInitializer;
+import org.hibernate.cache.CacheException;
+import org.hibernate.engine.SessionFactoryImplementor;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.property.BackrefPropertyAccessor;
+
+/**
+ * Structures entity cache entries as a compact byte array instead of keeping the disassembled
+ * state as an object graph.  Values of the common immutable types are written inline, the
+ * subclass name is replaced by its index among the entity names of the hierarchy, and the
+ * remaining values are Java-serialized together, once per entry.  The state is only rebuilt
+ * when the entry is read back from the cache.
+ * <p/>
+ * All the nodes sharing a clustered region must use the same mappings, as the subclass
+ * dictionary is derived from them.
+ */
+public class BinaryCacheEntry implements CacheEntryStructure {
+	private static final byte FORMAT_VERSION = 1;
+
+	private static final byte LAZY_PROPERTIES_UNFETCHED = 1;
+
+	private static final byte NULL = 0;
+	private static final byte TRUE = 1;
+	private static final byte FALSE = 2;
+	private static final byte INTEGER = 3;
+	private static final byte LONG = 4;
+	private static final byte SHORT = 5;
+	private static final byte BYTE = 6;
+	private static final byte CHARACTER = 7;
+	private static final byte FLOAT = 8;
+	private static final byte DOUBLE = 9;
+	private static final byte STRING = 10;
+	private static final byte DATE = 11;
+	private static final byte SQL_DATE = 12;
+	private static final byte SQL_TIME = 13;
+	private static final byte SQL_TIMESTAMP = 14;
+	private static final byte OBJECT_ARRAY = 15;
+	private static final byte SERIALIZABLE_ARRAY = 16;
+	private static final byte UNFETCHED_PROPERTY = 17;
+	private static final byte UNKNOWN_BACKREF = 18;
+	private static final byte SERIALIZED = 19;
+
+	// writeUTF() is limited to 65535 bytes, i.e. at most 3 bytes per char
+	private static final int MAX_INLINE_STRING_LENGTH = 65535 / 3;
+
+	private final EntityPersister persister;
+	private volatile String[] subclassNames;
+
+	public BinaryCacheEntry(EntityPersister persister) {
+		this.persister = persister;
+	}
+
+	public Object structure(Object item) {
+		CacheEntry entry = (CacheEntry) item;
+		try {
+			Encoder encoder = new Encoder();
+			encoder.write( entry.getVersion() );
+			Serializable[] state = entry.getDisassembledState();
+			writeVarLong( encoder.out, state.length );
+			for ( Serializable value : state ) {
+				encoder.write( value );
+			}
+
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream( encoder.bytes.size() + 16 );
+			DataOutputStream out = new DataOutputStream( bytes );
+			out.writeByte( FORMAT_VERSION );
+			int subclassIndex = Arrays.binarySearch( getSubclassNames(), entry.getSubclass() );
+			if ( subclassIndex >= 0 ) {
+				writeVarLong( out, subclassIndex + 1 );
+			}
+			else {
+				writeVarLong( out, 0 );
+				out.writeUTF( entry.getSubclass() );
+			}
+			out.writeByte( entry.areLazyPropertiesUnfetched() ? LAZY_PROPERTIES_UNFETCHED : 0 );
+			if ( encoder.serialized == null ) {
+				writeVarLong( out, 0 );
+			}
+			else {
+				byte[] serialized = SerializationHelper.serialize( encoder.serialized.toArray( new Serializable[encoder.serialized.size()] ) );
+				writeVarLong( out, serialized.length );
+				out.write( serialized );
+			}
+			encoder.bytes.writeTo( out );
+			out.flush();
+			return bytes.toByteArray();
+		}
+		catch ( IOException e ) {
+			throw new CacheException( "Could not write binary cache entry for " + entry.getSubclass(), e );
+		}
+	}
+
+	public Object destructure(Object item, SessionFactoryImplementor factory) {
+		try {
+			DataInputStream in = new DataInputStream( new ByteArrayInputStream( (byte[]) item ) );
+			byte formatVersion = in.readByte();
+			if ( formatVersion != FORMAT_VERSION ) {
+				throw new CacheException( "Unsupported binary cache entry format: " + formatVersion );
+			}
+			int subclassIndex = (int) readVarLong( in );
+			String subclass = subclassIndex == 0 ? in.readUTF() : getSubclassNames()[subclassIndex - 1];
+			boolean lazyPropertiesUnfetched = ( in.readByte() & LAZY_PROPERTIES_UNFETCHED ) != 0;
+			Serializable[] serialized = null;
+			int serializedLength = (int) readVarLong( in );
+			if ( serializedLength > 0 ) {
+				byte[] bytes = new byte[serializedLength];
+				in.readFully( bytes );
+				serialized = (Serializable[]) SerializationHelper.deserialize( bytes );
+			}
+
+			Object version = read( in, serialized );
+			Serializable[] state = new Serializable[(int) readVarLong( in )];
+			for ( int i = 0; i < state.length; i++ ) {
+				state[i] = read( in, serialized );
+			}
+			return new CacheEntry( state, subclass, lazyPropertiesUnfetched, version );
+		}
+		catch ( IOException e ) {
+			throw new CacheException( "Could not read binary cache entry for " + persister.getEntityName(), e );
+		}
+	}
+
+	/**
+	 * The sorted names of all the entities of the hierarchy, shared by all its persisters since
+	 * an entry may be written by a subclass persister and read by a superclass one.
+	 */
+	private String[] getSubclassNames() {
+		String[] names = subclassNames;
+		if ( names == null ) {
+			Set rootSubclassNames = persister.getFactory()
+					.getEntityPersister( persister.getRootEntityName() )
+					.getEntityMetamodel()
+					.getSubclassEntityNames();
+			names = (String[]) rootSubclassNames.toArray( new String[rootSubclassNames.size()] );
+			Arrays.sort( names );
+			subclassNames = names;
+		}
+		return names;
+	}
+
+	private static Serializable read(DataInput in, Serializable[] serialized) throws IOException {
+		byte tag = in.readByte();
+		switch ( tag ) {
+			case NULL:
+				return null;
+			case TRUE:
+				return Boolean.TRUE;
+			case FALSE:
+				return Boolean.FALSE;
+			case INTEGER:
+				return Integer.valueOf( (int) readSignedVarLong( in ) );
+			case LONG:
+				return Long.valueOf( readSignedVarLong( in ) );
+			case SHORT:
+				return Short.valueOf( in.readShort() );
+			case BYTE:
+				return Byte.valueOf( in.readByte() );
+			case CHARACTER:
+				return Character.valueOf( in.readChar() );
+			case FLOAT:
+				return Float.valueOf( in.readFloat() );
+			case DOUBLE:
+				return Double.valueOf( in.readDouble() );
+			case STRING:
+				return in.readUTF();
+			case DATE:
+				return new java.util.Date( readSignedVarLong( in ) );
+			case SQL_DATE:
+				return new java.sql.Date( readSignedVarLong( in ) );
+			case SQL_TIME:
+				return new java.sql.Time( readSignedVarLong( in ) );
+			case SQL_TIMESTAMP: {
+				java.sql.Timestamp timestamp = new java.sql.Timestamp( readSignedVarLong( in ) );
+				timestamp.setNanos( (int) readVarLong( in ) );
+				return timestamp;
+			}
+			case OBJECT_ARRAY:
+			case SERIALIZABLE_ARRAY: {
+				int length = (int) readVarLong( in );
+				Object[] array = tag == OBJECT_ARRAY ? new Object[length] : new Serializable[length];
+				for ( int i = 0; i < length; i++ ) {
+					array[i] = read( in, serialized );
+				}
+				return array;
+			}
+			case UNFETCHED_PROPERTY:
+				return LazyPropertyInitializer.UNFETCHED_PROPERTY;
+			case UNKNOWN_BACKREF:
+				return BackrefPropertyAccessor.UNKNOWN;
+			case SERIALIZED:
+				return serialized[(int) readVarLong( in )];
+			default:
+				throw new CacheException( "Unknown value tag in binary cache entry: " + tag );
+		}
+	}
+
+	/**
+	 * Writes the values of an entry, collecting those which have no inline form so that they
+	 * can be serialized all at once.
+	 */
+	private static class Encoder {
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream( 64 );
+		private final DataOutputStream out = new DataOutputStream( bytes );
+		private List<Serializable> serialized;
+
+		private void write(Object value) throws IOException {
+			if ( value == null ) {
+				out.writeByte( NULL );
+				return;
+			}
+			Class valueClass = value.getClass();
+			if ( valueClass == Boolean.class ) {
+				out.writeByte( ( (Boolean) value ).booleanValue() ? TRUE : FALSE );
+			}
+			else if ( valueClass == Integer.class ) {
+				out.writeByte( INTEGER );
+				writeSignedVarLong( out, ( (Integer) value ).intValue() );
+			}
+			else if ( valueClass == Long.class ) {
+				out.writeByte( LONG );
+				writeSignedVarLong( out, ( (Long) value ).longValue() );
+			}
+			else if ( valueClass == Short.class ) {
+				out.writeByte( SHORT );
+				out.writeShort( ( (Short) value ).shortValue() );
+			}
+			else if ( valueClass == Byte.class ) {
+				out.writeByte( BYTE );
+				out.writeByte( ( (Byte) value ).byteValue() );
+			}
+			else if ( valueClass == Character.class ) {
+				out.writeByte( CHARACTER );
+				out.writeChar( ( (Character) value ).charValue() );
+			}
+			else if ( valueClass == Float.class ) {
+				out.writeByte( FLOAT );
+				out.writeFloat( ( (Float) value ).floatValue() );
+			}
+			else if ( valueClass == Double.class ) {
+				out.writeByte( DOUBLE );
+				out.writeDouble( ( (Double) value ).doubleValue() );
+			}
+			else if ( valueClass == String.class && ( (String) value ).length() <= MAX_INLINE_STRING_LENGTH ) {
+				out.writeByte( STRING );
+				out.writeUTF( (String) value );
+			}
+			else if ( valueClass == java.util.Date.class ) {
+				out.writeByte( DATE );
+				writeSignedVarLong( out, ( (java.util.Date) value ).getTime() );
+			}
+			else if ( valueClass == java.sql.Date.class ) {
+				out.writeByte( SQL_DATE );
+				writeSignedVarLong( out, ( (java.sql.Date) value ).getTime() );
+			}
+			else if ( valueClass == java.sql.Time.class ) {
+				out.writeByte( SQL_TIME );
+				writeSignedVarLong( out, ( (java.sql.Time) value ).getTime() );
+			}
+			else if ( valueClass == java.sql.Timestamp.class ) {
+				out.writeByte( SQL_TIMESTAMP );
+				writeSignedVarLong( out, ( (java.sql.Timestamp) value ).getTime() );
+				writeVarLong( out, ( (java.sql.Timestamp) value ).getNanos() );
+			}
+			else if ( valueClass == Object[].class || valueClass == Serializable[].class ) {
+				// disassembled components
+				Object[] array = (Object[]) value;
+				out.writeByte( valueClass == Object[].class ? OBJECT_ARRAY : SERIALIZABLE_ARRAY );
+				writeVarLong( out, array.length );
+				for ( Object element : array ) {
+					write( element );
+				}
+			}
+			else if ( value == LazyPropertyInitializer.UNFETCHED_PROPERTY ) {
+				out.writeByte( UNFETCHED_PROPERTY );
+			}
+			else if ( value == BackrefPropertyAccessor.UNKNOWN ) {
+				out.writeByte( UNKNOWN_BACKREF );
+			}
+			else {
+				if ( serialized == null ) {
+					serialized = new ArrayList<Serializable>();
+				}
+				out.writeByte( SERIALIZED );
+				writeVarLong( out, serialized.size() );
+				serialized.add( (Serializable) value );
+			}
+		}
+	}
+
+	private static void writeSignedVarLong(DataOutput out, long value) throws IOException {
+		writeVarLong( out, ( value << 1 ) ^ ( value >> 63 ) );
+	}
+
+	private static long readSignedVarLong(DataInput in) throws IOException {
+		long value = readVarLong( in );
+		return ( value >>> 1 ) ^ -( value & 1 );
+	}
+
+	private static void writeVarLong(DataOutput out, long value) throws IOException {
+		while ( ( value & ~0x7FL ) != 0 ) {
+			out.writeByte( (int) ( ( value & 0x7F ) | 0x80 ) );
+			value >>>= 7;
+		}
+		out.writeByte( (int) value );
+	}
+
+	private static long readVarLong(DataInput in) throws IOException {
+		long value = 0;
+		int shift = 0;
+		byte b;
+		do {
+			b = in.readByte();
+			value |= (long) ( b & 0x7F ) << shift;
+			shift += 7;
+		} while ( ( b & 0x80 ) != 0 );
+		return value;
+	}
+}
@@ -0,0 +1,273 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.EntityRegion;
+import org.hibernate.cache.ObservableEntityRegion;
+import org.hibernate.cache.RegionInvalidationListener;
+import org.hibernate.cache.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.access.SoftLock;
+
+/**
+ * A small, bounded, node-local cache in front of the access strategy of a clustered entity
+ * region, so that hits on hot entities cost a single concurrent map lookup instead of a trip
+ * through the region.
+ * <p/>
+ * Entries are dropped on every change made through this strategy and on every invalidation
+ * reported by the {@link ObservableEntityRegion}.  An entry read by a transaction is only
+ * served to transactions which started no earlier, as the underlying strategy might have
+ * refused it to an older one.
+ */
+public class NearCacheEntityRegionAccessStrategy implements EntityRegionAccessStrategy {
+	private final EntityRegionAccessStrategy delegate;
+	private final int maxSize;
+	private final ConcurrentHashMap<Object, Entry> entries = new ConcurrentHashMap<Object, Entry>();
+	// bumped by every invalidation, so that a value read from the region while an invalidation
+	// happened is not kept
+	private final AtomicLong invalidations = new AtomicLong();
+	private final RegionInvalidationListener invalidationListener = new RegionInvalidationListener() {
+		public void invalidated(Object key) {
+			invalidate( key );
+		}
+
+		public void invalidatedAll() {
+			invalidateAll();
+		}
+	};
+
+	public NearCacheEntityRegionAccessStrategy(EntityRegionAccessStrategy delegate, int maxSize) {
+		this.delegate = delegate;
+		this.maxSize = maxSize;
+		( (ObservableEntityRegion) delegate.getRegion() ).addRegionInvalidationListener( invalidationListener );
+	}
+
+	public EntityRegion getRegion() {
+		return delegate.getRegion();
+	}
+
+	public Object get(Object key, long txTimestamp) throws CacheException {
+		final Entry entry = entries.get( key );
+		if ( entry != null && txTimestamp >= entry.txTimestamp ) {
+			return entry.value;
+		}
+		final long invalidationCount = invalidations.get();
+		final Object value = delegate.get( key, txTimestamp );
+		if ( value != null ) {
+			keep( key, new Entry( value, txTimestamp ), invalidationCount );
+		}
+		return value;
+	}
+
+	public Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		final Map<Object, Object> result = new HashMap<Object, Object>();
+		final List<Object> misses = new ArrayList<Object>();
+		for ( Object key : keys ) {
+			final Entry entry = entries.get( key );
+			if ( entry != null && txTimestamp >= entry.txTimestamp ) {
+				result.put( key, entry.value );
+			}
+			else {
+				misses.add( key );
+			}
+		}
+		if ( !misses.isEmpty() ) {
+			final long invalidationCount = invalidations.get();
+			final Map<Object, Object> loaded = delegate.getAll( misses, txTimestamp );
+			for ( Map.Entry<Object, Object> loadedEntry : loaded.entrySet() ) {
+				keep( loadedEntry.getKey(), new Entry( loadedEntry.getValue(), txTimestamp ), invalidationCount );
+			}
+			result.putAll( loaded );
+		}
+		return result;
+	}
+
+	private void keep(Object key, Entry entry, long invalidationCount) {
+		if ( entries.size() >= maxSize ) {
+			evictSome();
+		}
+		entries.put( key, entry );
+		if ( invalidations.get() != invalidationCount ) {
+			// an invalidation may have been missed while reading the value
+			entries.remove( key, entry );
+		}
+	}
+
+	private void evictSome() {
+		int toEvict = maxSize / 10 + 1;
+		Iterator<Object> keys = entries.keySet().iterator();
+		while ( toEvict-- > 0 && keys.hasNext() ) {
+			keys.next();
+			keys.remove();
+		}
+	}
+
+	private void invalidate(Object key) {
+		invalidations.incrementAndGet();
+		entries.remove( key );
+	}
+
+	private void invalidateAll() {
+		invalidations.incrementAndGet();
+		entries.clear();
+	}
+
+	public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version) throws CacheException {
+		return delegate.putFromLoad( key, value, txTimestamp, version );
+	}
+
+	public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version, boolean minimalPutOverride)
+			throws CacheException {
+		return delegate.putFromLoad( key, value, txTimestamp, version, minimalPutOverride );
+	}
+
+	public SoftLock lockItem(Object key, Object version) throws CacheException {
+		try {
+			return delegate.lockItem( key, version );
+		}
+		finally {
+			invalidate( key );
+		}
+	}
+
+	public SoftLock lockRegion() throws CacheException {
+		try {
+			return delegate.lockRegion();
+		}
+		finally {
+			invalidateAll();
+		}
+	}
+
+	public void unlockItem(Object key, SoftLock lock) throws CacheException {
+		try {
+			delegate.unlockItem( key, lock );
+		}
+		finally {
+			invalidate( key );
+		}
+	}
+
+	public void unlockRegion(SoftLock lock) throws CacheException {
+		try {
+			delegate.unlockRegion( lock );
+		}
+		finally {
+			invalidateAll();
+		}
+	}
+
+	public boolean insert(Object key, Object value, Object version) throws CacheException {
+		try {
+			return delegate.insert( key, value, version );
+		}
+		finally {
+			invalidate( key );
+		}
+	}
+
+	public boolean afterInsert(Object key, Object value, Object version) throws CacheException {
+		try {
+			return delegate.afterInsert( key, value, version );
+		}
+		finally {
+			invalidate( key );
+		}
+	}
+
+	public boolean update(Object key, Object value, Object currentVersion, Object previousVersion)
+			throws CacheException {
+		try {
+			return delegate.update( key, value, currentVersion, previousVersion );
+		}
+		finally {
+			invalidate( key );
+		}
+	}
+
+	public boolean afterUpdate(Object key, Object value, Object currentVersion, Object previousVersion, SoftLock lock)
+			throws CacheException {
+		try {
+			return delegate.afterUpdate( key, value, currentVersion, previousVersion, lock );
+		}
+		finally {
+			invalidate( key );
+		}
+	}
+
+	public void remove(Object key) throws CacheException {
+		try {
+			delegate.remove( key );
+		}
+		finally {
+			invalidate( key );
+		}
+	}
+
+	public void removeAll() throws CacheException {
+		try {
+			delegate.removeAll();
+		}
+		finally {
+			invalidateAll();
+		}
+	}
+
+	public void evict(Object key) throws CacheException {
+		try {
+			delegate.evict( key );
+		}
+		finally {
+			invalidate( key );
+		}
+	}
+
+	public void evictAll() throws CacheException {
+		try {
+			delegate.evictAll();
+		}
+		finally {
+			invalidateAll();
+		}
+	}
+
+	private static final class Entry {
+		private final Object value;
+		private final long txTimestamp;
+
+		private Entry(Object value, long txTimestamp) {
+			this.value = value;
+			this.txTimestamp = txTimestamp;
+		}
+	}
+}
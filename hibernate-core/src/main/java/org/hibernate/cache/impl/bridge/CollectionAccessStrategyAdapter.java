@@ -23,6 +23,10 @@
  *
  */
 package org.hibernate.cache.impl.bridge;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.hibernate.cache.CacheConcurrencyStrategy;
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.CollectionRegion;
@@ -54,6 +58,18 @@ public class CollectionAccessStrategyAdapter implements CollectionRegionAccessSt
 		return ccs.get( key, txTimestamp );
 	}
 
+	public Map<Object,Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		// CCS has no bulk read, so resolve the keys one at a time
+		final Map<Object,Object> result = new HashMap<Object,Object>();
+		for ( Object key : keys ) {
+			final Object value = ccs.get( key, txTimestamp );
+			if ( value != null ) {
+				result.put( key, value );
+			}
+		}
+		return result;
+	}
+
 	public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version) throws CacheException {
 		return putFromLoad( key, value, txTimestamp, version, settings.isMinimalPutsEnabled() );
 	}
@@ -112,3 +128,4 @@ public class CollectionAccessStrategyAdapter implements CollectionRegionAccessSt
 		ccs.destroy();
 	}
 }
+
\ No newline at end of file
@@ -0,0 +1,261 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.impl.offheap;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.hibernate.cache.Cache;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.Timestamper;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.SerializationHelper;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A <tt>Cache</tt> keeping its entries serialized in direct (off-heap) memory, so that cached
+ * data neither counts against the heap nor has to be traced by the garbage collector.
+ * <p/>
+ * The memory of the region is split into fixed size segments, allocated on first use, to
+ * which entries are appended; replaced or removed entries leave garbage behind until their
+ * segment is reused.  Once all the segments are full the oldest one is recycled, evicting the
+ * entries it still holds, which bounds the memory used by the region.  Only the keys and the
+ * location of each entry are kept on the heap, in a concurrent index.
+ */
+public class OffHeapCache implements Cache {
+    private static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class, OffHeapCache.class.getName());
+
+	private final String regionName;
+	private final int segmentSize;
+	private final Segment[] segments;
+	private final ConcurrentHashMap<Object, Slot> index = new ConcurrentHashMap<Object, Slot>();
+
+	// guarded by this
+	private int currentSegment;
+	private long usedBytes;
+
+	public OffHeapCache(String regionName, long maxSize, int segmentSize) {
+		if ( segmentSize <= 0 ) {
+			throw new CacheException( "Off-heap segment size must be positive: " + segmentSize );
+		}
+		this.regionName = regionName;
+		this.segmentSize = segmentSize;
+		int segmentCount = (int) Math.max( 2, maxSize / segmentSize );
+		this.segments = new Segment[segmentCount];
+		for ( int i = 0; i < segmentCount; i++ ) {
+			segments[i] = new Segment();
+		}
+	}
+
+	public String getRegionName() {
+		return regionName;
+	}
+
+	public Object read(Object key) throws CacheException {
+		return get( key );
+	}
+
+	public Object get(Object key) throws CacheException {
+		final Slot slot = index.get( key );
+		if ( slot == null ) {
+			return null;
+		}
+		final byte[] bytes = new byte[slot.length];
+		final Segment segment = slot.segment;
+		segment.lock.readLock().lock();
+		try {
+			if ( segment.generation != slot.generation ) {
+				// the segment was recycled since we looked the entry up
+				return null;
+			}
+			ByteBuffer source = segment.buffer.duplicate();
+			source.position( slot.offset );
+			source.get( bytes );
+		}
+		finally {
+			segment.lock.readLock().unlock();
+		}
+		return SerializationHelper.deserialize( bytes );
+	}
+
+	public void update(Object key, Object value) throws CacheException {
+		put( key, value );
+	}
+
+	public void put(Object key, Object value) throws CacheException {
+		final byte[] bytes = SerializationHelper.serialize( (Serializable) value );
+		if ( bytes.length > segmentSize ) {
+            LOG.debugf( "Entry for key [%s] does not fit in an off-heap segment of region %s", key, regionName );
+			remove( key );
+			return;
+		}
+		synchronized ( this ) {
+			Segment segment = segments[currentSegment];
+			if ( segment.position + bytes.length > segmentSize ) {
+				currentSegment = ( currentSegment + 1 ) % segments.length;
+				segment = segments[currentSegment];
+				recycle( segment );
+			}
+			if ( segment.buffer == null ) {
+				segment.buffer = ByteBuffer.allocateDirect( segmentSize );
+			}
+			ByteBuffer target = segment.buffer.duplicate();
+			target.position( segment.position );
+			target.put( bytes );
+
+			Slot slot = new Slot( segment, segment.generation, segment.position, bytes.length );
+			segment.position += bytes.length;
+			segment.keys.add( key );
+			Slot previous = index.put( key, slot );
+			usedBytes += bytes.length - ( previous == null ? 0 : previous.length );
+		}
+	}
+
+	public void remove(Object key) throws CacheException {
+		synchronized ( this ) {
+			Slot previous = index.remove( key );
+			if ( previous != null ) {
+				usedBytes -= previous.length;
+			}
+		}
+	}
+
+	/**
+	 * Evict the entries still held by the segment and make it ready for reuse.  Must be called
+	 * while holding the monitor of this cache.
+	 */
+	private void recycle(Segment segment) {
+		segment.lock.writeLock().lock();
+		try {
+			segment.generation++;
+			segment.position = 0;
+			for ( Object key : segment.keys ) {
+				Slot slot = index.get( key );
+				if ( slot != null && slot.segment == segment ) {
+					index.remove( key );
+					usedBytes -= slot.length;
+				}
+			}
+			segment.keys.clear();
+		}
+		finally {
+			segment.lock.writeLock().unlock();
+		}
+	}
+
+	public synchronized void clear() throws CacheException {
+		for ( Segment segment : segments ) {
+			recycle( segment );
+		}
+		index.clear();
+		usedBytes = 0;
+		currentSegment = 0;
+	}
+
+	public synchronized void destroy() throws CacheException {
+		clear();
+		for ( Segment segment : segments ) {
+			// the direct memory is released once the buffer is garbage collected
+			segment.buffer = null;
+		}
+	}
+
+	public void lock(Object key) throws CacheException {
+		// local cache, so we use synchronization
+	}
+
+	public void unlock(Object key) throws CacheException {
+		// local cache, so we use synchronization
+	}
+
+	public long nextTimestamp() {
+		return Timestamper.next();
+	}
+
+	public int getTimeout() {
+		return Timestamper.ONE_MS * 60000; //ie. 60 seconds
+	}
+
+	public synchronized long getSizeInMemory() {
+		return usedBytes;
+	}
+
+	public long getElementCountInMemory() {
+		return index.size();
+	}
+
+	public long getElementCountOnDisk() {
+		return 0;
+	}
+
+	public Map toMap() {
+		Map result = new HashMap();
+		Iterator keys = index.keySet().iterator();
+		while ( keys.hasNext() ) {
+			Object key = keys.next();
+			Object value = get( key );
+			if ( value != null ) {
+				result.put( key, value );
+			}
+		}
+		return Collections.unmodifiableMap( result );
+	}
+
+	public String toString() {
+		return "OffHeapCache(" + regionName + ')';
+	}
+
+	private static final class Segment {
+		private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+		// changed under the write lock
+		private int generation;
+		// guarded by the monitor of the cache
+		private ByteBuffer buffer;
+		private int position;
+		private final List<Object> keys = new ArrayList<Object>();
+	}
+
+	private static final class Slot {
+		private final Segment segment;
+		private final int generation;
+		private final int offset;
+		private final int length;
+
+		private Slot(Segment segment, int generation, int offset, int length) {
+			this.segment = segment;
+			this.generation = generation;
+			this.offset = offset;
+			this.length = length;
+		}
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.impl.offheap;
+
+import java.util.Properties;
+
+import org.hibernate.cache.CacheDataDescription;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.CollectionRegion;
+import org.hibernate.cache.EntityRegion;
+import org.hibernate.cache.HashtableCache;
+import org.hibernate.cache.QueryResultsRegion;
+import org.hibernate.cache.RegionFactory;
+import org.hibernate.cache.Timestamper;
+import org.hibernate.cache.TimestampsRegion;
+import org.hibernate.cache.access.AccessType;
+import org.hibernate.cache.access.CollectionRegionAccessStrategy;
+import org.hibernate.cache.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.impl.bridge.CollectionRegionAdapter;
+import org.hibernate.cache.impl.bridge.EntityRegionAdapter;
+import org.hibernate.cache.impl.bridge.QueryResultsRegionAdapter;
+import org.hibernate.cache.impl.bridge.TimestampsRegionAdapter;
+import org.hibernate.cfg.Settings;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+/**
+ * A {@link RegionFactory} whose entity, collection and query results regions keep their
+ * entries serialized off-heap, see {@link OffHeapCache}.  The read-only, nonstrict-read-write
+ * and read-write access strategies are supported.
+ * <p/>
+ * The update timestamps are few and must never be evicted, so they are kept on the heap.
+ * <p/>
+ * The memory used by each region is bounded by {@link #REGION_SIZE}, which may be overridden for
+ * a given region by appending its name to the setting, e.g.
+ * <tt>hibernate.cache.offheap.region_size.org.hibernate.test.Item</tt>.
+ */
+public class OffHeapRegionFactory implements RegionFactory {
+	/**
+	 * The maximum number of bytes of off-heap memory used by a region.
+	 */
+	public static final String REGION_SIZE = "hibernate.cache.offheap.region_size";
+
+	/**
+	 * The size in bytes of the segments the off-heap memory of a region is allocated and
+	 * evicted by.  Entries larger than a segment are not cached.
+	 */
+	public static final String SEGMENT_SIZE = "hibernate.cache.offheap.segment_size";
+
+	public static final long DEFAULT_REGION_SIZE = 64L * 1024 * 1024;
+	public static final int DEFAULT_SEGMENT_SIZE = 1024 * 1024;
+
+	private Settings settings;
+	private long regionSize = DEFAULT_REGION_SIZE;
+	private int segmentSize = DEFAULT_SEGMENT_SIZE;
+
+	public OffHeapRegionFactory() {
+	}
+
+	public OffHeapRegionFactory(Properties properties) {
+	}
+
+	public void start(Settings settings, Properties properties) throws CacheException {
+		this.settings = settings;
+		this.regionSize = getSize( REGION_SIZE, properties, DEFAULT_REGION_SIZE );
+		this.segmentSize = ConfigurationHelper.getInt( SEGMENT_SIZE, properties, DEFAULT_SEGMENT_SIZE );
+	}
+
+	public void stop() {
+	}
+
+	public boolean isMinimalPutsEnabledByDefault() {
+		return false;
+	}
+
+	public AccessType getDefaultAccessType() {
+		return AccessType.READ_WRITE;
+	}
+
+	public long nextTimestamp() {
+		return Timestamper.next();
+	}
+
+	public EntityRegion buildEntityRegion(String regionName, Properties properties, CacheDataDescription metadata)
+			throws CacheException {
+		return new EntityRegionAdapter( buildCache( regionName, properties ), settings, metadata ) {
+			@Override
+			public EntityRegionAccessStrategy buildAccessStrategy(AccessType accessType) throws CacheException {
+				checkAccessType( getName(), accessType );
+				return super.buildAccessStrategy( accessType );
+			}
+		};
+	}
+
+	public CollectionRegion buildCollectionRegion(String regionName, Properties properties, CacheDataDescription metadata)
+			throws CacheException {
+		return new CollectionRegionAdapter( buildCache( regionName, properties ), settings, metadata ) {
+			@Override
+			public CollectionRegionAccessStrategy buildAccessStrategy(AccessType accessType) throws CacheException {
+				checkAccessType( getName(), accessType );
+				return super.buildAccessStrategy( accessType );
+			}
+		};
+	}
+
+	public QueryResultsRegion buildQueryResultsRegion(String regionName, Properties properties) throws CacheException {
+		return new QueryResultsRegionAdapter( buildCache( regionName, properties ), settings ) {
+		};
+	}
+
+	public TimestampsRegion buildTimestampsRegion(String regionName, Properties properties) throws CacheException {
+		return new TimestampsRegionAdapter( new HashtableCache( regionName ), settings ) {
+		};
+	}
+
+	private OffHeapCache buildCache(String regionName, Properties properties) {
+		long size = getSize( REGION_SIZE + '.' + regionName, properties, regionSize );
+		return new OffHeapCache( regionName, size, segmentSize );
+	}
+
+	private static long getSize(String name, Properties properties, long defaultValue) {
+		String value = ConfigurationHelper.getString( name, properties );
+		return value == null ? defaultValue : Long.parseLong( value.trim() );
+	}
+
+	private static void checkAccessType(String regionName, AccessType accessType) {
+		if ( AccessType.TRANSACTIONAL.equals( accessType ) ) {
+			throw new CacheException( "Off-heap region [" + regionName + "] does not support transactional access" );
+		}
+	}
+}
@@ -80,6 +80,63 @@ public interface AvailableSettings {
 	 */
 	public static final String POOL_SIZE ="hibernate.connection.pool_size";
 
+	/**
+	 * Maximum number of connections the built-in Hibernate connection pool hands out at the same time.  Unbounded
+	 * if not specified.
+	 */
+	public static final String POOL_MAX_ACTIVE ="hibernate.connection.pool_max_active";
+
+	/**
+	 * Number of milliseconds to wait for a connection from the built-in Hibernate connection pool once
+	 * {@link #POOL_MAX_ACTIVE} connections are in use.  Defaults to 30 seconds.
+	 */
+	public static final String POOL_ACQUIRE_TIMEOUT ="hibernate.connection.pool_acquire_timeout";
+
+	/**
+	 * Number of milliseconds after which an inactive connection is closed by the built-in Hibernate connection pool.
+	 * Inactive connections are kept until the pool is stopped if not specified.
+	 */
+	public static final String POOL_IDLE_TIMEOUT ="hibernate.connection.pool_idle_timeout";
+
+	/**
+	 * Number of milliseconds a connection may be checked out of the built-in Hibernate connection pool before it is
+	 * reported as a possible leak.  Leak detection is disabled if not specified.
+	 */
+	public static final String POOL_LEAK_THRESHOLD ="hibernate.connection.pool_leak_threshold";
+
+	/**
+	 * Number of seconds to wait for an inactive connection of the built-in Hibernate connection pool to be validated
+	 * (see {@link java.sql.Connection#isValid}) before it is handed out.  Connections are not validated if not
+	 * specified.
+	 */
+	public static final String POOL_VALIDATION_TIMEOUT ="hibernate.connection.pool_validation_timeout";
+
+	/**
+	 * Comma-separated JDBC URLs of read replicas of the {@link #URL} database.  When specified, the built-in
+	 * Hibernate connection pool routes the connections of read-only sessions (see
+	 * {@link org.hibernate.Session#setDefaultReadOnly}) and of sessions using {@link org.hibernate.FlushMode#MANUAL}
+	 * to the replicas.
+	 */
+	public static final String REPLICA_URLS ="hibernate.connection.replica_urls";
+
+	/**
+	 * SQL query returning the replication lag of a read replica in seconds, such as
+	 * <tt>select extract(epoch from now() - pg_last_xact_replay_timestamp())</tt> on PostgreSQL.  Replicas are not
+	 * checked for lag if not specified.
+	 */
+	public static final String REPLICA_LAG_QUERY ="hibernate.connection.replica_lag_query";
+
+	/**
+	 * Maximum replication lag in seconds (see {@link #REPLICA_LAG_QUERY}) of a read replica to still be used.
+	 * Defaults to 10 seconds.
+	 */
+	public static final String REPLICA_MAX_LAG ="hibernate.connection.replica_max_lag";
+
+	/**
+	 * Minimum number of milliseconds between two replication lag checks of the same read replica.  Defaults to 1 second.
+	 */
+	public static final String REPLICA_LAG_CHECK_INTERVAL ="hibernate.connection.replica_lag_check_interval";
+
 	/**
 	 * Names a {@link javax.sql.DataSource}.  Can either reference a {@link javax.sql.DataSource} instance or
 	 * a {@literal JNDI} name under which to locate the {@link javax.sql.DataSource}.
@@ -153,6 +210,12 @@ public interface AvailableSettings {
 	 * The default batch size for batch fetching
 	 */
 	public static final String DEFAULT_BATCH_FETCH_SIZE = "hibernate.default_batch_fetch_size";
+	/**
+	 * Should batch fetching load exactly as many entities as are pending (up to the batch size) in one query, instead of
+	 * stepping down through a fixed set of pre-built batch sizes?  Loaders for the additional sizes are built on first
+	 * use.  Default is <tt>false</tt>.
+	 */
+	public static final String DYNAMIC_BATCH_FETCH = "hibernate.dynamic_batch_fetch";
 	/**
 	 * Use <tt>java.io</tt> streams to read / write binary data from / to JDBC
 	 */
@@ -173,10 +236,26 @@ public interface AvailableSettings {
 	 * when more rows are needed. If <tt>0</tt>, JDBC driver default settings will be used.
 	 */
 	public static final String STATEMENT_FETCH_SIZE = "hibernate.jdbc.fetch_size";
+	/**
+	 * Maximum number of prepared statements kept open for reuse by each connection of a session, in least recently
+	 * used order.  Useful with connection pools or data sources which do not cache statements themselves.  Default
+	 * is <tt>0</tt>, which disables the cache.
+	 */
+	public static final String STATEMENT_CACHE_SIZE = "hibernate.jdbc.statement_cache_size";
 	/**
 	 * Maximum JDBC batch size. A nonzero value enables batch updates.
 	 */
 	public static final String STATEMENT_BATCH_SIZE = "hibernate.jdbc.batch_size";
+	/**
+	 * Should the JDBC batch size be adapted, per statement, to the observed execution times?  When enabled the
+	 * sizes start at {@link #STATEMENT_BATCH_SIZE} and vary between 1 and {@link #STATEMENT_BATCH_SIZE_MAX}.
+	 * Default is <tt>false</tt>.
+	 */
+	public static final String STATEMENT_BATCH_SIZE_ADAPTIVE = "hibernate.jdbc.batch_size_adaptive";
+	/**
+	 * Upper bound of adaptive JDBC batch sizes; defaults to {@link #STATEMENT_BATCH_SIZE}.
+	 */
+	public static final String STATEMENT_BATCH_SIZE_MAX = "hibernate.jdbc.batch_size_max";
 	/**
 	 * Select a custom batcher.
 	 */
@@ -185,6 +264,11 @@ public interface AvailableSettings {
 	 * Should versioned data be included in batching?
 	 */
 	public static final String BATCH_VERSIONED_DATA = "hibernate.jdbc.batch_versioned_data";
+	/**
+	 * Should consecutive inserts into the same entity table be grouped into multi-row <tt>insert</tt> statements,
+	 * where the dialect supports them?  Default is <tt>false</tt>.
+	 */
+	public static final String USE_MULTI_ROW_INSERT = "hibernate.jdbc.use_multi_row_insert";
 	/**
 	 * An XSLT resource used to generate "custom" XML
 	 */
@@ -333,6 +417,18 @@ public interface AvailableSettings {
 	 */
 	public static final String USE_STRUCTURED_CACHE = "hibernate.cache.use_structured_entries";
 
+	/**
+	 * Enable use of compact binary second-level cache entries for entities.  Ignored when
+	 * {@link #USE_STRUCTURED_CACHE} is enabled.
+	 */
+	public static final String USE_BINARY_CACHE = "hibernate.cache.use_binary_entries";
+
+	/**
+	 * The maximum number of entries of the node-local near cache kept in front of each entity
+	 * region able to report its invalidations.  Defaults to 0, meaning no near cache.
+	 */
+	public static final String NEAR_CACHE_SIZE = "hibernate.cache.near_cache_size";
+
 	/**
 	 * Enable statistics collection
 	 */
@@ -345,6 +441,12 @@ public interface AvailableSettings {
 	 */
 	public static final String USE_REFLECTION_OPTIMIZER = "hibernate.bytecode.use_reflection_optimizer";
 
+	/**
+	 * Dirty check entities during flush using code generated per entity by the bytecode provider, rather than
+	 * through the generic property types.  Default is <tt>false</tt>.
+	 */
+	public static final String USE_DIRTY_CHECK_OPTIMIZER = "hibernate.bytecode.use_dirty_check_optimizer";
+
 	/**
 	 * The classname of the HQL query parser factory
 	 */
@@ -405,6 +507,14 @@ public interface AvailableSettings {
 	 */
 	public static final String ORDER_INSERTS = "hibernate.order_inserts";
 
+	/**
+	 * Enable pipelined flushes: full JDBC batches are executed in the background while the next ones are being
+	 * filled, and the insertions are executed before the entities get dirty checked, so that dirty checking overlaps
+	 * with their execution.  Requires a JDBC driver supporting the concurrent use of distinct statements of a
+	 * connection.  Default is <tt>false</tt>.
+	 */
+	public static final String PIPELINED_FLUSH = "hibernate.pipelined_flush";
+
 	/**
 	 * The EntityMode in which set the Session opened from the SessionFactory.
 	 */
@@ -44,6 +44,8 @@ public final class Settings {
 	private Map querySubstitutions;
 	private int jdbcBatchSize;
 	private int defaultBatchFetchSize;
+	private boolean dynamicBatchFetchEnabled;
+	private boolean dirtyCheckOptimizerEnabled;
 	private boolean scrollableResultSetsEnabled;
 	private boolean getGeneratedKeysEnabled;
 	private String defaultSchemaName;
@@ -56,12 +58,15 @@ public final class Settings {
 	private boolean autoValidateSchema;
 	private boolean queryCacheEnabled;
 	private boolean structuredCacheEntriesEnabled;
+	private boolean binaryCacheEntriesEnabled;
+	private int nearCacheSize;
 	private boolean secondLevelCacheEnabled;
 	private String cacheRegionPrefix;
 	private boolean minimalPutsEnabled;
 	private boolean commentsEnabled;
 	private boolean statisticsEnabled;
 	private boolean jdbcBatchVersionedData;
+	private boolean multiRowInsertEnabled;
 	private boolean identifierRollbackEnabled;
 	private boolean flushBeforeCompletionEnabled;
 	private boolean autoCloseSessionEnabled;
@@ -72,6 +77,7 @@ public final class Settings {
 	private boolean wrapResultSetsEnabled;
 	private boolean orderUpdatesEnabled;
 	private boolean orderInsertsEnabled;
+	private boolean pipelinedFlushEnabled;
 	private EntityMode defaultEntityMode;
 	private boolean dataDefinitionImplicitCommit;
 	private boolean dataDefinitionInTransactionSupported;
@@ -118,6 +124,14 @@ public final class Settings {
 		return defaultBatchFetchSize;
 	}
 
+	public boolean isDynamicBatchFetchEnabled() {
+		return dynamicBatchFetchEnabled;
+	}
+
+	public boolean isDirtyCheckOptimizerEnabled() {
+		return dirtyCheckOptimizerEnabled;
+	}
+
 	public Map getQuerySubstitutions() {
 		return querySubstitutions;
 	}
@@ -194,6 +208,10 @@ public final class Settings {
 		return jdbcBatchVersionedData;
 	}
 
+	public boolean isMultiRowInsertEnabled() {
+		return multiRowInsertEnabled;
+	}
+
 	public boolean isFlushBeforeCompletionEnabled() {
 		return flushBeforeCompletionEnabled;
 	}
@@ -222,10 +240,22 @@ public final class Settings {
 		return orderInsertsEnabled;
 	}
 
+	public boolean isPipelinedFlushEnabled() {
+		return pipelinedFlushEnabled;
+	}
+
 	public boolean isStructuredCacheEntriesEnabled() {
 		return structuredCacheEntriesEnabled;
 	}
 
+	public boolean isBinaryCacheEntriesEnabled() {
+		return binaryCacheEntriesEnabled;
+	}
+
+	public int getNearCacheSize() {
+		return nearCacheSize;
+	}
+
 	public EntityMode getDefaultEntityMode() {
 		return defaultEntityMode;
 	}
@@ -276,6 +306,14 @@ public final class Settings {
 		defaultBatchFetchSize = i;
 	}
 
+	void setDynamicBatchFetchEnabled(boolean dynamicBatchFetchEnabled) {
+		this.dynamicBatchFetchEnabled = dynamicBatchFetchEnabled;
+	}
+
+	void setDirtyCheckOptimizerEnabled(boolean dirtyCheckOptimizerEnabled) {
+		this.dirtyCheckOptimizerEnabled = dirtyCheckOptimizerEnabled;
+	}
+
 	void setQuerySubstitutions(Map map) {
 		querySubstitutions = map;
 	}
@@ -352,6 +390,10 @@ public final class Settings {
 		this.jdbcBatchVersionedData = jdbcBatchVersionedData;
 	}
 
+	void setMultiRowInsertEnabled(boolean multiRowInsertEnabled) {
+		this.multiRowInsertEnabled = multiRowInsertEnabled;
+	}
+
 	void setFlushBeforeCompletionEnabled(boolean flushBeforeCompletionEnabled) {
 		this.flushBeforeCompletionEnabled = flushBeforeCompletionEnabled;
 	}
@@ -380,10 +422,22 @@ public final class Settings {
 		this.orderInsertsEnabled = orderInsertsEnabled;
 	}
 
+	void setPipelinedFlushEnabled(boolean pipelinedFlushEnabled) {
+		this.pipelinedFlushEnabled = pipelinedFlushEnabled;
+	}
+
 	void setStructuredCacheEntriesEnabled(boolean structuredCacheEntriesEnabled) {
 		this.structuredCacheEntriesEnabled = structuredCacheEntriesEnabled;
 	}
 
+	void setBinaryCacheEntriesEnabled(boolean binaryCacheEntriesEnabled) {
+		this.binaryCacheEntriesEnabled = binaryCacheEntriesEnabled;
+	}
+
+	void setNearCacheSize(int nearCacheSize) {
+		this.nearCacheSize = nearCacheSize;
+	}
+
 	void setDefaultEntityMode(EntityMode defaultEntityMode) {
 		this.defaultEntityMode = defaultEntityMode;
 	}
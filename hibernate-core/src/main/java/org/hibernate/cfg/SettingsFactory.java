@@ -114,6 +114,10 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setJdbcBatchVersionedData(jdbcBatchVersionedData);
 
+		boolean multiRowInsert = ConfigurationHelper.getBoolean( Environment.USE_MULTI_ROW_INSERT, properties, false );
+		LOG.debugf( "Multi-row inserts: %s", enabledDisabled(multiRowInsert) );
+		settings.setMultiRowInsertEnabled( multiRowInsert );
+
 		boolean useScrollableResultSets = ConfigurationHelper.getBoolean(
 				Environment.USE_SCROLLABLE_RESULTSET,
 				properties,
@@ -175,6 +179,14 @@ public class SettingsFactory implements Serializable {
         LOG.debugf( "Default batch fetch size: %s", batchFetchSize );
 		settings.setDefaultBatchFetchSize( batchFetchSize );
 
+		boolean dynamicBatchFetch = ConfigurationHelper.getBoolean( Environment.DYNAMIC_BATCH_FETCH, properties, false );
+        LOG.debugf( "Dynamic batch fetch sizes: %s", enabledDisabled(dynamicBatchFetch) );
+		settings.setDynamicBatchFetchEnabled( dynamicBatchFetch );
+
+		boolean dirtyCheckOptimizer = ConfigurationHelper.getBoolean( Environment.USE_DIRTY_CHECK_OPTIMIZER, properties, false );
+        LOG.debugf( "Bytecode dirty check optimizer: %s", enabledDisabled(dirtyCheckOptimizer) );
+		settings.setDirtyCheckOptimizerEnabled( dirtyCheckOptimizer );
+
 		boolean comments = ConfigurationHelper.getBoolean( Environment.USE_SQL_COMMENTS, properties );
         LOG.debugf( "Generate SQL with comments: %s", enabledDisabled(comments) );
 		settings.setCommentsEnabled( comments );
@@ -187,6 +199,10 @@ public class SettingsFactory implements Serializable {
         LOG.debugf( "Order SQL inserts for batching: %s", enabledDisabled(orderInserts) );
 		settings.setOrderInsertsEnabled( orderInserts );
 
+		boolean pipelinedFlush = ConfigurationHelper.getBoolean( Environment.PIPELINED_FLUSH, properties, false );
+		LOG.debugf( "Pipelined flushes: %s", enabledDisabled(pipelinedFlush) );
+		settings.setPipelinedFlushEnabled( pipelinedFlush );
+
 		//Query parser settings:
 
 		settings.setQueryTranslatorFactory( createQueryTranslatorFactory( properties, serviceRegistry ) );
@@ -235,6 +251,14 @@ public class SettingsFactory implements Serializable {
         LOG.debugf( "Structured second-level cache entries: %s", enabledDisabled(useStructuredCacheEntries) );
 		settings.setStructuredCacheEntriesEnabled( useStructuredCacheEntries );
 
+		boolean useBinaryCacheEntries = ConfigurationHelper.getBoolean( Environment.USE_BINARY_CACHE, properties, false );
+        LOG.debugf( "Binary second-level cache entries: %s", enabledDisabled(useBinaryCacheEntries) );
+		settings.setBinaryCacheEntriesEnabled( useBinaryCacheEntries );
+
+		int nearCacheSize = ConfigurationHelper.getInt( Environment.NEAR_CACHE_SIZE, properties, 0 );
+        LOG.debugf( "Entity near cache size: %s", nearCacheSize );
+		settings.setNearCacheSize( nearCacheSize );
+
 
 		//Statistics and logging:
 
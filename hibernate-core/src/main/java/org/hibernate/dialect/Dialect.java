@@ -1596,6 +1596,22 @@ public abstract class Dialect {
 		return "values ( )";
 	}
 
+	/**
+	 * The maximum number of rows which may be inserted through a single
+	 * multi-row <tt>insert ... values (...), (...)</tt> statement, given the
+	 * number of JDBC parameters bound per row.
+	 * <p/>
+	 * Note that a value of one indicates that multi-row inserts are not
+	 * supported.
+	 *
+	 * @param parameterCount The number of JDBC parameters of a single row
+	 * @return The maximum number of rows per insert statement
+	 * @since 4.0
+	 */
+	public int getMultiRowInsertLimit(int parameterCount) {
+		return 1;
+	}
+
 	/**
 	 * The name of the SQL function that transforms a string to
 	 * lowercase
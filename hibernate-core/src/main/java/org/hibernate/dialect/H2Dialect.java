@@ -190,6 +190,12 @@ public class H2Dialect extends Dialect {
 		return "add column";
 	}
 
+	@Override
+	public int getMultiRowInsertLimit(int parameterCount) {
+		// H2 has no fixed placeholder limit, but parses the whole statement up front: bound the parameters as well
+		return Math.max( 1, Math.min( 1000, 32767 / Math.max( 1, parameterCount ) ) );
+	}
+
 	public boolean supportsIdentityColumns() {
 		return true;
 	}
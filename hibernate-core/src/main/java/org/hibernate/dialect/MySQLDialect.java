@@ -185,6 +185,11 @@ public class MySQLDialect extends Dialect {
 	public String getAddColumnString() {
 		return "add column";
 	}
+
+	public int getMultiRowInsertLimit(int parameterCount) {
+		// server side prepared statements are limited to 65535 placeholders
+		return Math.max( 1, Math.min( 1000, 65535 / Math.max( 1, parameterCount ) ) );
+	}
 	
 	public boolean qualifyIndexName() {
 		return false;
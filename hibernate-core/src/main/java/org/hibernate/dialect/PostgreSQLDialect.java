@@ -254,6 +254,11 @@ public class PostgreSQLDialect extends Dialect {
 		return "default values";
 	}
 
+	public int getMultiRowInsertLimit(int parameterCount) {
+		// the v3 protocol encodes the parameter count of a statement as a signed short
+		return Math.max( 1, Math.min( 1000, 32767 / Math.max( 1, parameterCount ) ) );
+	}
+
 	public Class getNativeIdentifierGeneratorClass() {
 		return SequenceGenerator.class;
 	}
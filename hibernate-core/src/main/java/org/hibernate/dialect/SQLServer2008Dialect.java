@@ -41,4 +41,10 @@ public class SQLServer2008Dialect extends SQLServer2005Dialect {
 				"current_timestamp", new NoArgSQLFunction( "current_timestamp", StandardBasicTypes.TIMESTAMP, false )
 		);
 	}
+
+	@Override
+	public int getMultiRowInsertLimit(int parameterCount) {
+		// row value constructors are limited to 1000 rows, and a request to 2100 parameters
+		return Math.max( 1, Math.min( 1000, 2099 / Math.max( 1, parameterCount ) ) );
+	}
 }
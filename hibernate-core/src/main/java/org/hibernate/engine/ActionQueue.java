@@ -27,10 +27,12 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.hibernate.AssertionFailure;
 import org.hibernate.HibernateException;
@@ -49,6 +51,9 @@ import org.hibernate.action.internal.EntityDeleteAction;
 import org.hibernate.action.internal.EntityIdentityInsertAction;
 import org.hibernate.action.spi.Executable;
 import org.hibernate.cache.CacheException;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.persister.entity.MultiRowInsertable;
+import org.hibernate.type.CompositeType;
 import org.hibernate.type.Type;
 import org.jboss.logging.Logger;
 
@@ -171,7 +176,22 @@ public class ActionQueue {
 	 * @throws HibernateException error executing queued insertion actions.
 	 */
 	public void executeInserts() throws HibernateException {
-		executeActions( insertions );
+		executeInsertions();
+	}
+
+	/**
+	 * Perform all currently queued entity-insertion actions as the first stage of a pipelined flush (see
+	 * {@link org.hibernate.cfg.AvailableSettings#PIPELINED_FLUSH}).  The insertions are ordered beforehand if
+	 * so configured, and the current JDBC batch is left to complete with the statements that follow, so that
+	 * its execution overlaps with the rest of the flush.
+	 *
+	 * @throws HibernateException error executing queued insertion actions.
+	 */
+	public void executeInsertsPipelined() throws HibernateException {
+		if ( session.getFactory().getSettings().isOrderInsertsEnabled() ) {
+			sortInsertActions();
+		}
+		doExecuteInsertions();
 	}
 
 	/**
@@ -180,7 +200,7 @@ public class ActionQueue {
 	 * @throws HibernateException error executing queued actions.
 	 */
 	public void executeActions() throws HibernateException {
-		executeActions( insertions );
+		executeInsertions();
 		executeActions( updates );
 		executeActions( collectionRemovals );
 		executeActions( collectionUpdates );
@@ -265,6 +285,96 @@ public class ActionQueue {
 		session.getTransactionCoordinator().getJdbcCoordinator().executeBatch();
 	}
 
+	/**
+	 * Execute the insertions, grouping consecutive inserts of instances of the same entity into multi-row
+	 * inserts where the persister supports them.
+	 */
+	private void executeInsertions() throws HibernateException {
+		doExecuteInsertions();
+		session.getTransactionCoordinator().getJdbcCoordinator().executeBatch();
+	}
+
+	private void doExecuteInsertions() throws HibernateException {
+		final int size = insertions.size();
+		int start = 0;
+		while ( start < size ) {
+			final Executable action = (Executable) insertions.get( start );
+			final int limit = multiRowInsertLimit( action );
+			int end = start + 1;
+			while ( end < size && end - start < limit
+					&& ( (EntityInsertAction) action ).getPersister() == multiRowInsertPersister( insertions.get( end ) ) ) {
+				end++;
+			}
+			if ( end - start > 1 ) {
+				executeMultiRowInsert( insertions.subList( start, end ) );
+			}
+			else {
+				execute( action );
+			}
+			start = end;
+		}
+		insertions.clear();
+	}
+
+	private int multiRowInsertLimit(Object action) {
+		if ( !session.getFactory().getSettings().isMultiRowInsertEnabled() ) {
+			return 1;
+		}
+		final EntityPersister persister = multiRowInsertPersister( action );
+		return persister == null ? 1 : ( (MultiRowInsertable) persister ).getMultiRowInsertLimit();
+	}
+
+	private static EntityPersister multiRowInsertPersister(Object action) {
+		if ( action instanceof EntityInsertAction ) {
+			final EntityPersister persister = ( (EntityInsertAction) action ).getPersister();
+			if ( persister instanceof MultiRowInsertable ) {
+				return persister;
+			}
+		}
+		return null;
+	}
+
+	private void executeMultiRowInsert(List actions) throws HibernateException {
+		final int size = actions.size();
+		try {
+			final boolean[] vetoes = new boolean[size];
+			int rowCount = 0;
+			for ( int i = 0; i < size; i++ ) {
+				vetoes[i] = ( (EntityInsertAction) actions.get( i ) ).beforeInsert();
+				if ( !vetoes[i] ) {
+					rowCount++;
+				}
+			}
+
+			if ( rowCount > 0 ) {
+				final Serializable[] ids = new Serializable[rowCount];
+				final Object[][] states = new Object[rowCount][];
+				final Object[] instances = new Object[rowCount];
+				int row = 0;
+				for ( int i = 0; i < size; i++ ) {
+					if ( !vetoes[i] ) {
+						final EntityInsertAction action = (EntityInsertAction) actions.get( i );
+						ids[row] = action.getId();
+						states[row] = action.getState();
+						instances[row] = action.getInstance();
+						row++;
+					}
+				}
+				final MultiRowInsertable persister = (MultiRowInsertable) ( (EntityInsertAction) actions.get( 0 ) ).getPersister();
+				persister.insert( ids, states, instances, session );
+			}
+
+			for ( int i = 0; i < size; i++ ) {
+				( (EntityInsertAction) actions.get( i ) ).afterInsert( vetoes[i] );
+			}
+		}
+		finally {
+			for ( int i = 0; i < size; i++ ) {
+				registerCleanupActions( (Executable) actions.get( i ) );
+			}
+		}
+	}
+
 	public void execute(Executable executable) {
 		try {
 			executable.execute();
@@ -620,123 +730,141 @@ public class ActionQueue {
 	}
 
 	/**
-	 * Sorts the insert actions using more hashes.
-	 *
-	 * @author Jay Erb
+	 * Sorts the insert actions so that inserts of the same entity are run together, and thus batched, as far as the
+	 * dependencies between the inserted entities allow.
+	 * <p/>
+	 * The actions form a graph in which an action depends on every earlier action whose entity it references, or
+	 * which references its entity, directly or through components.  As edges always point forward in the original
+	 * (cascade) order, that order stays valid for every pair of related entities, including those on cycles.  The
+	 * graph is then scheduled topologically, draining all ready actions of the current entity before moving on to
+	 * the entity of the earliest ready action.
 	 */
 	private class InsertActionSorter {
-		// the mapping of entity names to their latest batch numbers.
-		private HashMap latestBatches = new HashMap();
-		private HashMap entityBatchNumber;
-
-		// the map of batch numbers to EntityInsertAction lists
-		private HashMap actionBatches = new HashMap();
+		private final EntityAction[] actions;
+		private final int[] dependencyCounts;
+		private final List[] dependents;
+		// the index of each inserted instance
+		private final IdentityHashMap<Object,Integer> indexes;
 
 		public InsertActionSorter() {
-			//optimize the hash size to eliminate a rehash.
-			entityBatchNumber = new HashMap( insertions.size() + 1, 1.0f );
+			actions = (EntityAction[]) insertions.toArray( new EntityAction[insertions.size()] );
+			dependencyCounts = new int[actions.length];
+			dependents = new List[actions.length];
+			indexes = new IdentityHashMap<Object,Integer>( actions.length );
 		}
 
 		/**
 		 * Sort the insert actions.
 		 */
-		@SuppressWarnings({ "unchecked", "UnnecessaryBoxing" })
+		@SuppressWarnings({ "unchecked" })
 		public void sort() {
-			// the list of entity names that indicate the batch number
-			for ( EntityInsertAction action : (List<EntityInsertAction>) insertions ) {
-				// remove the current element from insertions. It will be added back later.
-				String entityName = action.getEntityName();
-
-				// the entity associated with the current action.
-				Object currentEntity = action.getInstance();
-
-				Integer batchNumber;
-				if ( latestBatches.containsKey( entityName ) ) {
-					// There is already an existing batch for this type of entity.
-					// Check to see if the latest batch is acceptable.
-					batchNumber = findBatchNumber( action, entityName );
+			for ( int i = 0; i < actions.length; i++ ) {
+				indexes.put( actions[i].getInstance(), i );
+			}
+			for ( int i = 0; i < actions.length; i++ ) {
+				final EntityPersister persister = actions[i].getPersister();
+				addDependencies( i, getState( actions[i] ), persister.getPropertyTypes() );
+				if ( persister.getIdentifierType().isComponentType() && actions[i].getId() != null ) {
+					addDependencies( i, actions[i].getId(), persister.getIdentifierType() );
 				}
-				else {
-					// add an entry for this type of entity.
-					// we can be assured that all referenced entities have already
-					// been processed,
-					// so specify that this entity is with the latest batch.
-					// doing the batch number before adding the name to the list is
-					// a faster way to get an accurate number.
-
-					batchNumber = Integer.valueOf( actionBatches.size() );
-					latestBatches.put( entityName, batchNumber );
+			}
+
+			// the ready actions, per entity name in order of appearance
+			final LinkedHashMap<String,LinkedList<Integer>> ready = new LinkedHashMap<String,LinkedList<Integer>>();
+			for ( int i = 0; i < actions.length; i++ ) {
+				if ( dependencyCounts[i] == 0 ) {
+					enqueue( ready, i );
 				}
-				entityBatchNumber.put( currentEntity, batchNumber );
-				addToBatch( batchNumber, action );
 			}
+
 			insertions.clear();
+			String current = null;
+			while ( !ready.isEmpty() ) {
+				LinkedList<Integer> queue = current == null ? null : ready.get( current );
+				if ( queue == null ) {
+					current = nextEntityName( ready );
+					queue = ready.get( current );
+				}
+				final int index = queue.removeFirst();
+				if ( queue.isEmpty() ) {
+					ready.remove( current );
+				}
+				insertions.add( actions[index] );
+				if ( dependents[index] != null ) {
+					for ( Integer dependent : (List<Integer>) dependents[index] ) {
+						if ( --dependencyCounts[dependent] == 0 ) {
+							enqueue( ready, dependent );
+						}
+					}
+				}
+			}
 
-			// now rebuild the insertions list. There is a batch for each entry in the name list.
-			for ( int i = 0; i < actionBatches.size(); i++ ) {
-				List batch = ( List ) actionBatches.get( new Integer( i ) );
-				for ( Object aBatch : batch ) {
-					EntityInsertAction action = (EntityInsertAction) aBatch;
-					insertions.add( action );
+			if ( insertions.size() != actions.length ) {
+				throw new AssertionFailure( "insert actions lost while sorting" );
+			}
+		}
+
+		private Object[] getState(EntityAction action) {
+			return action instanceof EntityInsertAction
+					? ( (EntityInsertAction) action ).getState()
+					: ( (EntityIdentityInsertAction) action ).getState();
+		}
+
+		private void addDependencies(int index, Object[] values, Type[] types) {
+			for ( int i = 0; i < types.length; i++ ) {
+				if ( values[i] != null ) {
+					addDependencies( index, values[i], types[i] );
 				}
 			}
 		}
 
-		/**
-		 * Finds an acceptable batch for this entity to be a member as part of the {@link InsertActionSorter}
-		 *
-		 * @param action The action being sorted
-		 * @param entityName The name of the entity affected by the action
-		 *
-		 * @return An appropriate batch number; todo document this process better
-		 */
-		@SuppressWarnings({ "UnnecessaryBoxing", "unchecked" })
-		private Integer findBatchNumber(
-				EntityInsertAction action,
-				String entityName) {
-			// loop through all the associated entities and make sure they have been
-			// processed before the latest
-			// batch associated with this entity type.
-
-			// the current batch number is the latest batch for this entity type.
-			Integer latestBatchNumberForType = ( Integer ) latestBatches.get( entityName );
-
-			// loop through all the associations of the current entity and make sure that they are processed
-			// before the current batch number
-			Object[] propertyValues = action.getState();
-			Type[] propertyTypes = action.getPersister().getClassMetadata()
-					.getPropertyTypes();
-
-			for ( int i = 0; i < propertyValues.length; i++ ) {
-				Object value = propertyValues[i];
-				Type type = propertyTypes[i];
-				if ( type.isEntityType() && value != null ) {
-					// find the batch number associated with the current association, if any.
-					Integer associationBatchNumber = ( Integer ) entityBatchNumber.get( value );
-					if ( associationBatchNumber != null && associationBatchNumber.compareTo( latestBatchNumberForType ) > 0 ) {
-						// create a new batch for this type. The batch number is the number of current batches.
-						latestBatchNumberForType = Integer.valueOf( actionBatches.size() );
-						latestBatches.put( entityName, latestBatchNumberForType );
-						// since this entity will now be processed in the latest possible batch,
-						// we can be assured that it will come after all other associations,
-						// there's not need to continue checking.
-						break;
-					}
+		private void addDependencies(int index, Object value, Type type) {
+			if ( type.isEntityType() ) {
+				final Integer referenced = indexes.get( value );
+				if ( referenced != null && referenced != index ) {
+					addDependency( Math.min( index, referenced ), Math.max( index, referenced ) );
 				}
 			}
-			return latestBatchNumberForType;
+			else if ( type.isComponentType() ) {
+				final CompositeType componentType = (CompositeType) type;
+				addDependencies(
+						index,
+						componentType.getPropertyValues( value, session.getEntityMode() ),
+						componentType.getSubtypes()
+				);
+			}
 		}
 
 		@SuppressWarnings({ "unchecked" })
-		private void addToBatch(Integer batchNumber, EntityInsertAction action) {
-			List actions = ( List ) actionBatches.get( batchNumber );
+		private void addDependency(int earlier, int later) {
+			if ( dependents[earlier] == null ) {
+				dependents[earlier] = new ArrayList();
+			}
+			dependents[earlier].add( later );
+			dependencyCounts[later]++;
+		}
 
-			if ( actions == null ) {
-				actions = new LinkedList();
-				actionBatches.put( batchNumber, actions );
+		private void enqueue(LinkedHashMap<String,LinkedList<Integer>> ready, int index) {
+			final String entityName = actions[index].getEntityName();
+			LinkedList<Integer> queue = ready.get( entityName );
+			if ( queue == null ) {
+				queue = new LinkedList<Integer>();
+				ready.put( entityName, queue );
 			}
-			actions.add( action );
+			queue.add( index );
 		}
 
+		private String nextEntityName(LinkedHashMap<String,LinkedList<Integer>> ready) {
+			String next = null;
+			int earliest = Integer.MAX_VALUE;
+			for ( Map.Entry<String,LinkedList<Integer>> entry : ready.entrySet() ) {
+				final int index = entry.getValue().getFirst();
+				if ( index < earliest ) {
+					earliest = index;
+					next = entry.getKey();
+				}
+			}
+			return next;
+		}
 	}
 }
@@ -27,6 +27,7 @@ import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 
 import org.hibernate.EntityMode;
@@ -48,16 +49,29 @@ public class BatchFetchQueue {
 	public static final Object MARKER = new MarkerObject( "MARKER" );
 
 	/**
-	 * Defines a sequence of {@link EntityKey} elements that are currently
-	 * elegible for batch-fetching.
+	 * Defines, per entity hierarchy (keyed by root entity name), a sequence
+	 * of {@link EntityKey} elements that are currently elegible for
+	 * batch-fetching.
 	 * <p/>
-	 * Even though this is a map, we only use the keys.  A map was chosen in
-	 * order to utilize a {@link LinkedHashMap} to maintain sequencing
-	 * as well as uniqueness.
+	 * A {@link LinkedHashSet} is used in order to maintain sequencing as
+	 * well as uniqueness.  Grouping by hierarchy means building a batch only
+	 * ever visits keys which could possibly be part of it.
+	 */
+	private final Map<String,LinkedHashSet<EntityKey>> batchLoadableEntityKeys =
+			new HashMap<String,LinkedHashSet<EntityKey>>(8);
+
+	/**
+	 * Defines, per collection role, the uninitialized collections which are
+	 * currently elegible for batch-fetching, in the order in which they were
+	 * added to the persistence context.
 	 * <p/>
-	 * TODO : this would be better as a SequencedReferenceSet, but no such beast exists!
+	 * Maintained by the {@link PersistenceContext} as collections are added,
+	 * initialized and evicted; stale entries (collections which have been
+	 * initialized or dereferenced in the meantime) are also discarded lazily
+	 * by {@link #getCollectionBatch}.
 	 */
-	private final Map batchLoadableEntityKeys = new LinkedHashMap(8);
+	private final Map<String,LinkedHashMap<CollectionEntry,PersistentCollection>> batchLoadableCollections =
+			new HashMap<String,LinkedHashMap<CollectionEntry,PersistentCollection>>(8);
 
 	/**
 	 * A map of {@link SubselectFetch subselect-fetch descriptors} keyed by the
@@ -84,6 +98,7 @@ public class BatchFetchQueue {
 	 */
 	public void clear() {
 		batchLoadableEntityKeys.clear();
+		batchLoadableCollections.clear();
 		subselectsByEntityKey.clear();
 	}
 
@@ -139,7 +154,12 @@ public class BatchFetchQueue {
 	 */
 	public void addBatchLoadableEntityKey(EntityKey key) {
 		if ( key.isBatchLoadable() ) {
-			batchLoadableEntityKeys.put( key, MARKER );
+			LinkedHashSet<EntityKey> keysForHierarchy = batchLoadableEntityKeys.get( key.getRootEntityName() );
+			if ( keysForHierarchy == null ) {
+				keysForHierarchy = new LinkedHashSet<EntityKey>( 8 );
+				batchLoadableEntityKeys.put( key.getRootEntityName(), keysForHierarchy );
+			}
+			keysForHierarchy.add( key );
 		}
 	}
 
@@ -149,11 +169,62 @@ public class BatchFetchQueue {
 	 * if necessary
 	 */
 	public void removeBatchLoadableEntityKey(EntityKey key) {
-		if ( key.isBatchLoadable() ) batchLoadableEntityKeys.remove(key);
+		if ( key.isBatchLoadable() ) {
+			LinkedHashSet<EntityKey> keysForHierarchy = batchLoadableEntityKeys.get( key.getRootEntityName() );
+			if ( keysForHierarchy != null ) {
+				keysForHierarchy.remove( key );
+			}
+		}
 	}
 
 	/**
-	 * Get a batch of uninitialized collection keys for a given role
+	 * If a collection is uninitialized and its role is batch loadable, add
+	 * it to the queue.
+	 *
+	 * @param collection The uninitialized collection
+	 * @param ce The collection's entry in the persistence context
+	 */
+	public void addBatchLoadableCollection(PersistentCollection collection, CollectionEntry ce) {
+		final CollectionPersister persister = ce.getLoadedPersister();
+		if ( persister == null || !persister.isBatchLoadable() || collection.wasInitialized() ) {
+			return;
+		}
+		LinkedHashMap<CollectionEntry,PersistentCollection> collectionsForRole =
+				batchLoadableCollections.get( persister.getRole() );
+		if ( collectionsForRole == null ) {
+			collectionsForRole = new LinkedHashMap<CollectionEntry,PersistentCollection>( 16 );
+			batchLoadableCollections.put( persister.getRole(), collectionsForRole );
+		}
+		collectionsForRole.put( ce, collection );
+	}
+
+	/**
+	 * After initializing or evicting a collection, we don't need to batch
+	 * fetch it anymore; remove it from the queue if necessary.
+	 *
+	 * @param ce The collection's entry in the persistence context
+	 */
+	public void removeBatchLoadableCollection(CollectionEntry ce) {
+		if ( ce.getRole() == null ) {
+			return;
+		}
+		final LinkedHashMap<CollectionEntry,PersistentCollection> collectionsForRole =
+				batchLoadableCollections.get( ce.getRole() );
+		if ( collectionsForRole != null ) {
+			collectionsForRole.remove( ce );
+		}
+	}
+
+	/**
+	 * Get a batch of uninitialized collection keys for a given role, in the
+	 * order in which the collections were added to the persistence context.
+	 * Only the queued collections of the given role are visited, so the
+	 * cost is proportional to the batch size rather than to the number of
+	 * collections in the persistence context.  Keys of collections held in
+	 * the second-level cache are left out; they are looked up in bulk
+	 * rather than one at a time.  The entries found are not kept: the cache
+	 * is read again when the collections get initialized, since it may have
+	 * been invalidated in the meantime.
 	 *
 	 * @param collectionPersister The persister for the collection role.
 	 * @param id A key that must be included in the batch fetch
@@ -168,58 +239,73 @@ public class BatchFetchQueue {
 		Serializable[] keys = new Serializable[batchSize];
 		keys[0] = id;
 		int i = 1;
-		//int count = 0;
-		int end = -1;
-		boolean checkForEnd = false;
-		// this only works because collection entries are kept in a sequenced
-		// map by persistence context (maybe we should do like entities and
-		// keep a separate sequences set...)
-		Iterator iter = context.getCollectionEntries().entrySet().iterator(); //TODO: calling entrySet on an IdentityMap is SLOW!!
-		while ( iter.hasNext() ) {
-			Map.Entry me = (Map.Entry) iter.next();
 
-			CollectionEntry ce = (CollectionEntry) me.getValue();
-			PersistentCollection collection = (PersistentCollection) me.getKey();
-			if ( !collection.wasInitialized() && ce.getLoadedPersister() == collectionPersister ) {
+		final LinkedHashMap<CollectionEntry,PersistentCollection> collectionsForRole =
+				batchLoadableCollections.get( collectionPersister.getRole() );
+		if ( collectionsForRole == null ) {
+			return keys;
+		}
+
+		final Map<CacheKey,Serializable> candidates = new LinkedHashMap<CacheKey,Serializable>();
+		Iterator<Map.Entry<CollectionEntry,PersistentCollection>> iter = collectionsForRole.entrySet().iterator();
+		while ( iter.hasNext() && i < batchSize ) {
+			// gather as many candidates as there are free slots left in the batch...
+			while ( iter.hasNext() && i + candidates.size() < batchSize ) {
+				Map.Entry<CollectionEntry,PersistentCollection> me = iter.next();
+				final CollectionEntry ce = me.getKey();
+				final PersistentCollection collection = me.getValue();
 
-				if ( checkForEnd && i == end ) {
-					return keys; //the first key found after the given key
+				if ( collection.wasInitialized() || ce.getLoadedPersister() != collectionPersister ) {
+					// initialized or dereferenced since it was queued
+					iter.remove();
+					continue;
 				}
 
-				//if ( end == -1 && count > batchSize*10 ) return keys; //try out ten batches, max
-
 				final boolean isEqual = collectionPersister.getKeyType().isEqual(
 						id,
 						ce.getLoadedKey(),
 						entityMode,
 						collectionPersister.getFactory()
 				);
-
 				if ( isEqual ) {
-					end = i;
-					//checkForEnd = false;
+					continue;
 				}
-				else if ( !isCached( ce.getLoadedKey(), collectionPersister ) ) {
-					keys[i++] = ce.getLoadedKey();
-					//count++;
+				if ( collectionPersister.hasCache() ) {
+					final CacheKey cacheKey = context.getSession().generateCacheKey(
+							ce.getLoadedKey(),
+							collectionPersister.getKeyType(),
+							collectionPersister.getRole()
+					);
+					candidates.put( cacheKey, ce.getLoadedKey() );
 				}
-
-				if ( i == batchSize ) {
-					i = 1; //end of array, start filling again from start
-					if ( end != -1 ) {
-						checkForEnd = true;
-					}
+				else {
+					keys[i++] = ce.getLoadedKey();
 				}
 			}
-
+			// ...then look them all up in the second-level cache at once, keeping the misses
+			if ( !candidates.isEmpty() ) {
+				final Map<Object,Object> cached = collectionPersister.getCacheAccessStrategy().getAll(
+						candidates.keySet(),
+						context.getSession().getTimestamp()
+				);
+				i = addUncached( candidates, cached, keys, i );
+				candidates.clear();
+			}
 		}
-		return keys; //we ran out of keys to try
+		return keys;
 	}
 
 	/**
-	 * Get a batch of unloaded identifiers for this class, using a slightly
-	 * complex algorithm that tries to grab keys registered immediately after
-	 * the given key.
+	 * Get a batch of unloaded identifiers for this class, in the order in
+	 * which they were registered.  Keys registered for subclasses of the
+	 * given persister's entity are included as well, since the persister's
+	 * loader is able to load those too.  Only keys of the entity's own
+	 * hierarchy are visited, so the cost is proportional to the batch size
+	 * rather than to the number of keys queued.  Identifiers of entities
+	 * held in the second-level cache are left out; they are looked up in
+	 * bulk rather than one at a time.  The entries found are not kept: the
+	 * cache is read again when the entities get loaded, since it may have
+	 * been invalidated in the meantime.
 	 *
 	 * @param persister The persister for the entities being loaded.
 	 * @param id The identifier of the entity currently demanding load.
@@ -234,55 +320,70 @@ public class BatchFetchQueue {
 		Serializable[] ids = new Serializable[batchSize];
 		ids[0] = id; //first element of array is reserved for the actual instance we are loading!
 		int i = 1;
-		int end = -1;
-		boolean checkForEnd = false;
 
-		Iterator iter = batchLoadableEntityKeys.keySet().iterator();
-		while ( iter.hasNext() ) {
-			EntityKey key = (EntityKey) iter.next();
-			if ( key.getEntityName().equals( persister.getEntityName() ) ) { //TODO: this needn't exclude subclasses...
-				if ( checkForEnd && i == end ) {
-					//the first id found after the given id
-					return ids;
+		final LinkedHashSet<EntityKey> keysForHierarchy = batchLoadableEntityKeys.get( persister.getRootEntityName() );
+		if ( keysForHierarchy == null ) {
+			return ids;
+		}
+
+		final Map<CacheKey,Serializable> candidates = new LinkedHashMap<CacheKey,Serializable>();
+		final Iterator<EntityKey> iter = keysForHierarchy.iterator();
+		while ( iter.hasNext() && i < batchSize ) {
+			// gather as many candidates as there are free slots left in the batch...
+			while ( iter.hasNext() && i + candidates.size() < batchSize ) {
+				final EntityKey key = iter.next();
+				// a superclass or sibling key might not resolve to an instance of this entity
+				if ( !persister.isSubclassEntityName( key.getEntityName() ) ) {
+					continue;
 				}
 				if ( persister.getIdentifierType().isEqual( id, key.getIdentifier(), entityMode ) ) {
-					end = i;
+					continue;
 				}
-				else {
-					if ( !isCached( key, persister ) ) {
-						ids[i++] = key.getIdentifier();
-					}
+				if ( persister.hasCache() ) {
+					final CacheKey cacheKey = context.getSession().generateCacheKey(
+							key.getIdentifier(),
+							persister.getIdentifierType(),
+							persister.getRootEntityName()
+					);
+					candidates.put( cacheKey, key.getIdentifier() );
 				}
-				if ( i == batchSize ) {
-					i = 1; //end of array, start filling again from start
-					if (end!=-1) checkForEnd = true;
+				else {
+					ids[i++] = key.getIdentifier();
 				}
 			}
+			// ...then look them all up in the second-level cache at once, keeping the misses
+			if ( !candidates.isEmpty() ) {
+				final Map<Object,Object> cached = persister.getCacheAccessStrategy().getAll(
+						candidates.keySet(),
+						context.getSession().getTimestamp()
+				);
+				i = addUncached( candidates, cached, ids, i );
+				candidates.clear();
+			}
 		}
-		return ids; //we ran out of ids to try
-	}
-
-	private boolean isCached(EntityKey entityKey, EntityPersister persister) {
-		if ( persister.hasCache() ) {
-			CacheKey key = context.getSession().generateCacheKey(
-					entityKey.getIdentifier(),
-					persister.getIdentifierType(),
-					entityKey.getEntityName()
-			);
-			return persister.getCacheAccessStrategy().get( key, context.getSession().getTimestamp() ) != null;
-		}
-		return false;
+		return ids;
 	}
 
-	private boolean isCached(Serializable collectionKey, CollectionPersister persister) {
-		if ( persister.hasCache() ) {
-			CacheKey cacheKey = context.getSession().generateCacheKey(
-					collectionKey,
-			        persister.getKeyType(),
-			        persister.getRole()
-			);
-			return persister.getCacheAccessStrategy().get( cacheKey, context.getSession().getTimestamp() ) != null;
+	/**
+	 * Append to the batch the keys of those candidates which were not found
+	 * in the second-level cache; there is no point in fetching the others.
+	 *
+	 * @param candidates The candidate keys, by their cache key
+	 * @param cached The cache hits among the candidates, by cache key
+	 * @param batch The batch being built
+	 * @param size The number of keys already in the batch
+	 * @return The number of keys in the batch afterwards
+	 */
+	private static int addUncached(
+			Map<CacheKey,Serializable> candidates,
+			Map<Object,Object> cached,
+			Serializable[] batch,
+			int size) {
+		for ( Map.Entry<CacheKey,Serializable> candidate : candidates.entrySet() ) {
+			if ( !cached.containsKey( candidate.getKey() ) ) {
+				batch[size++] = candidate.getValue();
+			}
 		}
-		return false;
+		return size;
 	}
 }
@@ -785,6 +785,9 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	public void addUninitializedCollection(CollectionPersister persister, PersistentCollection collection, Serializable id) {
 		CollectionEntry ce = new CollectionEntry(collection, persister, id, flushing);
 		addCollection(collection, ce, id);
+		if ( persister.isBatchLoadable() ) {
+			getBatchFetchQueue().addBatchLoadableCollection( collection, ce );
+		}
 	}
 
 	/**
@@ -793,6 +796,9 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	public void addUninitializedDetachedCollection(CollectionPersister persister, PersistentCollection collection) {
 		CollectionEntry ce = new CollectionEntry( persister, collection.getKey() );
 		addCollection( collection, ce, collection.getKey() );
+		if ( persister.isBatchLoadable() ) {
+			getBatchFetchQueue().addBatchLoadableCollection( collection, ce );
+		}
 	}
 
 	/**
@@ -822,7 +828,10 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			}
 			// or should it actually throw an exception?
 			old.unsetSession( session );
-			collectionEntries.remove( old );
+			CollectionEntry oldEntry = ( CollectionEntry ) collectionEntries.remove( old );
+			if ( oldEntry != null && batchFetchQueue != null ) {
+				batchFetchQueue.removeBatchLoadableCollection( oldEntry );
+			}
 			// watch out for a case where old is still referenced
 			// somewhere in the object graph! (which is a user error)
 		}
@@ -1594,6 +1603,9 @@ public class StatefulPersistenceContext implements PersistenceContext {
 				final CollectionEntry ce = CollectionEntry.deserialize( ois, session );
 				pc.setCurrentSession( session );
 				rtn.collectionEntries.put( pc, ce );
+				if ( !pc.wasInitialized() && ce.getLoadedPersister() != null ) {
+					rtn.getBatchFetchQueue().addBatchLoadableCollection( pc, ce );
+				}
 			}
 
 			count = ois.readInt();
@@ -71,6 +71,16 @@ public abstract class AbstractBatchImpl implements Batch {
 	 */
 	protected abstract void doExecuteBatch();
 
+	/**
+	 * Whether statements detached from this batch are still being executed, in which case an explicit
+	 * {@link #execute() execution} must wait for them even with no statement left in the batch.
+	 *
+	 * @return True if executions are pending.
+	 */
+	protected boolean isExecutionPending() {
+		return false;
+	}
+
 	/**
 	 * Convenience access to the SQLException helper.
 	 *
@@ -151,7 +161,7 @@ public abstract class AbstractBatchImpl implements Batch {
 	@Override
 	public final void execute() {
 		notifyObserversExplicitExecution();
-		if ( statements.isEmpty() ) {
+		if ( statements.isEmpty() && !isExecutionPending() ) {
 			return;
 		}
 		try {
@@ -198,6 +208,18 @@ public abstract class AbstractBatchImpl implements Batch {
 		}
 	}
 
+	/**
+	 * Convenience method to notify registered observers that the batched statements were executed.
+	 *
+	 * @param rowCount The number of rows executed
+	 * @param elapsedNanos The execution time, in nanoseconds
+	 */
+	protected final void notifyObserversBatchExecuted(int rowCount, long elapsedNanos) {
+		for ( BatchObserver observer : observers ) {
+			observer.batchExecuted( rowCount, elapsedNanos );
+		}
+	}
+
 	@Override
 	public void release() {
         if (getStatements() != null && !getStatements().isEmpty()) LOG.batchContainedStatementsOnRelease();
@@ -0,0 +1,99 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import org.hibernate.engine.jdbc.batch.spi.BatchObserver;
+
+/**
+ * Chooses the size of the batches for one {@link org.hibernate.engine.jdbc.batch.spi.BatchKey}, adapting it to the
+ * execution times observed for that key.
+ * <p/>
+ * Sizing is a simple hill climb on the execution time per row: after each full batch the size is doubled or halved,
+ * and the direction is reversed whenever the last step made the time per row noticeably worse, or a bound is
+ * reached.  Cheap narrow rows thus drift towards large batches, while wide rows (LOBs for instance) settle on smaller
+ * ones.  Sizes stay between 1 and the given maximum.
+ * <p/>
+ * A sizer is shared by all sessions of a factory, hence thread-safe.
+ */
+public class AdaptiveBatchSizer implements BatchObserver {
+	/**
+	 * Relative change of the time per row below which a difference is considered noise.
+	 */
+	private static final double TOLERANCE = 0.1;
+
+	private final int maxBatchSize;
+	private volatile int batchSize;
+
+	// guarded by this
+	private boolean growing = true;
+	private double lastNanosPerRow = -1;
+
+	public AdaptiveBatchSizer(int initialBatchSize, int maxBatchSize) {
+		if ( initialBatchSize < 1 || maxBatchSize < initialBatchSize ) {
+			throw new IllegalArgumentException(
+					"Invalid batch sizes [initial=" + initialBatchSize + ", max=" + maxBatchSize + "]"
+			);
+		}
+		this.batchSize = initialBatchSize;
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	/**
+	 * The number of rows to group into the next batch.
+	 *
+	 * @return The current batch size
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	@Override
+	public void batchExplicitlyExecuted() {
+	}
+
+	@Override
+	public void batchImplicitlyExecuted() {
+	}
+
+	@Override
+	public synchronized void batchExecuted(int rowCount, long elapsedNanos) {
+		if ( rowCount < batchSize ) {
+			// a partial batch (typically the tail of a flush) says little about the current size
+			return;
+		}
+		final double nanosPerRow = (double) elapsedNanos / rowCount;
+		if ( lastNanosPerRow >= 0 && nanosPerRow > lastNanosPerRow * ( 1 + TOLERANCE ) ) {
+			// the last step made things worse
+			growing = !growing;
+		}
+		else if ( growing ? batchSize >= maxBatchSize : batchSize <= 1 ) {
+			// at a bound; probe the other way
+			growing = !growing;
+		}
+		lastNanosPerRow = nanosPerRow;
+		batchSize = growing
+				? Math.min( batchSize * 2, maxBatchSize )
+				: Math.max( batchSize / 2, 1 );
+	}
+}
@@ -24,6 +24,12 @@
 package org.hibernate.engine.jdbc.batch.internal;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.cfg.Environment;
@@ -33,6 +39,7 @@ import org.hibernate.engine.jdbc.batch.spi.BatchKey;
 import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
 import org.hibernate.internal.util.config.ConfigurationHelper;
 import org.hibernate.service.spi.Configurable;
+import org.hibernate.service.spi.Stoppable;
 import org.jboss.logging.Logger;
 
 /**
@@ -40,11 +47,15 @@ import org.jboss.logging.Logger;
  *
  * @author Steve Ebersole
  */
-public class BatchBuilderImpl implements BatchBuilder, Configurable {
+public class BatchBuilderImpl implements BatchBuilder, Configurable, Stoppable {
 
     private static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class, BatchBuilderImpl.class.getName());
 
 	private int size;
+	private boolean adaptive;
+	private int maxSize;
+	private final ConcurrentMap<BatchKey,AdaptiveBatchSizer> sizers = new ConcurrentHashMap<BatchKey,AdaptiveBatchSizer>();
+	private ExecutorService executor;
 
 	public BatchBuilderImpl() {
 	}
@@ -52,6 +63,9 @@ public class BatchBuilderImpl implements BatchBuilder, Configurable {
 	@Override
 	public void configure(Map configurationValues) {
 		size = ConfigurationHelper.getInt( Environment.STATEMENT_BATCH_SIZE, configurationValues, size );
+		adaptive = ConfigurationHelper.getBoolean( Environment.STATEMENT_BATCH_SIZE_ADAPTIVE, configurationValues, false );
+		maxSize = Math.max( size, ConfigurationHelper.getInt( Environment.STATEMENT_BATCH_SIZE_MAX, configurationValues, size ) );
+		setPipelinedExecution( ConfigurationHelper.getBoolean( Environment.PIPELINED_FLUSH, configurationValues, false ) );
 	}
 
 	public BatchBuilderImpl(int size) {
@@ -62,14 +76,66 @@ public class BatchBuilderImpl implements BatchBuilder, Configurable {
 		this.size = size;
 	}
 
+	/**
+	 * Should full batches be executed in the background while the next ones are being filled?
+	 *
+	 * @param pipelined Whether to pipeline batch executions
+	 */
+	public synchronized void setPipelinedExecution(boolean pipelined) {
+		if ( pipelined && executor == null ) {
+			executor = Executors.newCachedThreadPool( new BatchExecutionThreadFactory() );
+		}
+		else if ( !pipelined && executor != null ) {
+			executor.shutdown();
+			executor = null;
+		}
+	}
+
+	@Override
+	public void stop() {
+		setPipelinedExecution( false );
+	}
+
 	@Override
 	public Batch buildBatch(BatchKey key, JdbcCoordinator jdbcCoordinator) {
+		final ExecutorService executor;
+		synchronized ( this ) {
+			executor = this.executor;
+		}
+		if ( size > 1 && adaptive ) {
+			final AdaptiveBatchSizer sizer = getSizer( key );
+	        LOG.tracef( "Building adaptive batch [size=%s]", sizer.getBatchSize() );
+			return new BatchingBatch( key, jdbcCoordinator, size, sizer, executor );
+		}
         LOG.tracef("Building batch [size=%s]", size);
 		return size > 1
-				? new BatchingBatch( key, jdbcCoordinator, size )
+				? new BatchingBatch( key, jdbcCoordinator, size, null, executor )
 				: new NonBatchingBatch( key, jdbcCoordinator );
 	}
 
+	private AdaptiveBatchSizer getSizer(BatchKey key) {
+		AdaptiveBatchSizer sizer = sizers.get( key );
+		if ( sizer == null ) {
+			sizer = new AdaptiveBatchSizer( size, maxSize );
+			final AdaptiveBatchSizer existing = sizers.putIfAbsent( key, sizer );
+			if ( existing != null ) {
+				sizer = existing;
+			}
+		}
+		return sizer;
+	}
+
+	private static class BatchExecutionThreadFactory implements ThreadFactory {
+		private final AtomicInteger threadNumber = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			final Thread thread = new Thread( runnable, "Hibernate batch execution " + threadNumber.incrementAndGet() );
+			thread.setDaemon( true );
+			return thread;
+		}
+	}
+
 	@Override
 	public String getManagementDomain() {
 		return null; // use Hibernate default domain
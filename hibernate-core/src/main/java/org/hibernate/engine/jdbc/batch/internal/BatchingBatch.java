@@ -24,7 +24,12 @@
 package org.hibernate.engine.jdbc.batch.internal;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import org.hibernate.HibernateException;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.engine.jdbc.batch.spi.BatchKey;
@@ -35,6 +40,10 @@ import org.jboss.logging.Logger;
 /**
  * A {@link org.hibernate.engine.jdbc.batch.spi.Batch} implementation which does bathing based on a given size.  Once
  * the batch size is reached for a statement in the batch, the entire batch is implicitly executed.
+ * <p/>
+ * When given an {@link Executor}, implicit executions are pipelined: the filled statements are handed over to the
+ * executor, one batch at a time and in order, while the caller goes on filling new statements.  Explicit
+ * {@link #execute() execution} waits for all of them to complete, and reports their failures.
  *
  * @author Steve Ebersole
  */
@@ -44,19 +53,73 @@ public class BatchingBatch extends AbstractBatchImpl {
 
 	// IMPL NOTE : Until HHH-5797 is fixed, there will only be 1 statement in a batch
 
-	private final int batchSize;
+	/**
+	 * The number of implicit executions which may be in progress before filling new statements blocks; bounds the
+	 * number of open statements.
+	 */
+	private static final int MAX_PENDING_EXECUTIONS = 4;
+
+	private final AdaptiveBatchSizer sizer;
+	private final Executor executor;
+	private int batchSize;
 	private int batchPosition;
 	private int statementPosition;
 
+	// statements handed over to the executor, closed once executed; only accessed by the owning thread
+	private final List<PreparedStatement> pendingStatements = new ArrayList<PreparedStatement>();
+
+	// pipelined executions; guarded by the list
+	private final LinkedList<Runnable> pendingExecutions = new LinkedList<Runnable>();
+	private boolean executing;
+	private RuntimeException executionFailure;
+
 	public BatchingBatch(
 			BatchKey key,
 			JdbcCoordinator jdbcCoordinator,
 			int batchSize) {
+		this( key, jdbcCoordinator, batchSize, null, null );
+	}
+
+	/**
+	 * Constructs a batch whose size is chosen, and adjusted after each execution, by the given sizer.
+	 *
+	 * @param key The batch key
+	 * @param jdbcCoordinator The JDBC coordinator
+	 * @param sizer The sizer of batches for the key
+	 */
+	public BatchingBatch(
+			BatchKey key,
+			JdbcCoordinator jdbcCoordinator,
+			AdaptiveBatchSizer sizer) {
+		this( key, jdbcCoordinator, sizer.getBatchSize(), sizer, null );
+	}
+
+	/**
+	 * Constructs a batch, optionally sized by the given sizer, and optionally pipelining its implicit executions
+	 * through the given executor.
+	 *
+	 * @param key The batch key
+	 * @param jdbcCoordinator The JDBC coordinator
+	 * @param batchSize The batch size, ignored when a sizer is given
+	 * @param sizer The sizer of batches for the key, or <tt>null</tt>
+	 * @param executor The executor of implicit executions, or <tt>null</tt> to execute them synchronously
+	 */
+	public BatchingBatch(
+			BatchKey key,
+			JdbcCoordinator jdbcCoordinator,
+			int batchSize,
+			AdaptiveBatchSizer sizer,
+			Executor executor) {
 		super( key, jdbcCoordinator );
 		if ( ! key.getExpectation().canBeBatched() ) {
 			throw new HibernateException( "attempting to batch an operation which cannot be batched" );
 		}
-		this.batchSize = batchSize;
+		this.sizer = sizer;
+		this.executor = executor;
+		this.batchSize = sizer == null ? batchSize : sizer.getBatchSize();
+		if ( sizer != null ) {
+			addObserver( sizer );
+		}
 	}
 
 	private String currentStatementSql;
@@ -81,15 +144,25 @@ public class BatchingBatch extends AbstractBatchImpl {
 		statementPosition++;
 		if ( statementPosition >= getKey().getBatchedStatementCount() ) {
 			batchPosition++;
-			if ( batchPosition == batchSize ) {
+			if ( batchPosition >= batchSize ) {
 				notifyObserversImplicitExecution();
-				performExecution();
+				if ( executor == null ) {
+					performExecution();
+				}
+				else {
+					handOverExecution();
+				}
 				batchPosition = 0;
 			}
 			statementPosition = 0;
 		}
 	}
 
+	@Override
+	protected boolean isExecutionPending() {
+		return !pendingStatements.isEmpty();
+	}
+
 	@Override
 	protected void doExecuteBatch() {
 		if ( batchPosition == 0 ) {
@@ -97,35 +170,184 @@ public class BatchingBatch extends AbstractBatchImpl {
 		}
 		else {
 			LOG.debugf( "Executing batch size: %s", batchPosition );
-			performExecution();
+			if ( executor == null ) {
+				performExecution();
+			}
+			else {
+				handOverExecution();
+			}
 		}
+		awaitPendingExecutions();
+	}
+
+	@Override
+	public void release() {
+		try {
+			awaitPendingExecutions();
+		}
+		catch ( RuntimeException e ) {
+			LOG.debug( "Pending batch execution failed on release", e );
+		}
+		super.release();
 	}
 
 	private void performExecution() {
 		try {
-			for ( Map.Entry<String,PreparedStatement> entry : getStatements().entrySet() ) {
+			performExecution( getStatements(), batchPosition );
+			if ( sizer != null ) {
+				batchSize = sizer.getBatchSize();
+			}
+		}
+		finally {
+			batchPosition = 0;
+		}
+	}
+
+	private void performExecution(Map<String,PreparedStatement> statements, int rowCount) {
+		try {
+			final long start = System.nanoTime();
+			for ( Map.Entry<String,PreparedStatement> entry : statements.entrySet() ) {
 				try {
 					final PreparedStatement statement = entry.getValue();
-					checkRowCounts( statement.executeBatch(), statement );
+					checkRowCounts( statement.executeBatch(), statement, rowCount );
 				}
 				catch ( SQLException e ) {
 		            LOG.debugf( "SQLException escaped proxy", e );
 					throw sqlExceptionHelper().convert( e, "could not perform addBatch", entry.getKey() );
 				}
 			}
+			notifyObserversBatchExecuted( rowCount, System.nanoTime() - start );
 		}
 		catch ( RuntimeException re ) {
 			LOG.unableToExecuteBatch( re.getMessage() );
 			throw re;
 		}
-		finally {
-			batchPosition = 0;
+	}
+
+	/**
+	 * Hands the filled statements over to the executor, to be executed after any previously handed over ones.  The
+	 * statements are detached from the batch, so that the next rows are added to new statements.
+	 */
+	private void handOverExecution() {
+		final Map<String,PreparedStatement> statements = new LinkedHashMap<String,PreparedStatement>( getStatements() );
+		final int rowCount = batchPosition;
+		getStatements().clear();
+		batchPosition = 0;
+
+		synchronized ( pendingExecutions ) {
+			while ( executing && pendingExecutions.size() >= MAX_PENDING_EXECUTIONS - 1 ) {
+				waitForExecutions();
+			}
+			pendingStatements.addAll( statements.values() );
+			pendingExecutions.add(
+					new Runnable() {
+						@Override
+						public void run() {
+							performExecution( statements, rowCount );
+						}
+					}
+			);
+			if ( !executing ) {
+				executing = true;
+				executor.execute( new PipelinedExecutions() );
+			}
+		}
+	}
+
+	/**
+	 * Waits for all handed over executions, closes their statements and rethrows the first failure, if any.
+	 */
+	private void awaitPendingExecutions() {
+		if ( pendingStatements.isEmpty() ) {
+			return;
+		}
+		final RuntimeException failure;
+		synchronized ( pendingExecutions ) {
+			while ( executing ) {
+				waitForExecutions();
+			}
+			failure = executionFailure;
+			executionFailure = null;
+		}
+		for ( PreparedStatement statement : pendingStatements ) {
+			try {
+				statement.close();
+			}
+			catch ( SQLException e ) {
+				LOG.unableToReleaseBatchStatement();
+				LOG.sqlExceptionEscapedProxy( e );
+			}
+		}
+		pendingStatements.clear();
+		if ( sizer != null ) {
+			batchSize = sizer.getBatchSize();
+		}
+		if ( failure != null ) {
+			throw failure;
+		}
+	}
+
+	private void waitForExecutions() {
+		try {
+			pendingExecutions.wait();
+		}
+		catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			throw new HibernateException( "Interrupted while waiting for batch execution", e );
+		}
+	}
+
+	/**
+	 * Runs the handed over executions one after the other, skipping the remaining ones after a failure.
+	 */
+	private class PipelinedExecutions implements Runnable {
+		@Override
+		public void run() {
+			boolean completed = false;
+			try {
+				Runnable execution;
+				while ( ( execution = nextExecution() ) != null ) {
+					try {
+						execution.run();
+					}
+					catch ( RuntimeException e ) {
+						synchronized ( pendingExecutions ) {
+							executionFailure = e;
+							pendingExecutions.clear();
+						}
+					}
+				}
+				completed = true;
+			}
+			finally {
+				if ( !completed ) {
+					synchronized ( pendingExecutions ) {
+						if ( executionFailure == null ) {
+							executionFailure = new HibernateException( "Batch execution failed" );
+						}
+						pendingExecutions.clear();
+						executing = false;
+						pendingExecutions.notifyAll();
+					}
+				}
+			}
+		}
+
+		private Runnable nextExecution() {
+			synchronized ( pendingExecutions ) {
+				pendingExecutions.notifyAll();
+				final Runnable execution = pendingExecutions.poll();
+				if ( execution == null ) {
+					executing = false;
+				}
+				return execution;
+			}
 		}
 	}
 
-	private void checkRowCounts(int[] rowCounts, PreparedStatement ps) throws SQLException, HibernateException {
+	private void checkRowCounts(int[] rowCounts, PreparedStatement ps, int rowCount) throws SQLException, HibernateException {
 		int numberOfRowCounts = rowCounts.length;
-		if ( numberOfRowCounts != batchPosition ) {
+		if ( numberOfRowCounts != rowCount ) {
             LOG.unexpectedRowCounts();
 		}
 		for ( int i = 0; i < numberOfRowCounts; i++ ) {
@@ -53,7 +53,9 @@ public class NonBatchingBatch extends AbstractBatchImpl {
 		for ( Map.Entry<String,PreparedStatement> entry : getStatements().entrySet() ) {
 			try {
 				final PreparedStatement statement = entry.getValue();
+				final long start = System.nanoTime();
 				final int rowCount = statement.executeUpdate();
+				notifyObserversBatchExecuted( 1, System.nanoTime() - start );
 				getKey().getExpectation().verifyOutcome( rowCount, statement, 0 );
 				try {
 					statement.close();
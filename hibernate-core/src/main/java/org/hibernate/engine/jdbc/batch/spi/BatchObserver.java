@@ -39,4 +39,12 @@ public interface BatchObserver {
 	 * Indicates an implicit execution of the batch.
 	 */
 	public void batchImplicitlyExecuted();
+
+	/**
+	 * Indicates that the statements of the batch were sent to the database.
+	 *
+	 * @param rowCount The number of rows (sets of parameters) sent
+	 * @param elapsedNanos The time taken by the execution, in nanoseconds
+	 */
+	public void batchExecuted(int rowCount, long elapsedNanos);
 }
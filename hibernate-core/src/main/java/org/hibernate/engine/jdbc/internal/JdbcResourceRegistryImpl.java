@@ -23,11 +23,15 @@
  */
 package org.hibernate.engine.jdbc.internal;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import org.hibernate.HibernateException;
@@ -56,8 +60,32 @@ public class JdbcResourceRegistryImpl implements JdbcResourceRegistry {
 
 	private Statement lastQuery;
 
+	// statement cache: idle statements by SQL in least recently used order, and the SQL of those in use
+	private final int statementCacheSize;
+	private final LinkedHashMap<String,CacheableStatement> cachedStatements;
+	private final IdentityHashMap<Statement,CacheableStatement> cacheableStatements;
+
 	public JdbcResourceRegistryImpl(SqlExceptionHelper exceptionHelper) {
+		this( exceptionHelper, 0 );
+	}
+
+	/**
+	 * Constructs a registry keeping up to the given number of released prepared statements open for reuse.
+	 *
+	 * @param exceptionHelper The SQLException helper
+	 * @param statementCacheSize The statement cache size, <tt>0</tt> to not cache statements
+	 */
+	public JdbcResourceRegistryImpl(SqlExceptionHelper exceptionHelper, int statementCacheSize) {
 		this.exceptionHelper = exceptionHelper;
+		this.statementCacheSize = statementCacheSize;
+		if ( statementCacheSize > 0 ) {
+			cachedStatements = new LinkedHashMap<String,CacheableStatement>( 16, 0.75f, true );
+			cacheableStatements = new IdentityHashMap<Statement,CacheableStatement>();
+		}
+		else {
+			cachedStatements = null;
+			cacheableStatements = null;
+		}
 	}
 
 	public void register(Statement statement) {
@@ -241,6 +269,107 @@ public class JdbcResourceRegistryImpl implements JdbcResourceRegistry {
 	public void close() {
         LOG.trace("Closing JDBC container [" + this + "]");
 		cleanup();
+		releaseCachedStatements();
+	}
+
+	public PreparedStatement getCachedStatement(String sql) {
+		if ( cachedStatements == null ) {
+			return null;
+		}
+		final CacheableStatement cached = cachedStatements.remove( sql );
+		if ( cached == null ) {
+			return null;
+		}
+		LOG.tracef( "Reusing cached statement [%s]", sql );
+		cacheableStatements.put( cached.statement, cached );
+		return cached.statement;
+	}
+
+	public void registerCacheable(PreparedStatement statement, String sql) {
+		if ( cacheableStatements == null ) {
+			return;
+		}
+		try {
+			// remember the settings callers may change, so that they can be restored before reuse
+			cacheableStatements.put(
+					statement,
+					new CacheableStatement( statement, sql, statement.getFetchSize(), statement.getFetchDirection() )
+			);
+		}
+		catch ( SQLException sqle ) {
+			LOG.debugf( "Unable to read statement fetch settings, not caching it [%s]", sqle.getMessage() );
+		}
+	}
+
+	public void releaseCachedStatements() {
+		if ( cachedStatements == null ) {
+			return;
+		}
+		cacheableStatements.clear();
+		for ( CacheableStatement cached : cachedStatements.values() ) {
+			closeQuietly( cached.statement );
+		}
+		cachedStatements.clear();
+	}
+
+	/**
+	 * Keeps a released statement for reuse, if it was registered as cacheable and can be reset.
+	 *
+	 * @param statement The physical statement
+	 *
+	 * @return True if the statement was cached; false if it should be closed.
+	 */
+	private boolean cache(Statement statement) {
+		if ( cacheableStatements == null ) {
+			return false;
+		}
+		final CacheableStatement cacheable = cacheableStatements.remove( statement );
+		if ( cacheable == null || cachedStatements.containsKey( cacheable.sql ) ) {
+			return false;
+		}
+		final PreparedStatement preparedStatement = cacheable.statement;
+		try {
+			preparedStatement.clearParameters();
+			preparedStatement.clearBatch();
+			preparedStatement.clearWarnings();
+			if ( preparedStatement.getFetchSize() != cacheable.fetchSize ) {
+				preparedStatement.setFetchSize( cacheable.fetchSize );
+			}
+			if ( preparedStatement.getFetchDirection() != cacheable.fetchDirection ) {
+				preparedStatement.setFetchDirection( cacheable.fetchDirection );
+			}
+		}
+		catch ( SQLException sqle ) {
+			LOG.debugf( "Unable to reset statement for reuse [%s]", sqle.getMessage() );
+			return false;
+		}
+		cachedStatements.put( cacheable.sql, cacheable );
+		if ( cachedStatements.size() > statementCacheSize ) {
+			final Iterator<CacheableStatement> eldest = cachedStatements.values().iterator();
+			closeQuietly( eldest.next().statement );
+			eldest.remove();
+		}
+		return true;
+	}
+
+	/**
+	 * Forgets a released statement which cannot be reset, so that it is never handed out again.
+	 *
+	 * @param statement The physical statement
+	 */
+	private void uncache(Statement statement) {
+		if ( cacheableStatements != null ) {
+			cacheableStatements.remove( statement );
+		}
+	}
+
+	private void closeQuietly(Statement statement) {
+		try {
+			statement.close();
+		}
+		catch( SQLException sqle ) {
+            LOG.debugf("Unable to release statement [%s]", sqle.getMessage());
+		}
 	}
 
 	@SuppressWarnings({ "unchecked" })
@@ -268,12 +397,16 @@ public class JdbcResourceRegistryImpl implements JdbcResourceRegistry {
 			catch( SQLException sqle ) {
 				// there was a problem "cleaning" the prepared statement
                 LOG.debugf("Exception clearing maxRows/queryTimeout [%s]", sqle.getMessage());
+				uncache( statement );
 				return; // EARLY EXIT!!!
 			}
-			statement.close();
 			if ( lastQuery == statement ) {
 				lastQuery = null;
 			}
+			if ( cache( statement ) ) {
+				return;
+			}
+			statement.close();
 		}
 		catch( SQLException sqle ) {
             LOG.debugf("Unable to release statement [%s]", sqle.getMessage());
@@ -297,4 +430,21 @@ public class JdbcResourceRegistryImpl implements JdbcResourceRegistry {
             LOG.debugf("Unable to release result set [%s]", e.getMessage());
 		}
 	}
+
+	/**
+	 * A statement which may be cached once released, along with its SQL and the fetch settings it was prepared with.
+	 */
+	private static class CacheableStatement {
+		private final PreparedStatement statement;
+		private final String sql;
+		private final int fetchSize;
+		private final int fetchDirection;
+
+		private CacheableStatement(PreparedStatement statement, String sql, int fetchSize, int fetchDirection) {
+			this.statement = statement;
+			this.sql = sql;
+			this.fetchSize = fetchSize;
+			this.fetchDirection = fetchDirection;
+		}
+	}
 }
@@ -71,6 +71,7 @@ public class JdbcServicesImpl implements JdbcServices, ServiceRegistryAwareServi
 	private Dialect dialect;
 	private ConnectionProvider connectionProvider;
 	private SqlStatementLogger sqlStatementLogger;
+	private int statementCacheSize;
 	private SqlExceptionHelper sqlExceptionHelper;
 	private ExtractedDatabaseMetaData extractedMetaDataSupport;
 	private LobCreatorBuilder lobCreatorBuilder;
@@ -185,6 +186,7 @@ public class JdbcServicesImpl implements JdbcServices, ServiceRegistryAwareServi
 		);
 
 		this.sqlStatementLogger =  new SqlStatementLogger( showSQL, formatSQL );
+		this.statementCacheSize = ConfigurationHelper.getInt( Environment.STATEMENT_CACHE_SIZE, configValues, 0 );
 		this.sqlExceptionHelper = new SqlExceptionHelper( dialect.buildSQLExceptionConverter() );
 		this.extractedMetaDataSupport = new ExtractedDatabaseMetaDataImpl(
 				metaSupportsScrollable,
@@ -404,6 +406,11 @@ public class JdbcServicesImpl implements JdbcServices, ServiceRegistryAwareServi
 		return sqlStatementLogger;
 	}
 
+	@Override
+	public int getStatementCacheSize() {
+		return statementCacheSize;
+	}
+
 	@Override
 	public SqlExceptionHelper getSqlExceptionHelper() {
 		return sqlExceptionHelper;
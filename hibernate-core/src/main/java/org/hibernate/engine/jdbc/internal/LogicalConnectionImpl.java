@@ -101,7 +101,10 @@ public class LogicalConnectionImpl implements LogicalConnectionImplementor {
 		);
 		this.jdbcServices = jdbcServices;
 		this.jdbcConnectionAccess = jdbcConnectionAccess;
-		this.jdbcResourceRegistry = new JdbcResourceRegistryImpl( getJdbcServices().getSqlExceptionHelper() );
+		this.jdbcResourceRegistry = new JdbcResourceRegistryImpl(
+				getJdbcServices().getSqlExceptionHelper(),
+				getJdbcServices().getStatementCacheSize()
+		);
 		this.observers = observers;
 
 		this.isUserSuppliedConnection = isUserSuppliedConnection;
@@ -314,6 +317,7 @@ public class LogicalConnectionImpl implements LogicalConnectionImplementor {
 		if ( physicalConnection == null ) {
 			return;
 		}
+		jdbcResourceRegistry.releaseCachedStatements();
 		try {
             if ( ! physicalConnection.isClosed() ) {
 				getJdbcServices().getSqlExceptionHelper().logAndClearWarnings( physicalConnection );
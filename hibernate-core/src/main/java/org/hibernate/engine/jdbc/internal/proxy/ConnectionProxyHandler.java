@@ -133,8 +133,25 @@ public class ConnectionProxyHandler
 			return extractPhysicalConnection();
 		}
 
+		if ( "prepareStatement".equals( methodName ) && args.length == 1 ) {
+			final PreparedStatement cachedStatement = getResourceRegistry().getCachedStatement( ( String ) args[0] );
+			if ( cachedStatement != null ) {
+				final Statement wrapped = ProxyBuilder.buildPreparedStatement(
+						( String ) args[0],
+						cachedStatement,
+						this,
+						( Connection ) proxy
+				);
+				postProcessStatement( wrapped );
+				return wrapped;
+			}
+		}
+
 		try {
 			Object result = method.invoke( extractPhysicalConnection(), args );
+			if ( "prepareStatement".equals( methodName ) && args.length == 1 ) {
+				getResourceRegistry().registerCacheable( ( PreparedStatement ) result, ( String ) args[0] );
+			}
 			result = postProcess( result, proxy, method, args );
 
 			return result;
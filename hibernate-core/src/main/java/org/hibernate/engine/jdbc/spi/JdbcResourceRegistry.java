@@ -24,6 +24,7 @@
 package org.hibernate.engine.jdbc.spi;
 
 import java.io.Serializable;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
 
@@ -77,6 +78,31 @@ public interface JdbcResourceRegistry extends Serializable {
 	 */
 	public void releaseResources();
 
+	/**
+	 * Take a statement kept for reuse out of the statement cache, if any.
+	 *
+	 * @param sql The SQL of the statement
+	 *
+	 * @return The physical statement, or <tt>null</tt> if none is available.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#STATEMENT_CACHE_SIZE
+	 */
+	public PreparedStatement getCachedStatement(String sql);
+
+	/**
+	 * Make a newly prepared statement eligible for the statement cache: once released, the statement is kept for
+	 * reuse instead of being closed.  Does nothing if statements are not cached.
+	 *
+	 * @param statement The physical statement
+	 * @param sql The SQL of the statement
+	 */
+	public void registerCacheable(PreparedStatement statement, String sql);
+
+	/**
+	 * Close the statements kept for reuse; to be called before the underlying connection is released.
+	 */
+	public void releaseCachedStatements();
+
 	/**
 	 * Close this registry.  Also {@link #releaseResources releases} any registered resources.
 	 * <p/>
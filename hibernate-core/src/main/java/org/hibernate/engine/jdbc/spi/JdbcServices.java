@@ -60,6 +60,15 @@ public interface JdbcServices extends Service {
 	 */
 	public SqlStatementLogger getSqlStatementLogger();
 
+	/**
+	 * The number of prepared statements kept for reuse by each logical connection.
+	 *
+	 * @return The statement cache size, <tt>0</tt> if statements are not cached.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#STATEMENT_CACHE_SIZE
+	 */
+	public int getStatementCacheSize();
+
 	/**
 	 * Obtain service for dealing with exceptions.
 	 *
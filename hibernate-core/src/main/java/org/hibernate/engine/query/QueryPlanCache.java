@@ -40,6 +40,7 @@ import org.hibernate.engine.SessionFactoryImplementor;
 import org.hibernate.engine.query.sql.NativeSQLQuerySpecification;
 import org.hibernate.internal.FilterImpl;
 import org.hibernate.internal.util.collections.CollectionHelper;
+import org.hibernate.internal.util.collections.ConcurrentLRUCache;
 import org.hibernate.internal.util.collections.SimpleMRUCache;
 import org.hibernate.internal.util.collections.SoftLimitMRUCache;
 import org.hibernate.internal.util.config.ConfigurationHelper;
@@ -48,6 +49,9 @@ import org.jboss.logging.Logger;
 
 /**
  * Acts as a cache for compiled query plans, as well as query-parameter metadata.
+ * <p/>
+ * Lookups are lock-free; hits, misses and evictions are reported to the
+ * {@link org.hibernate.stat.Statistics statistics} when enabled.
  *
  * @see Environment#QUERY_PLAN_CACHE_MAX_STRONG_REFERENCES
  * @see Environment#QUERY_PLAN_CACHE_MAX_SOFT_REFERENCES
@@ -74,7 +78,18 @@ public class QueryPlanCache implements Serializable {
 
 		this.factory = factory;
 		this.sqlParamMetadataCache = new SimpleMRUCache( maxStrongReferenceCount );
-		this.planCache = new SoftLimitMRUCache( maxStrongReferenceCount, maxSoftReferenceCount );
+		this.planCache = new SoftLimitMRUCache(
+				maxStrongReferenceCount,
+				maxSoftReferenceCount,
+				new ConcurrentLRUCache.EvictionListener<Object,Object>() {
+					@Override
+					public void onEviction(Object key, Object value) {
+						if ( QueryPlanCache.this.factory.getStatistics().isStatisticsEnabled() ) {
+							QueryPlanCache.this.factory.getStatisticsImplementor().queryPlanCacheEviction();
+						}
+					}
+				}
+		);
 	}
 
 	/**
@@ -120,9 +135,13 @@ public class QueryPlanCache implements Serializable {
 		if ( plan == null ) {
             LOG.trace("Unable to locate HQL query plan in cache; generating (" + queryString + ")");
 			plan = new HQLQueryPlan(queryString, shallow, enabledFilters, factory );
-        } else LOG.trace("Located HQL query plan in cache (" + queryString + ")");
-
-		planCache.put( key, plan );
+			planCache.put( key, plan );
+			recordMiss();
+		}
+		else {
+			LOG.trace("Located HQL query plan in cache (" + queryString + ")");
+			recordHit();
+		}
 
 		return plan;
 	}
@@ -136,9 +155,13 @@ public class QueryPlanCache implements Serializable {
             LOG.trace("Unable to locate collection-filter query plan in cache; generating (" + collectionRole + " : "
                       + filterString + ")");
 			plan = new FilterQueryPlan( filterString, collectionRole, shallow, enabledFilters, factory );
-        } else LOG.trace("Located collection-filter query plan in cache (" + collectionRole + " : " + filterString + ")");
-
-		planCache.put( key, plan );
+			planCache.put( key, plan );
+			recordMiss();
+		}
+		else {
+			LOG.trace("Located collection-filter query plan in cache (" + collectionRole + " : " + filterString + ")");
+			recordHit();
+		}
 
 		return plan;
 	}
@@ -149,12 +172,29 @@ public class QueryPlanCache implements Serializable {
 		if ( plan == null ) {
             LOG.trace("Unable to locate native-sql query plan in cache; generating (" + spec.getQueryString() + ")");
 			plan = new NativeSQLQueryPlan( spec, factory );
-        } else LOG.trace("Located native-sql query plan in cache (" + spec.getQueryString() + ")");
+			planCache.put( spec, plan );
+			recordMiss();
+		}
+		else {
+			LOG.trace("Located native-sql query plan in cache (" + spec.getQueryString() + ")");
+			recordHit();
+		}
 
-		planCache.put( spec, plan );
 		return plan;
 	}
 
+	private void recordHit() {
+		if ( factory.getStatistics().isStatisticsEnabled() ) {
+			factory.getStatisticsImplementor().queryPlanCacheHit();
+		}
+	}
+
+	private void recordMiss() {
+		if ( factory.getStatistics().isStatisticsEnabled() ) {
+			factory.getStatisticsImplementor().queryPlanCacheMiss();
+		}
+	}
+
 	@SuppressWarnings({ "UnnecessaryUnboxing" })
 	private ParameterMetadata buildNativeSQLParameterMetadata(String sqlString) {
 		ParamLocationRecognizer recognizer = ParamLocationRecognizer.parseLocations( sqlString );
@@ -84,6 +84,20 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 	 * @throws HibernateException Error flushing caches to execution queues.
 	 */
 	protected void flushEverythingToExecutions(FlushEvent event) throws HibernateException {
+		flushEverythingToExecutions( event, false );
+	}
+
+	/**
+	 * Coordinates the processing necessary to get things ready for executions, optionally executing the
+	 * insertions as soon as they are all known, before dirty checking the entities (see
+	 * {@link org.hibernate.cfg.AvailableSettings#PIPELINED_FLUSH}).  When doing so, the caller is responsible
+	 * for delimiting the flush on the JDBC coordinator, as {@link #performExecutions} does.
+	 *
+	 * @param event The flush event.
+	 * @param pipelined Whether to execute the insertions before dirty checking the entities.
+	 * @throws HibernateException Error flushing caches to execution queues.
+	 */
+	protected void flushEverythingToExecutions(FlushEvent event, boolean pipelined) throws HibernateException {
 
         LOG.trace("Flushing session");
 
@@ -101,6 +115,12 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 		// inside this block do not get updated - they
 		// are ignored until the next flush
 
+		if ( pipelined ) {
+			// cascading is over, so all insertions are known: start executing
+			// them, their last JDBC batches then executing while we dirty check
+			session.getActionQueue().executeInsertsPipelined();
+		}
+
 		persistenceContext.setFlushing(true);
 		try {
 			flushEntities(event);
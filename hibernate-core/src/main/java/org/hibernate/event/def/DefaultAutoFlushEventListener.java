@@ -23,12 +23,28 @@
  *
  */
 package org.hibernate.event.def;
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
 import org.hibernate.FlushMode;
 import org.hibernate.HibernateException;
+import org.hibernate.engine.CascadeStyle;
+import org.hibernate.engine.CollectionEntry;
+import org.hibernate.engine.EntityEntry;
+import org.hibernate.engine.PersistenceContext;
+import org.hibernate.engine.SessionFactoryImplementor;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.event.AutoFlushEvent;
 import org.hibernate.event.AutoFlushEventListener;
 import org.hibernate.event.EventSource;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.CollectionType;
+import org.hibernate.type.CompositeType;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
 
 import org.jboss.logging.Logger;
 
@@ -51,6 +67,11 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 	public void onAutoFlush(AutoFlushEvent event) throws HibernateException {
 		final EventSource source = event.getSession();
 		if ( flushMightBeNeeded(source) ) {
+			if ( !flushMightAffectQuery( event, source ) ) {
+				LOG.trace("Query spaces not affected by the persistence context, skipping flush");
+				event.setFlushRequired( false );
+				return;
+			}
 			final int oldSize = source.getActionQueue().numberOfCollectionRemovals();
 			flushEverythingToExecutions(event);
 			if ( flushIsReallyNeeded(event, source) ) {
@@ -84,4 +105,121 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 				( source.getPersistenceContext().getEntityEntries().size() > 0 ||
 						source.getPersistenceContext().getCollectionEntries().size() > 0 );
 	}
+
+	/**
+	 * Cheap check, done before any dirty checking: could a flush write to any of the query
+	 * spaces at all? The spaces a flush can touch are those of the entities and collections
+	 * held by the persistence context plus those of the entities it may cascade to.
+	 */
+	private boolean flushMightAffectQuery(AutoFlushEvent event, EventSource source) {
+		final Set querySpaces = event.getQuerySpaces();
+		if ( source.getFlushMode() == FlushMode.ALWAYS || source.getActionQueue().areTablesToBeUpdated( querySpaces ) ) {
+			return true;
+		}
+		if ( querySpaces.isEmpty() ) {
+			return false;
+		}
+
+		final SessionFactoryImplementor factory = source.getFactory();
+		final PersistenceContext persistenceContext = source.getPersistenceContext();
+		final Set affectedSpaces = new HashSet();
+		final Set visitedEntityNames = new HashSet();
+
+		Iterator itr = persistenceContext.getEntityEntries().values().iterator();
+		while ( itr.hasNext() ) {
+			final EntityPersister persister = ( (EntityEntry) itr.next() ).getPersister();
+			if ( !addEntitySpaces( persister, affectedSpaces, visitedEntityNames, factory ) ) {
+				return true;
+			}
+		}
+		itr = persistenceContext.getCollectionEntries().values().iterator();
+		while ( itr.hasNext() ) {
+			final CollectionPersister persister = ( (CollectionEntry) itr.next() ).getLoadedPersister();
+			if ( persister != null ) {
+				addSpaces( persister.getCollectionSpaces(), affectedSpaces );
+			}
+		}
+
+		itr = querySpaces.iterator();
+		while ( itr.hasNext() ) {
+			if ( affectedSpaces.contains( itr.next() ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Add the spaces a flush of instances of the given entity may write to.
+	 *
+	 * @return false if the spaces cannot be bounded, in which case the query must be assumed affected
+	 */
+	private boolean addEntitySpaces(
+			EntityPersister persister,
+			Set affectedSpaces,
+			Set visitedEntityNames,
+			SessionFactoryImplementor factory) {
+		if ( !visitedEntityNames.add( persister.getEntityName() ) ) {
+			return true;
+		}
+		addSpaces( persister.getPropertySpaces(), affectedSpaces );
+		final Type[] types = persister.getPropertyTypes();
+		final CascadeStyle[] cascadeStyles = persister.getPropertyCascadeStyles();
+		for ( int i = 0; i < types.length; i++ ) {
+			if ( !addTypeSpaces( types[i], cascadeStyles[i], affectedSpaces, visitedEntityNames, factory ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean addTypeSpaces(
+			Type type,
+			CascadeStyle cascadeStyle,
+			Set affectedSpaces,
+			Set visitedEntityNames,
+			SessionFactoryImplementor factory) {
+		if ( type.isCollectionType() ) {
+			final CollectionPersister persister = factory.getCollectionPersister( ( (CollectionType) type ).getRole() );
+			addSpaces( persister.getCollectionSpaces(), affectedSpaces );
+			return addTypeSpaces( persister.getElementType(), cascadeStyle, affectedSpaces, visitedEntityNames, factory );
+		}
+		else if ( type.isAnyType() ) {
+			// cascading through an <any> association may reach any entity
+			return cascadeStyle == CascadeStyle.NONE;
+		}
+		else if ( type.isComponentType() ) {
+			final CompositeType componentType = (CompositeType) type;
+			final Type[] subtypes = componentType.getSubtypes();
+			for ( int i = 0; i < subtypes.length; i++ ) {
+				if ( !addTypeSpaces( subtypes[i], componentType.getCascadeStyle( i ), affectedSpaces, visitedEntityNames, factory ) ) {
+					return false;
+				}
+			}
+			return true;
+		}
+		else if ( cascadeStyle == CascadeStyle.NONE || !type.isEntityType() ) {
+			return true;
+		}
+		else {
+			// a cascade may reach instances of any subclass of the associated entity
+			final EntityPersister persister = factory.getEntityPersister(
+					( (EntityType) type ).getAssociatedEntityName( factory )
+			);
+			final Iterator subclasses = persister.getEntityMetamodel().getSubclassEntityNames().iterator();
+			while ( subclasses.hasNext() ) {
+				final EntityPersister subclassPersister = factory.getEntityPersister( (String) subclasses.next() );
+				if ( !addEntitySpaces( subclassPersister, affectedSpaces, visitedEntityNames, factory ) ) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	private static void addSpaces(Serializable[] spaces, Set affectedSpaces) {
+		for ( int i = 0; i < spaces.length; i++ ) {
+			affectedSpaces.add( spaces[i] );
+		}
+	}
 }
@@ -24,6 +24,7 @@
 package org.hibernate.event.def;
 
 import java.io.Serializable;
+import java.util.Set;
 
 import org.jboss.logging.Logger;
 
@@ -47,6 +48,7 @@ import org.hibernate.event.FlushEntityEventListener;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.pretty.MessageHelper;
+import org.hibernate.tuple.entity.EntityMetamodel;
 import org.hibernate.type.Type;
 
 /**
@@ -484,7 +486,12 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 			cannotDirtyCheck = loadedState==null; // object loaded by update()
 			if ( !cannotDirtyCheck ) {
 				// dirty check against the usual snapshot of the entity
-				dirtyProperties = persister.findDirty( values, loadedState, entity, session );
+				final boolean[] propertiesToCheck = entry.getStatus() == Status.DELETED
+						? null
+						: getPropertiesToCheck( entity, persister );
+				dirtyProperties = propertiesToCheck == null
+						? persister.findDirty( values, loadedState, entity, session )
+						: persister.findDirty( values, loadedState, propertiesToCheck, entity, session );
 			}
 			else if ( entry.getStatus() == Status.DELETED && ! event.getEntityEntry().isModifiableEntity() ) {
 				// A non-modifiable (e.g., read-only or immutable) entity needs to be have
@@ -531,6 +538,37 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 
 	}
 
+	/**
+	 * For an entity instrumented to track field writes, determine the properties which might have changed since
+	 * the loaded state was taken: the ones written to, plus those of a mutable type.
+	 *
+	 * @return The properties to dirty check, or null if all of them need checking.
+	 */
+	private boolean[] getPropertiesToCheck(Object entity, EntityPersister persister) {
+		if ( !FieldInterceptionHelper.isInstrumented( entity ) ) {
+			return null;
+		}
+		final Set<String> dirtyFields = FieldInterceptionHelper.extractFieldInterceptor( entity ).getDirtyFields();
+		final EntityMetamodel entityMetamodel = persister.getEntityMetamodel();
+		if ( dirtyFields == null || entityMetamodel == null ) {
+			return null;
+		}
+
+		final boolean[] propertiesToCheck = entityMetamodel.getMutablePropertyCheckability().clone();
+		final String identifierName = entityMetamodel.getIdentifierProperty().getName();
+		for ( String field : dirtyFields ) {
+			final Integer index = entityMetamodel.getPropertyIndexOrNull( field );
+			if ( index != null ) {
+				propertiesToCheck[index] = true;
+			}
+			else if ( !field.equals( identifierName ) ) {
+				// not a field backing a property (changes to the id are caught by checkId())
+				return null;
+			}
+		}
+		return propertiesToCheck;
+	}
+
 	private void logDirtyProperties(Serializable id, int[] dirtyProperties, EntityPersister persister) {
         if (LOG.isTraceEnabled() && dirtyProperties != null && dirtyProperties.length > 0) {
 			final String[] allPropertyNames = persister.getPropertyNames();
@@ -24,6 +24,7 @@
  */
 package org.hibernate.event.def;
 import org.hibernate.HibernateException;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
 import org.hibernate.event.EventSource;
 import org.hibernate.event.FlushEvent;
 import org.hibernate.event.FlushEventListener;
@@ -46,8 +47,27 @@ public class DefaultFlushEventListener extends AbstractFlushingEventListener imp
 		if ( source.getPersistenceContext().getEntityEntries().size() > 0 ||
 				source.getPersistenceContext().getCollectionEntries().size() > 0 ) {
 
-			flushEverythingToExecutions(event);
-			performExecutions(source);
+			if ( source.getFactory().getSettings().isPipelinedFlushEnabled() ) {
+				final JdbcCoordinator jdbcCoordinator = source.getTransactionCoordinator().getJdbcCoordinator();
+				jdbcCoordinator.flushBeginning();
+				try {
+					flushEverythingToExecutions( event, true );
+					performExecutions( source );
+				}
+				catch ( RuntimeException e ) {
+					// insert batches may still be executing in the background: wait for them, so
+					// that the connection is no longer in use once the caller rolls back or closes
+					jdbcCoordinator.abortBatch();
+					throw e;
+				}
+				finally {
+					jdbcCoordinator.flushEnding();
+				}
+			}
+			else {
+				flushEverythingToExecutions(event);
+				performExecutions(source);
+			}
 			postFlush(source);
 		
 			if ( source.getFactory().getStatistics().isStatisticsEnabled() ) {
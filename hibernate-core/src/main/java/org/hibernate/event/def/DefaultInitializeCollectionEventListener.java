@@ -139,7 +139,9 @@ public class DefaultInitializeCollectionEventListener implements InitializeColle
 
 		final PersistenceContext persistenceContext = source.getPersistenceContext();
         cacheEntry.assemble(collection, persister, persistenceContext.getCollectionOwner(id, persister));
-        persistenceContext.getCollectionEntry(collection).postInitialize(collection);
+        CollectionEntry collectionEntry = persistenceContext.getCollectionEntry( collection );
+        collectionEntry.postInitialize( collection );
+        persistenceContext.getBatchFetchQueue().removeBatchLoadableCollection( collectionEntry );
         // addInitializedCollection(collection, persister, id);
         return true;
 	}
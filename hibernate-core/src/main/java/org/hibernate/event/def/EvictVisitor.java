@@ -75,6 +75,7 @@ public class EvictVisitor extends AbstractVisitor {
 
 	private void evictCollection(PersistentCollection collection) {
 		CollectionEntry ce = (CollectionEntry) getSession().getPersistenceContext().getCollectionEntries().remove(collection);
+		getSession().getPersistenceContext().getBatchFetchQueue().removeBatchLoadableCollection( ce );
         if (LOG.isDebugEnabled()) LOG.debugf("Evicting collection: %s",
                                              MessageHelper.collectionInfoString(ce.getLoadedPersister(),
                                                                                 ce.getLoadedKey(),
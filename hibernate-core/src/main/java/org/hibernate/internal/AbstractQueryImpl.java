@@ -48,6 +48,7 @@ import org.hibernate.NonUniqueResultException;
 import org.hibernate.PropertyNotFoundException;
 import org.hibernate.Query;
 import org.hibernate.QueryException;
+import org.hibernate.ScrollMode;
 import org.hibernate.Session;
 import org.hibernate.engine.QueryParameters;
 import org.hibernate.engine.RowSelection;
@@ -886,6 +887,19 @@ public abstract class AbstractQueryImpl implements Query {
 
 	// Execution methods ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
+	public Iterator stream(int evictionInterval) throws HibernateException {
+		return stream( evictionInterval, false );
+	}
+
+	public Iterator stream(int interval, boolean clear) throws HibernateException {
+		return new ScrollableResultsIterator(
+				scroll( ScrollMode.FORWARD_ONLY ),
+				Session.class.isInstance( session ) ? (Session) session : null,
+				interval,
+				clear
+		);
+	}
+
 	public Object uniqueResult() throws HibernateException {
 		return uniqueElement( list() );
 	}
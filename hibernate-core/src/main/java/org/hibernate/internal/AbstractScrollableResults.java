@@ -30,16 +30,26 @@ import java.sql.Clob;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
+import java.util.NoSuchElementException;
 import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 import org.jboss.logging.Logger;
 
 import org.hibernate.HibernateException;
 import org.hibernate.MappingException;
 import org.hibernate.ScrollableResults;
+import org.hibernate.StatelessSession;
 import org.hibernate.engine.QueryParameters;
 import org.hibernate.engine.SessionImplementor;
 import org.hibernate.hql.HolderInstantiator;
@@ -286,4 +296,163 @@ public abstract class AbstractScrollableResults implements ScrollableResults {
 	protected void afterScrollOperation() {
 		session.afterScrollOperation();
 	}
+
+	public Iterator<List> chunks(int chunkSize, Executor executor) throws HibernateException {
+		if ( chunkSize < 1 ) {
+			throw new IllegalArgumentException( "Chunk size must be positive : " + chunkSize );
+		}
+		if ( executor != null
+				&& !StatelessSession.class.isInstance( session )
+				&& !queryParameters.isReadOnly( session ) ) {
+			throw new HibernateException(
+					"Parallel transformation of scrolled results requires a StatelessSession or a read-only query"
+			);
+		}
+		return new ChunkIterator( chunkSize, executor );
+	}
+
+	/**
+	 * Advance to the next row, leaving it to the caller to apply the holder instantiator.
+	 *
+	 * @return The row, or <tt>null</tt> if there are no more rows
+	 *
+	 * @throws HibernateException Indicates a problem reading the row
+	 */
+	protected Object[] nextUninstantiatedRow() throws HibernateException {
+		return next() ? get() : null;
+	}
+
+	/**
+	 * Build the result handed out by {@link #chunks} from a row returned by {@link #nextUninstantiatedRow}.
+	 *
+	 * @param row The row
+	 *
+	 * @return The result
+	 */
+	protected Object toResult(Object[] row) {
+		if ( holderInstantiator != null ) {
+			return holderInstantiator.instantiate( row );
+		}
+		return row.length == 1 ? row[0] : row;
+	}
+
+	/**
+	 * Can {@link #toResult} be called on other threads than the one scrolling the results?
+	 *
+	 * @return <tt>true</tt> if chunks may be transformed in parallel
+	 */
+	protected boolean isParallelTransformationSupported() {
+		return holderInstantiator != null;
+	}
+
+	/**
+	 * Reads chunks of rows on the calling thread and transforms each chunk in slices, one per available processor,
+	 * each writing to its own range of the (ordered) chunk.  The first row of a chunk is always transformed on the
+	 * calling thread before the others are handed out: result transformers commonly set themselves up lazily on the
+	 * first tuple, without synchronization.
+	 */
+	private class ChunkIterator implements Iterator<List> {
+		private final int chunkSize;
+		private final Executor executor;
+		private List nextChunk;
+		private boolean exhausted;
+
+		private ChunkIterator(int chunkSize, Executor executor) {
+			this.chunkSize = chunkSize;
+			this.executor = executor;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if ( nextChunk == null && !exhausted ) {
+				nextChunk = readChunk();
+			}
+			return nextChunk != null;
+		}
+
+		@Override
+		public List next() {
+			if ( !hasNext() ) {
+				throw new NoSuchElementException();
+			}
+			final List chunk = nextChunk;
+			nextChunk = null;
+			return chunk;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		private List readChunk() {
+			final Object[][] rows = new Object[chunkSize][];
+			int count = 0;
+			while ( count < chunkSize ) {
+				final Object[] row = nextUninstantiatedRow();
+				if ( row == null ) {
+					exhausted = true;
+					break;
+				}
+				rows[count++] = row;
+			}
+			if ( count == 0 ) {
+				return null;
+			}
+
+			final Object[] results = new Object[count];
+			transform( rows, results, 0, 1 );
+			final int remaining = count - 1;
+			final int slices = executor == null || !isParallelTransformationSupported()
+					? 1
+					: Math.min( remaining, Runtime.getRuntime().availableProcessors() );
+			if ( slices <= 1 ) {
+				transform( rows, results, 1, count );
+			}
+			else {
+				final List<FutureTask<Void>> tasks = new ArrayList<FutureTask<Void>>( slices );
+				for ( int i = 0; i < slices; i++ ) {
+					final int start = 1 + i * remaining / slices;
+					final int end = 1 + ( i + 1 ) * remaining / slices;
+					final FutureTask<Void> task = new FutureTask<Void>(
+							new Callable<Void>() {
+								@Override
+								public Void call() {
+									transform( rows, results, start, end );
+									return null;
+								}
+							}
+					);
+					tasks.add( task );
+					executor.execute( task );
+				}
+				for ( FutureTask<Void> task : tasks ) {
+					awaitTransformation( task );
+				}
+			}
+			return Arrays.asList( results );
+		}
+
+		private void transform(Object[][] rows, Object[] results, int start, int end) {
+			for ( int i = start; i < end; i++ ) {
+				results[i] = toResult( rows[i] );
+			}
+		}
+
+		private void awaitTransformation(FutureTask<Void> task) {
+			try {
+				task.get();
+			}
+			catch ( InterruptedException e ) {
+				Thread.currentThread().interrupt();
+				throw new HibernateException( "Interrupted while transforming scrolled results", e );
+			}
+			catch ( ExecutionException e ) {
+				if ( e.getCause() instanceof RuntimeException ) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new HibernateException( "Could not transform scrolled results", e.getCause() );
+			}
+		}
+	}
 }
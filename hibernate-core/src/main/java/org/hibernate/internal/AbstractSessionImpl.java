@@ -55,6 +55,7 @@ import org.hibernate.jdbc.WorkExecutorVisitable;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.service.jdbc.connections.spi.ConnectionProvider;
 import org.hibernate.service.jdbc.connections.spi.MultiTenantConnectionProvider;
+import org.hibernate.service.jdbc.connections.spi.ReadOnlyRoutingConnectionProvider;
 import org.hibernate.type.Type;
 
 /**
@@ -250,9 +251,15 @@ public abstract class AbstractSessionImpl implements Serializable, SharedSession
 	public JdbcConnectionAccess getJdbcConnectionAccess() {
 		if ( jdbcConnectionAccess == null ) {
 			if ( MultiTenancyStrategy.NONE == factory.getSettings().getMultiTenancyStrategy() ) {
-				jdbcConnectionAccess = new NonContextualJdbcConnectionAccess(
-						factory.getServiceRegistry().getService( ConnectionProvider.class )
-				);
+				final ConnectionProvider connectionProvider = factory.getServiceRegistry().getService( ConnectionProvider.class );
+				if ( ReadOnlyRoutingConnectionProvider.class.isInstance( connectionProvider ) ) {
+					jdbcConnectionAccess = new ReadOnlyRoutingJdbcConnectionAccess(
+							(ReadOnlyRoutingConnectionProvider) connectionProvider
+					);
+				}
+				else {
+					jdbcConnectionAccess = new NonContextualJdbcConnectionAccess( connectionProvider );
+				}
 			}
 			else {
 				jdbcConnectionAccess = new ContextualJdbcConnectionAccess(
@@ -281,6 +288,37 @@ public abstract class AbstractSessionImpl implements Serializable, SharedSession
 		}
 	}
 
+	/**
+	 * Whether the connections of this session may be routed to a database only used for reading.
+	 *
+	 * @return {@code true} if this session is not expected to write.
+	 *
+	 * @see ReadOnlyRoutingConnectionProvider
+	 */
+	protected boolean isReadOnlyConnectionCandidate() {
+		return false;
+	}
+
+	private class ReadOnlyRoutingJdbcConnectionAccess implements JdbcConnectionAccess, Serializable {
+		private final ReadOnlyRoutingConnectionProvider connectionProvider;
+
+		private ReadOnlyRoutingJdbcConnectionAccess(ReadOnlyRoutingConnectionProvider connectionProvider) {
+			this.connectionProvider = connectionProvider;
+		}
+
+		@Override
+		public Connection obtainConnection() throws SQLException {
+			return isReadOnlyConnectionCandidate()
+					? connectionProvider.getReadOnlyConnection()
+					: connectionProvider.getConnection();
+		}
+
+		@Override
+		public void releaseConnection(Connection connection) throws SQLException {
+			connectionProvider.closeConnection( connection );
+		}
+	}
+
 	private class ContextualJdbcConnectionAccess implements JdbcConnectionAccess, Serializable {
 		private final MultiTenantConnectionProvider connectionProvider;
 
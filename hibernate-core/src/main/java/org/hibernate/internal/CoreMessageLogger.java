@@ -1506,4 +1506,20 @@ public interface CoreMessageLogger extends BasicLogger {
 	@LogMessage( level = WARN )
 	@Message( value = "Unable to determine H2 database version, certain features may not work", id = 431 )
 	void undeterminedH2Version();
+
+    @LogMessage( level = INFO )
+    @Message( value = "Query plan cache hits: %s", id = 432 )
+    void queryPlanCacheHits( long queryPlanCacheHitCount );
+
+    @LogMessage( level = INFO )
+    @Message( value = "Query plan cache misses: %s", id = 433 )
+    void queryPlanCacheMisses( long queryPlanCacheMissCount );
+
+    @LogMessage( level = INFO )
+    @Message( value = "Query plan cache evictions: %s", id = 434 )
+    void queryPlanCacheEvictions( long queryPlanCacheEvictionCount );
+
+    @LogMessage( level = WARN )
+    @Message( value = "JDBC connection checked out of the pool for more than %s ms, possible connection leak", id = 435 )
+    void connectionLeakDetected( long leakThreshold, @Cause Throwable checkoutSite );
 }
@@ -37,6 +37,7 @@ import org.hibernate.HibernateException;
 import org.hibernate.LockMode;
 import org.hibernate.ScrollMode;
 import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
 import org.hibernate.criterion.Criterion;
 import org.hibernate.criterion.NaturalIdentifier;
 import org.hibernate.criterion.Order;
@@ -363,6 +364,19 @@ public class CriteriaImpl implements Criteria, Serializable {
 		}
 	}
 
+	public Iterator stream(int evictionInterval) throws HibernateException {
+		return stream( evictionInterval, false );
+	}
+
+	public Iterator stream(int interval, boolean clear) throws HibernateException {
+		return new ScrollableResultsIterator(
+				scroll( ScrollMode.FORWARD_ONLY ),
+				Session.class.isInstance( session ) ? (Session) session : null,
+				interval,
+				clear
+		);
+	}
+
 	public Object uniqueResult() throws HibernateException {
 		return AbstractQueryImpl.uniqueElement( list() );
 	}
@@ -559,6 +573,14 @@ public class CriteriaImpl implements Criteria, Serializable {
 			return CriteriaImpl.this.scroll(scrollMode);
 		}
 
+		public Iterator stream(int evictionInterval) throws HibernateException {
+			return CriteriaImpl.this.stream( evictionInterval );
+		}
+
+		public Iterator stream(int interval, boolean clear) throws HibernateException {
+			return CriteriaImpl.this.stream( interval, clear );
+		}
+
 		public Object uniqueResult() throws HibernateException {
 			return CriteriaImpl.this.uniqueResult();
 		}
@@ -55,6 +55,23 @@ public class FetchingScrollableResultsImpl extends AbstractScrollableResults {
 	private int currentPosition = 0;
 	private Integer maxPosition = null;
 
+	/**
+	 * The loader already assembled the result, and the holder instantiator is never applied to it, just as for
+	 * {@link #get()}.
+	 */
+	@Override
+	protected Object toResult(Object[] row) {
+		return row[0];
+	}
+
+	/**
+	 * Nothing to transform; the chunks are built on the scrolling thread.
+	 */
+	@Override
+	protected boolean isParallelTransformationSupported() {
+		return false;
+	}
+
 	@Override
     protected Object[] getCurrentRow() {
 		return currentRow;
@@ -228,7 +228,26 @@ public class ScrollableResultsImpl extends AbstractScrollableResults implements
 		}
 	}
 
+	@Override
+	protected Object[] nextUninstantiatedRow() throws HibernateException {
+		try {
+			prepareCurrentRow( getResultSet().next(), false );
+			return currentRow;
+		}
+		catch (SQLException sqle) {
+			throw getSession().getFactory().getSQLExceptionHelper().convert(
+					sqle,
+					"could not advance using next()"
+				);
+		}
+	}
+
 	private void prepareCurrentRow(boolean underlyingScrollSuccessful) 
+	throws HibernateException {
+		prepareCurrentRow( underlyingScrollSuccessful, true );
+	}
+
+	private void prepareCurrentRow(boolean underlyingScrollSuccessful, boolean instantiateHolder)
 	throws HibernateException {
 		
 		if (!underlyingScrollSuccessful) {
@@ -249,7 +268,7 @@ public class ScrollableResultsImpl extends AbstractScrollableResults implements
 			currentRow = new Object[] { result };
 		}
 
-		if ( getHolderInstantiator() != null ) {
+		if ( instantiateHolder && getHolderInstantiator() != null ) {
 			currentRow = new Object[] { getHolderInstantiator().instantiate(currentRow) };
 		}
 
@@ -0,0 +1,140 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.hibernate.JDBCException;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.engine.HibernateIterator;
+
+/**
+ * An iterator over forward-only {@link ScrollableResults}, reading each result only when it is requested.  Once the
+ * caller moves past every <tt>interval</tt> results, either the session is cleared, or the entities among those
+ * results are evicted from it.  Eviction only reaches the results themselves and what the eviction cascades to, so
+ * only clearing keeps the persistence context bounded when the results have associations.
+ */
+public class ScrollableResultsIterator implements HibernateIterator {
+	private final ScrollableResults results;
+	private final Session session;
+	private final int interval;
+	private final boolean clear;
+	private final List processed;
+
+	private int processedCount;
+	private Boolean hasNext;
+	private boolean closed;
+
+	/**
+	 * Constructs a ScrollableResultsIterator.
+	 *
+	 * @param results The forward-only results to iterate over
+	 * @param session The session to clear or evict processed entities from, or <tt>null</tt> to leave it alone
+	 * @param interval The number of results after which the session is cleared or processed entities are evicted,
+	 * <tt>0</tt> to leave the session alone
+	 * @param clear <tt>true</tt> to clear the session, <tt>false</tt> to evict the processed entities
+	 */
+	public ScrollableResultsIterator(ScrollableResults results, Session session, int interval, boolean clear) {
+		this.results = results;
+		this.session = interval > 0 ? session : null;
+		this.interval = interval;
+		this.clear = clear;
+		this.processed = this.session == null || clear ? null : new ArrayList( interval );
+	}
+
+	@Override
+	public boolean hasNext() {
+		if ( closed ) {
+			return false;
+		}
+		if ( hasNext == null ) {
+			if ( session != null && processedCount >= interval ) {
+				if ( clear ) {
+					session.clear();
+				}
+				else {
+					evictProcessed();
+				}
+				processedCount = 0;
+			}
+			hasNext = results.next();
+			if ( !hasNext ) {
+				close();
+			}
+		}
+		return hasNext;
+	}
+
+	@Override
+	@SuppressWarnings( {"unchecked"})
+	public Object next() {
+		if ( !hasNext() ) {
+			throw new NoSuchElementException( "No more results" );
+		}
+		hasNext = null;
+		final Object[] row = results.get();
+		final Object result = row.length == 1 ? row[0] : row;
+		processedCount++;
+		if ( processed != null ) {
+			processed.add( result );
+		}
+		return result;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException( "Not a mutable iterator" );
+	}
+
+	@Override
+	public void close() throws JDBCException {
+		if ( !closed ) {
+			closed = true;
+			results.close();
+		}
+	}
+
+	private void evictProcessed() {
+		for ( Object result : processed ) {
+			if ( result instanceof Object[] ) {
+				for ( Object element : (Object[]) result ) {
+					evict( element );
+				}
+			}
+			else {
+				evict( result );
+			}
+		}
+		processed.clear();
+	}
+
+	private void evict(Object result) {
+		if ( result != null && session.contains( result ) ) {
+			session.evict( result );
+		}
+	}
+}
@@ -1807,6 +1807,11 @@ public final class SessionImpl
 		persistenceContext.setDefaultReadOnly( defaultReadOnly );
 	}
 
+	@Override
+	protected boolean isReadOnlyConnectionCandidate() {
+		return persistenceContext.isDefaultReadOnly() || FlushMode.isManualFlushMode( flushMode );
+	}
+
 	public boolean isReadOnly(Object entityOrProxy) {
 		errorIfClosed();
 		checkTransactionSynchStatus();
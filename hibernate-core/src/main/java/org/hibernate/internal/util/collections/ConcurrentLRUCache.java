@@ -0,0 +1,403 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.internal.util.collections;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded, thread-safe cache following a "Least Recently Used" (LRU) eviction policy.
+ * <p/>
+ * The cache is split into a number of independently locked segments (chosen by key hash), each of which maintains
+ * its own recency ordering and its own share of the overall capacity.  Reads never block: a read is served directly
+ * from a {@link ConcurrentHashMap} and the access is merely recorded in a per-segment lock-free buffer.  The buffered
+ * accesses are applied to the recency ordering in batches, either on the next write to the segment or by a reader
+ * which manages to {@link ReentrantLock#tryLock() acquire} the segment lock once the buffer has filled up.  Writes
+ * lock only the segment owning the key.
+ * <p/>
+ * Since each segment is bounded independently the total number of entries may be slightly lower than the stated
+ * capacity when keys are unevenly distributed; it never exceeds it.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public class ConcurrentLRUCache<K,V> {
+	/**
+	 * The default number of segments.
+	 */
+	public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+	/**
+	 * The smallest capacity worth giving a segment of its own; small caches use fewer segments than requested so that
+	 * the recency ordering stays meaningful.
+	 */
+	private static final int MIN_SEGMENT_CAPACITY = 16;
+
+	/**
+	 * The number of buffered reads after which a reader attempts to apply them to the recency ordering.
+	 */
+	private static final int ACCESS_BUFFER_THRESHOLD = 64;
+
+	/**
+	 * Contract for being notified of entries evicted because a segment exceeded its capacity.  Explicit
+	 * {@link #remove removals} and {@link #clear clearing} are not reported.
+	 */
+	public static interface EvictionListener<K,V> {
+		/**
+		 * Called after an entry was evicted, outside of any cache lock.
+		 *
+		 * @param key The evicted key
+		 * @param value The evicted value
+		 */
+		public void onEviction(K key, V value);
+	}
+
+	private final Segment<K,V>[] segments;
+	private final int segmentMask;
+	private final EvictionListener<K,V> evictionListener;
+
+	/**
+	 * Constructs a cache with the given capacity and the default concurrency level.
+	 *
+	 * @param capacity The maximum number of entries
+	 */
+	public ConcurrentLRUCache(int capacity) {
+		this( capacity, DEFAULT_CONCURRENCY_LEVEL, null );
+	}
+
+	/**
+	 * Constructs a cache with the given settings.
+	 *
+	 * @param capacity The maximum number of entries
+	 * @param concurrencyLevel The estimated number of concurrently updating threads
+	 * @param evictionListener Optional listener for evicted entries
+	 *
+	 * @throws IllegalArgumentException if either capacity or concurrency level is less than one
+	 */
+	@SuppressWarnings({ "unchecked" })
+	public ConcurrentLRUCache(int capacity, int concurrencyLevel, EvictionListener<K,V> evictionListener) {
+		if ( capacity < 1 || concurrencyLevel < 1 ) {
+			throw new IllegalArgumentException( "Capacity and concurrency level must be greater than zero" );
+		}
+
+		int segmentCount = 1;
+		while ( segmentCount < concurrencyLevel && segmentCount * 2 * MIN_SEGMENT_CAPACITY <= capacity ) {
+			segmentCount <<= 1;
+		}
+		this.segmentMask = segmentCount - 1;
+		this.segments = new Segment[segmentCount];
+		final int baseCapacity = capacity / segmentCount;
+		final int remainder = capacity % segmentCount;
+		for ( int i = 0; i < segmentCount; i++ ) {
+			segments[i] = new Segment<K,V>( i < remainder ? baseCapacity + 1 : baseCapacity );
+		}
+		this.evictionListener = evictionListener;
+	}
+
+	/**
+	 * Gets a value from the cache, marking it as most recently used.
+	 *
+	 * @param key The cache key
+	 *
+	 * @return The cached value, or <code>null</code> if no entry exists.
+	 */
+	public V get(K key) {
+		if ( key == null ) {
+			throw new NullPointerException( "Key to get cannot be null" );
+		}
+		return segmentFor( key ).get( key );
+	}
+
+	/**
+	 * Checks whether an entry exists for the given key, without affecting its recency.
+	 *
+	 * @param key The cache key
+	 *
+	 * @return <code>true</code> if an entry exists
+	 */
+	public boolean containsKey(K key) {
+		if ( key == null ) {
+			throw new NullPointerException( "Key to check cannot be null" );
+		}
+		return segmentFor( key ).entries.containsKey( key );
+	}
+
+	/**
+	 * Puts a value into the cache, possibly evicting the least recently used entry of the segment.
+	 *
+	 * @param key The cache key
+	 * @param value The value
+	 *
+	 * @return The previous value, if any.
+	 */
+	public V put(K key, V value) {
+		return doPut( key, value, false );
+	}
+
+	/**
+	 * Puts a value into the cache unless an entry for the given key already exists.
+	 *
+	 * @param key The cache key
+	 * @param value The value
+	 *
+	 * @return The existing value, or <code>null</code> if the given value was added.
+	 */
+	public V putIfAbsent(K key, V value) {
+		return doPut( key, value, true );
+	}
+
+	private V doPut(K key, V value, boolean onlyIfAbsent) {
+		if ( key == null || value == null ) {
+			throw new NullPointerException(
+					getClass().getName() + " does not support null key [" + key + "] or value [" + value + "]"
+			);
+		}
+		final List<Node<K,V>> evicted = new ArrayList<Node<K,V>>( 1 );
+		final V previous = segmentFor( key ).put( key, value, onlyIfAbsent, evicted );
+		if ( evictionListener != null ) {
+			for ( Node<K,V> node : evicted ) {
+				evictionListener.onEviction( node.key, node.value );
+			}
+		}
+		return previous;
+	}
+
+	/**
+	 * Removes an entry from the cache.
+	 *
+	 * @param key The cache key
+	 *
+	 * @return The removed value, if any.
+	 */
+	public V remove(K key) {
+		if ( key == null ) {
+			throw new NullPointerException( "Key to remove cannot be null" );
+		}
+		return segmentFor( key ).remove( key, null );
+	}
+
+	/**
+	 * Removes an entry from the cache only if it is currently mapped to the given value.
+	 *
+	 * @param key The cache key
+	 * @param value The expected value
+	 *
+	 * @return <code>true</code> if the entry was removed
+	 */
+	public boolean remove(K key, V value) {
+		if ( key == null || value == null ) {
+			throw new NullPointerException( "Key and value to remove cannot be null" );
+		}
+		return segmentFor( key ).remove( key, value ) != null;
+	}
+
+	/**
+	 * Gets the number of entries in the cache.  The value is a snapshot and may be stale by the time it is returned.
+	 *
+	 * @return The number of entries
+	 */
+	public int size() {
+		int size = 0;
+		for ( Segment<K,V> segment : segments ) {
+			size += segment.entries.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Clears the cache.
+	 */
+	public void clear() {
+		for ( Segment<K,V> segment : segments ) {
+			segment.clear();
+		}
+	}
+
+	private Segment<K,V> segmentFor(Object key) {
+		// spread the hash bits, same as java.util.HashMap, so poor hashCode impls do not all land in one segment
+		int h = key.hashCode();
+		h ^= ( h >>> 20 ) ^ ( h >>> 12 );
+		h ^= ( h >>> 7 ) ^ ( h >>> 4 );
+		return segments[h & segmentMask];
+	}
+
+	private static final class Node<K,V> {
+		private final K key;
+		private volatile V value;
+
+		// recency list links; guarded by the owning segment's lock
+		private Node<K,V> previous;
+		private Node<K,V> next;
+
+		private Node(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		private boolean isLinked() {
+			return previous != null;
+		}
+	}
+
+	@SuppressWarnings({ "serial" })
+	private static final class Segment<K,V> extends ReentrantLock {
+		private final int capacity;
+		private final ConcurrentHashMap<K,Node<K,V>> entries;
+
+		private final ConcurrentLinkedQueue<Node<K,V>> accessBuffer = new ConcurrentLinkedQueue<Node<K,V>>();
+		private final AtomicInteger bufferedAccessCount = new AtomicInteger();
+
+		// sentinel of the circular recency list: head.next is the eldest entry, head.previous the youngest
+		private final Node<K,V> head = new Node<K,V>( null, null );
+
+		private Segment(int capacity) {
+			this.capacity = capacity;
+			this.entries = new ConcurrentHashMap<K,Node<K,V>>( CollectionHelper.determineProperSizing( capacity ) );
+			head.previous = head;
+			head.next = head;
+		}
+
+		private V get(K key) {
+			final Node<K,V> node = entries.get( key );
+			if ( node == null ) {
+				return null;
+			}
+			accessBuffer.add( node );
+			if ( bufferedAccessCount.incrementAndGet() >= ACCESS_BUFFER_THRESHOLD && tryLock() ) {
+				try {
+					drainAccessBuffer();
+				}
+				finally {
+					unlock();
+				}
+			}
+			return node.value;
+		}
+
+		private V put(K key, V value, boolean onlyIfAbsent, List<Node<K,V>> evicted) {
+			lock();
+			try {
+				drainAccessBuffer();
+				final Node<K,V> existing = entries.get( key );
+				if ( existing != null ) {
+					final V previousValue = existing.value;
+					if ( !onlyIfAbsent ) {
+						existing.value = value;
+					}
+					moveToTail( existing );
+					return previousValue;
+				}
+
+				final Node<K,V> node = new Node<K,V>( key, value );
+				entries.put( key, node );
+				link( node );
+				while ( entries.size() > capacity ) {
+					final Node<K,V> eldest = head.next;
+					unlink( eldest );
+					entries.remove( eldest.key );
+					evicted.add( eldest );
+				}
+				return null;
+			}
+			finally {
+				unlock();
+			}
+		}
+
+		private V remove(K key, V expectedValue) {
+			lock();
+			try {
+				final Node<K,V> node = entries.get( key );
+				if ( node == null || ( expectedValue != null && !expectedValue.equals( node.value ) ) ) {
+					return null;
+				}
+				entries.remove( key );
+				unlink( node );
+				return node.value;
+			}
+			finally {
+				unlock();
+			}
+		}
+
+		private void clear() {
+			lock();
+			try {
+				entries.clear();
+				accessBuffer.clear();
+				bufferedAccessCount.set( 0 );
+				Node<K,V> node = head.next;
+				while ( node != head ) {
+					final Node<K,V> next = node.next;
+					node.previous = null;
+					node.next = null;
+					node = next;
+				}
+				head.previous = head;
+				head.next = head;
+			}
+			finally {
+				unlock();
+			}
+		}
+
+		// all of the following require the segment lock to be held
+
+		private void drainAccessBuffer() {
+			Node<K,V> node;
+			while ( ( node = accessBuffer.poll() ) != null ) {
+				bufferedAccessCount.decrementAndGet();
+				// the entry may have been evicted or removed since the access was recorded
+				if ( node.isLinked() ) {
+					moveToTail( node );
+				}
+			}
+		}
+
+		private void link(Node<K,V> node) {
+			node.previous = head.previous;
+			node.next = head;
+			head.previous.next = node;
+			head.previous = node;
+		}
+
+		private void unlink(Node<K,V> node) {
+			node.previous.next = node.next;
+			node.next.previous = node.previous;
+			node.previous = null;
+			node.next = null;
+		}
+
+		private void moveToTail(Node<K,V> node) {
+			if ( head.previous != node ) {
+				unlink( node );
+				link( node );
+			}
+		}
+	}
+}
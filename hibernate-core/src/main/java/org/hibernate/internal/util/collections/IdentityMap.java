@@ -30,7 +30,6 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -57,14 +56,14 @@ public final class IdentityMap implements Map {
 	}
 
 	/**
-	 * Return a new instance of this class, with iteration
+	 * Return a new identity map, with iteration
 	 * order defined as the order in which entries were added
 	 *
 	 * @param size The size of the map to create
-	 * @return
+	 * @return A {@link LinkedIdentityHashMap}
 	 */
 	public static Map instantiateSequenced(int size) {
-		return new IdentityMap( new LinkedHashMap( size ) );
+		return new LinkedIdentityHashMap( size );
 	}
 
 	/**
@@ -86,14 +85,23 @@ public final class IdentityMap implements Map {
 	 * @return Collection
 	 */
 	public static Map.Entry[] concurrentEntries(Map map) {
+		if ( map instanceof LinkedIdentityHashMap ) {
+			return ( (LinkedIdentityHashMap) map ).entryArray();
+		}
 		return ( (IdentityMap) map ).entryArray();
 	}
 
 	public static List entries(Map map) {
+		if ( map instanceof LinkedIdentityHashMap ) {
+			return ( (LinkedIdentityHashMap) map ).entryList();
+		}
 		return ( (IdentityMap) map ).entryList();
 	}
 
 	public static Iterator keyIterator(Map map) {
+		if ( map instanceof LinkedIdentityHashMap ) {
+			return ( (LinkedIdentityHashMap) map ).keyIterator();
+		}
 		return ( (IdentityMap) map ).keyIterator();
 	}
 
@@ -244,6 +252,10 @@ public final class IdentityMap implements Map {
 	 * @return Object
 	 */
 	public static Object serialize(Map map) {
+		if ( map instanceof LinkedIdentityHashMap ) {
+			// handles its own serialization
+			return map;
+		}
 		return ( (IdentityMap) map ).map;
 	}
 
@@ -255,6 +267,9 @@ public final class IdentityMap implements Map {
 	 * @return Map
 	 */
 	public static Map deserialize(Object o) {
+		if ( o instanceof LinkedIdentityHashMap ) {
+			return (Map) o;
+		}
 		return new IdentityMap( (Map) o );
 	}
 	
@@ -0,0 +1,469 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.internal.util.collections;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A <tt>Map</tt> where keys are compared by object identity, rather than <tt>equals()</tt>, and whose iteration order
+ * is the order in which entries were added.
+ * <p/>
+ * Unlike {@link IdentityMap} no wrapper objects are allocated per entry: keys and values are stored inline in a pair of
+ * insertion-ordered arrays, which are indexed by an open-addressing (linear probing) hash table of <tt>int</tt>
+ * positions.  Removing an entry leaves a hole in the entry arrays; holes are reclaimed the next time the arrays fill
+ * up.  Iterating the map, or taking a {@link #entryArray() snapshot} of it, is a plain scan over the entry arrays.
+ * <p/>
+ * As with {@link IdentityMap}, {@link #entrySet()} returns a snapshot of the entries so the map may be modified while
+ * the result is iterated; {@link #keySet()} and {@link #values()} are live, fail-fast views.
+ * <p/>
+ * This class is not thread-safe.
+ */
+public final class LinkedIdentityHashMap implements Map, Serializable {
+	private static final int MINIMUM_CAPACITY = 4;
+
+	/**
+	 * Stands in for <tt>null</tt> keys, since a <tt>null</tt> in the key array marks a removed entry.
+	 */
+	private static final Object NULL_KEY = new Object();
+
+	// entries, in insertion order; positions [0, used) are in use, removed entries have a null key
+	private transient Object[] keys;
+	private transient Object[] values;
+	private transient int used;
+	private transient int size;
+
+	// open-addressing index into the entry arrays: 0 is a free slot, otherwise the entry position + 1
+	private transient int[] table;
+
+	private transient int modCount;
+	private transient Map.Entry[] entryArray;
+
+	/**
+	 * Constructs an empty map sized for the given number of entries.
+	 *
+	 * @param expectedSize The number of entries the map is expected to hold
+	 */
+	public LinkedIdentityHashMap(int expectedSize) {
+		allocate( Math.max( expectedSize, MINIMUM_CAPACITY ) );
+	}
+
+	private void allocate(int capacity) {
+		keys = new Object[capacity];
+		values = new Object[capacity];
+		table = new int[tableSizeFor( capacity )];
+	}
+
+	/**
+	 * The index table is kept at most half full so that probe sequences stay short.
+	 */
+	private static int tableSizeFor(int capacity) {
+		return Integer.highestOneBit( ( capacity << 1 ) - 1 ) << 1;
+	}
+
+	private static int hash(Object key) {
+		// the low order bits of identity hash codes are not guaranteed to be well distributed; spread them
+		final int h = System.identityHashCode( key ) * 0x9E3779B9;
+		return h ^ ( h >>> 16 );
+	}
+
+	private static Object maskNull(Object key) {
+		return key == null ? NULL_KEY : key;
+	}
+
+	private static Object unmaskNull(Object key) {
+		return key == NULL_KEY ? null : key;
+	}
+
+	/**
+	 * Locates the table slot referencing the given (masked) key.
+	 *
+	 * @return The slot, or the complement of the free slot at which the key would be inserted if it is not present.
+	 */
+	private int slotOf(Object key) {
+		final int mask = table.length - 1;
+		int slot = hash( key ) & mask;
+		int position;
+		while ( ( position = table[slot] ) != 0 ) {
+			if ( keys[position - 1] == key ) {
+				return slot;
+			}
+			slot = ( slot + 1 ) & mask;
+		}
+		return ~slot;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean containsKey(Object key) {
+		return slotOf( maskNull( key ) ) >= 0;
+	}
+
+	public boolean containsValue(Object value) {
+		for ( int i = 0; i < used; i++ ) {
+			if ( keys[i] != null && ( value == null ? values[i] == null : value.equals( values[i] ) ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public Object get(Object key) {
+		final int slot = slotOf( maskNull( key ) );
+		return slot < 0 ? null : values[table[slot] - 1];
+	}
+
+	public Object put(Object key, Object value) {
+		final Object maskedKey = maskNull( key );
+		int slot = slotOf( maskedKey );
+		entryArray = null;
+		if ( slot >= 0 ) {
+			final int position = table[slot] - 1;
+			final Object previous = values[position];
+			values[position] = value;
+			return previous;
+		}
+
+		if ( used == keys.length ) {
+			rebuild();
+			slot = slotOf( maskedKey );
+		}
+		keys[used] = maskedKey;
+		values[used] = value;
+		table[~slot] = ++used;
+		size++;
+		modCount++;
+		return null;
+	}
+
+	public Object remove(Object key) {
+		final int slot = slotOf( maskNull( key ) );
+		if ( slot < 0 ) {
+			return null;
+		}
+		final int position = table[slot] - 1;
+		final Object previous = values[position];
+		keys[position] = null;
+		values[position] = null;
+		deleteSlot( slot );
+		size--;
+		modCount++;
+		entryArray = null;
+		// trailing holes can be reused right away
+		while ( used > 0 && keys[used - 1] == null ) {
+			used--;
+		}
+		return previous;
+	}
+
+	/**
+	 * Frees the given table slot, shifting back any later entries of the same probe sequence so that lookups never
+	 * have to skip over deleted slots.
+	 */
+	private void deleteSlot(int slot) {
+		final int mask = table.length - 1;
+		int free = slot;
+		int current = ( slot + 1 ) & mask;
+		int position;
+		while ( ( position = table[current] ) != 0 ) {
+			final int ideal = hash( keys[position - 1] ) & mask;
+			// move the entry into the free slot unless that slot lies before the entry's ideal slot in probe order
+			if ( ( ( current - ideal ) & mask ) >= ( ( current - free ) & mask ) ) {
+				table[free] = position;
+				free = current;
+			}
+			current = ( current + 1 ) & mask;
+		}
+		table[free] = 0;
+	}
+
+	/**
+	 * Called when the entry arrays are full: compacts them in place if at least half of the positions are holes,
+	 * otherwise doubles their capacity.  Either way the index table is rebuilt.
+	 */
+	private void rebuild() {
+		final Object[] oldKeys = keys;
+		final Object[] oldValues = values;
+		final int oldUsed = used;
+		if ( size > ( oldKeys.length >> 1 ) ) {
+			allocate( oldKeys.length << 1 );
+		}
+		else {
+			Arrays.fill( table, 0 );
+		}
+
+		final int mask = table.length - 1;
+		used = 0;
+		for ( int i = 0; i < oldUsed; i++ ) {
+			final Object key = oldKeys[i];
+			if ( key != null ) {
+				keys[used] = key;
+				values[used] = oldValues[i];
+				int slot = hash( key ) & mask;
+				while ( table[slot] != 0 ) {
+					slot = ( slot + 1 ) & mask;
+				}
+				table[slot] = ++used;
+			}
+		}
+		if ( keys == oldKeys ) {
+			Arrays.fill( keys, used, oldUsed, null );
+			Arrays.fill( values, used, oldUsed, null );
+		}
+		modCount++;
+	}
+
+	public void putAll(Map otherMap) {
+		Iterator iter = otherMap.entrySet().iterator();
+		while ( iter.hasNext() ) {
+			Map.Entry me = (Map.Entry) iter.next();
+			put( me.getKey(), me.getValue() );
+		}
+	}
+
+	public void clear() {
+		Arrays.fill( keys, 0, used, null );
+		Arrays.fill( values, 0, used, null );
+		Arrays.fill( table, 0 );
+		used = 0;
+		size = 0;
+		modCount++;
+		entryArray = null;
+	}
+
+	/**
+	 * Return the map entries, in insertion order, as an array which is safe from concurrent modification; ie. we may
+	 * safely add new entries to the map while iterating the returned array.  The array is shared between calls
+	 * until the map is next modified.
+	 *
+	 * @return The entries
+	 */
+	public Map.Entry[] entryArray() {
+		if ( entryArray == null ) {
+			final Map.Entry[] entries = new Map.Entry[size];
+			int j = 0;
+			for ( int i = 0; i < used; i++ ) {
+				if ( keys[i] != null ) {
+					entries[j++] = new IdentityMap.IdentityMapEntry( unmaskNull( keys[i] ), values[i] );
+				}
+			}
+			entryArray = entries;
+		}
+		return entryArray;
+	}
+
+	/**
+	 * Return the map entries, in insertion order, as a list which is safe from concurrent modification.
+	 *
+	 * @return The entries
+	 */
+	public List entryList() {
+		return new ArrayList( Arrays.asList( entryArray() ) );
+	}
+
+	public Iterator keyIterator() {
+		return new KeyIterator();
+	}
+
+	public Set keySet() {
+		return new AbstractSet() {
+			@Override
+			public Iterator iterator() {
+				return new KeyIterator();
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			public boolean contains(Object o) {
+				return containsKey( o );
+			}
+
+			@Override
+			public boolean remove(Object o) {
+				if ( containsKey( o ) ) {
+					LinkedIdentityHashMap.this.remove( o );
+					return true;
+				}
+				return false;
+			}
+
+			@Override
+			public void clear() {
+				LinkedIdentityHashMap.this.clear();
+			}
+		};
+	}
+
+	public Collection values() {
+		return new AbstractCollection() {
+			@Override
+			public Iterator iterator() {
+				return new ValueIterator();
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			public void clear() {
+				LinkedIdentityHashMap.this.clear();
+			}
+		};
+	}
+
+	public Set entrySet() {
+		return new EntrySetSnapshot( entryArray() );
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder buffer = new StringBuilder( "{" );
+		for ( int i = 0; i < used; i++ ) {
+			if ( keys[i] != null ) {
+				if ( buffer.length() > 1 ) {
+					buffer.append( ", " );
+				}
+				buffer.append( unmaskNull( keys[i] ) ).append( '=' ).append( values[i] );
+			}
+		}
+		return buffer.append( '}' ).toString();
+	}
+
+	private void writeObject(ObjectOutputStream oos) throws IOException {
+		oos.defaultWriteObject();
+		oos.writeInt( size );
+		for ( int i = 0; i < used; i++ ) {
+			if ( keys[i] != null ) {
+				oos.writeObject( unmaskNull( keys[i] ) );
+				oos.writeObject( values[i] );
+			}
+		}
+	}
+
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		ois.defaultReadObject();
+		final int count = ois.readInt();
+		allocate( Math.max( count, MINIMUM_CAPACITY ) );
+		for ( int i = 0; i < count; i++ ) {
+			put( ois.readObject(), ois.readObject() );
+		}
+	}
+
+	private abstract class LinkedIterator implements Iterator {
+		private int next = skipRemoved( 0 );
+		private int current = -1;
+		private int expectedModCount = modCount;
+
+		private int skipRemoved(int position) {
+			while ( position < used && keys[position] == null ) {
+				position++;
+			}
+			return position;
+		}
+
+		public boolean hasNext() {
+			return next < used;
+		}
+
+		protected int nextPosition() {
+			if ( modCount != expectedModCount ) {
+				throw new ConcurrentModificationException();
+			}
+			if ( next >= used ) {
+				throw new NoSuchElementException();
+			}
+			current = next;
+			next = skipRemoved( next + 1 );
+			return current;
+		}
+
+		public void remove() {
+			if ( current < 0 ) {
+				throw new IllegalStateException();
+			}
+			if ( modCount != expectedModCount ) {
+				throw new ConcurrentModificationException();
+			}
+			// removal never moves entries, so the positions still to be visited stay valid
+			LinkedIdentityHashMap.this.remove( unmaskNull( keys[current] ) );
+			current = -1;
+			expectedModCount = modCount;
+		}
+	}
+
+	private final class KeyIterator extends LinkedIterator {
+		public Object next() {
+			return unmaskNull( keys[nextPosition()] );
+		}
+	}
+
+	private final class ValueIterator extends LinkedIterator {
+		public Object next() {
+			return values[nextPosition()];
+		}
+	}
+
+	private static final class EntrySetSnapshot extends AbstractSet {
+		private final Map.Entry[] entries;
+
+		private EntrySetSnapshot(Map.Entry[] entries) {
+			this.entries = entries;
+		}
+
+		@Override
+		public Iterator iterator() {
+			return Arrays.asList( entries ).iterator();
+		}
+
+		@Override
+		public int size() {
+			return entries.length;
+		}
+	}
+}
@@ -26,7 +26,6 @@ package org.hibernate.internal.util.collections;
 
 import java.io.IOException;
 import java.io.Serializable;
-import org.apache.commons.collections.map.LRUMap;
 
 /**
  * Cache following a "Most Recently Used" (MRU) algorithm for maintaining a
@@ -35,6 +34,8 @@ import org.apache.commons.collections.map.LRUMap;
  * <p/>
  * This implementation uses a bounded MRU Map to limit the in-memory size of
  * the cache.  Thus the size of this cache never grows beyond the stated size.
+ * <p/>
+ * The map is a {@link ConcurrentLRUCache}, so no cache-wide lock is held on lookups.
  *
  * @author Steve Ebersole
  */
@@ -43,7 +44,7 @@ public class SimpleMRUCache implements Serializable {
 	public static final int DEFAULT_STRONG_REF_COUNT = 128;
 
 	private final int strongReferenceCount;
-	private transient LRUMap cache;
+	private transient ConcurrentLRUCache<Object,Object> cache;
 
 	public SimpleMRUCache() {
 		this( DEFAULT_STRONG_REF_COUNT );
@@ -54,20 +55,20 @@ public class SimpleMRUCache implements Serializable {
 		init();
 	}
 
-	public synchronized Object get(Object key) {
+	public Object get(Object key) {
 		return cache.get( key );
 	}
 
-	public synchronized Object put(Object key, Object value) {
+	public Object put(Object key, Object value) {
 		return cache.put( key, value );
 	}
 
-	public synchronized int size() {
+	public int size() {
 		return cache.size();
 	}
 
 	private void init() {
-		cache = new LRUMap( strongReferenceCount );
+		cache = new ConcurrentLRUCache<Object,Object>( strongReferenceCount );
 	}
 
 	private void readObject(java.io.ObjectInputStream in) throws IOException, ClassNotFoundException {
@@ -75,7 +76,7 @@ public class SimpleMRUCache implements Serializable {
 		init();
 	}
 
-	public synchronized void clear() {
+	public void clear() {
 		cache.clear();
 	}
 }
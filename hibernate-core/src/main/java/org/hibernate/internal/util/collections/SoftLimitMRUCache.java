@@ -28,6 +28,8 @@ import java.io.Serializable;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
 
+import org.hibernate.internal.util.collections.ConcurrentLRUCache.EvictionListener;
+
 /**
  * Cache following a "Most Recently Used" (MRU) algorithm for maintaining a
  * bounded in-memory size; the "Least Recently Used" (LRU) entry is the first
@@ -55,6 +57,9 @@ import java.lang.ref.SoftReference;
  * different queries will eventually fill the heap and trigger a full GC to
  * reclaim space, leading to unacceptable pauses in some cases.
  * <p/>
+ * Both reference maps are {@link ConcurrentLRUCache} instances, so lookups do not acquire any cache-wide lock;
+ * entries pushed out of the strong reference map are demoted into the soft reference map rather than dropped.
+ * <p/>
  * <strong>Note:</strong> This class is serializable, however all entries are
  * discarded on serialization.
  *
@@ -78,8 +83,10 @@ public class SoftLimitMRUCache implements Serializable {
 	private final int strongRefCount;
 	private final int softRefCount;
 
-	private transient LRUMap strongRefCache;
-	private transient LRUMap softRefCache;
+	private transient EvictionListener<Object,Object> evictionListener;
+
+	private transient ConcurrentLRUCache<Object,Object> strongRefCache;
+	private transient ConcurrentLRUCache<Object,KeyedSoftReference> softRefCache;
 	private transient ReferenceQueue referenceQueue;
 
 	/**
@@ -102,6 +109,22 @@ public class SoftLimitMRUCache implements Serializable {
 	 * reference count is higher than the soft reference count.
 	 */
 	public SoftLimitMRUCache(int strongRefCount, int softRefCount) {
+		this( strongRefCount, softRefCount, null );
+	}
+
+	/**
+	 * Constructs a cache with the specified settings.
+	 *
+	 * @param strongRefCount the strong reference count.
+	 * @param softRefCount the soft reference count.
+	 * @param evictionListener optional listener notified whenever an entry leaves the cache altogether, either
+	 * because the soft reference count was exceeded or because the garbage collector cleared it.  The listener
+	 * is not retained on serialization.
+	 *
+	 * @throws IllegalArgumentException if either of the arguments is less than one, or if the strong
+	 * reference count is higher than the soft reference count.
+	 */
+	public SoftLimitMRUCache(int strongRefCount, int softRefCount, EvictionListener<Object,Object> evictionListener) {
 		if ( strongRefCount < 1 || softRefCount < 1 ) {
 			throw new IllegalArgumentException( "Reference counts must be greater than zero" );
 		}
@@ -111,6 +134,7 @@ public class SoftLimitMRUCache implements Serializable {
 
 		this.strongRefCount = strongRefCount;
 		this.softRefCount = softRefCount;
+		this.evictionListener = evictionListener;
 		init();
 	}
 
@@ -121,14 +145,19 @@ public class SoftLimitMRUCache implements Serializable {
 	 *
 	 * @return the stored value, or <code>null</code> if no entry exists.
 	 */
-	public synchronized Object get(Object key) {
+	public Object get(Object key) {
 		if ( key == null ) {
 			throw new NullPointerException( "Key to get cannot be null" );
 		}
 
 		clearObsoleteReferences();
 
-		SoftReference ref = (SoftReference) softRefCache.get( key );
+		Object value = strongRefCache.get( key );
+		if ( value != null ) {
+			return value;
+		}
+
+		KeyedSoftReference ref = softRefCache.get( key );
 		if ( ref != null ) {
 			Object refValue = ref.get();
 			if ( refValue != null ) {
@@ -149,7 +178,7 @@ public class SoftLimitMRUCache implements Serializable {
 	 *
 	 * @return the previous value stored in the cache, if any.
 	 */
-	public synchronized Object put(Object key, Object value) {
+	public Object put(Object key, Object value) {
 		if ( key == null || value == null ) {
 			throw new NullPointerException(
 					getClass().getName() + "does not support null key [" + key + "] or value [" + value + "]"
@@ -158,13 +187,13 @@ public class SoftLimitMRUCache implements Serializable {
 
 		clearObsoleteReferences();
 
-		strongRefCache.put( key, value );
-		SoftReference ref = (SoftReference) softRefCache.put(
-				key,
-				new KeyedSoftReference( key, value, referenceQueue )
-		);
+		Object previous = strongRefCache.put( key, value );
+		KeyedSoftReference ref = softRefCache.put( key, new KeyedSoftReference( key, value, referenceQueue ) );
 
-		return ( ref != null ) ? ref.get() : null;
+		if ( previous == null && ref != null ) {
+			previous = ref.get();
+		}
+		return previous;
 	}
 
 	/**
@@ -172,7 +201,7 @@ public class SoftLimitMRUCache implements Serializable {
 	 *
 	 * @return the strong reference cache size.
 	 */
-	public synchronized int size() {
+	public int size() {
 		clearObsoleteReferences();
 		return strongRefCache.size();
 	}
@@ -182,7 +211,7 @@ public class SoftLimitMRUCache implements Serializable {
 	 *
 	 * @return the soft reference cache size.
 	 */
-	public synchronized int softSize() {
+	public int softSize() {
 		clearObsoleteReferences();
 		return softRefCache.size();
 	}
@@ -190,15 +219,37 @@ public class SoftLimitMRUCache implements Serializable {
 	/**
 	 * Clears the cache.
 	 */
-	public synchronized void clear() {
+	public void clear() {
 		strongRefCache.clear();
 		softRefCache.clear();
 	}
 
 	private void init() {
-		this.strongRefCache = new LRUMap( strongRefCount );
-		this.softRefCache = new LRUMap( softRefCount );
 		this.referenceQueue = new ReferenceQueue();
+		this.softRefCache = new ConcurrentLRUCache<Object,KeyedSoftReference>(
+				softRefCount,
+				ConcurrentLRUCache.DEFAULT_CONCURRENCY_LEVEL,
+				new EvictionListener<Object,KeyedSoftReference>() {
+					@Override
+					public void onEviction(Object key, KeyedSoftReference ref) {
+						// only an eviction if the entry is not still kept strongly-reachable
+						if ( !strongRefCache.containsKey( key ) ) {
+							notifyEviction( key, ref.get() );
+						}
+					}
+				}
+		);
+		this.strongRefCache = new ConcurrentLRUCache<Object,Object>(
+				strongRefCount,
+				ConcurrentLRUCache.DEFAULT_CONCURRENCY_LEVEL,
+				new EvictionListener<Object,Object>() {
+					@Override
+					public void onEviction(Object key, Object value) {
+						// demote, refreshing its position in the soft reference cache
+						softRefCache.put( key, new KeyedSoftReference( key, value, referenceQueue ) );
+					}
+				}
+		);
 	}
 
 	private void readObject(java.io.ObjectInputStream in) throws IOException, ClassNotFoundException {
@@ -211,7 +262,15 @@ public class SoftLimitMRUCache implements Serializable {
 		KeyedSoftReference obsoleteRef;
 		while ( ( obsoleteRef = (KeyedSoftReference) referenceQueue.poll() ) != null ) {
 			Object key = obsoleteRef.getKey();
-			softRefCache.remove( key );
+			if ( softRefCache.remove( key, obsoleteRef ) ) {
+				notifyEviction( key, null );
+			}
+		}
+	}
+
+	private void notifyEviction(Object key, Object value) {
+		if ( evictionListener != null ) {
+			evictionListener.onEviction( key, value );
 		}
 	}
 
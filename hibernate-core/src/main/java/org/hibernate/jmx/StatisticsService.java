@@ -182,6 +182,15 @@ public class StatisticsService implements StatisticsServiceMBean {
 	public long getQueryCachePutCount() {
 		return stats.getQueryCachePutCount();
 	}
+	public long getQueryPlanCacheHitCount() {
+		return stats.getQueryPlanCacheHitCount();
+	}
+	public long getQueryPlanCacheMissCount() {
+		return stats.getQueryPlanCacheMissCount();
+	}
+	public long getQueryPlanCacheEvictionCount() {
+		return stats.getQueryPlanCacheEvictionCount();
+	}
 	/**
 	 * @see StatisticsServiceMBean#getFlushCount()
 	 */
@@ -25,6 +25,9 @@
 package org.hibernate.loader;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.internal.util.collections.CollectionHelper;
 import org.hibernate.persister.entity.Loadable;
@@ -45,6 +48,7 @@ public class DefaultEntityAliases implements EntityAliases {
 	private final String suffix;
 	private final String rowIdAlias;
 	private final Map userProvidedAliases;
+	private final ConcurrentMap<String,String[][]> suffixedPropertyColumnsBySubclass = new ConcurrentHashMap<String,String[][]>();
 
 	/**
 	 * Calculate and cache select-clause aliases
@@ -89,7 +93,7 @@ public class DefaultEntityAliases implements EntityAliases {
 	}
 
 	private String[][] determinePropertyAliases(Loadable persister) {
-		return getSuffixedPropertyAliases( persister );
+		return determineSuffixedPropertyAliases( persister );
 	}
 
 	private String determineDiscriminatorAlias(Loadable persister, String suffix) {
@@ -137,8 +141,20 @@ public class DefaultEntityAliases implements EntityAliases {
 
 	/**
 	 * {@inheritDoc}
+	 * <p/>
+	 * This is called for every row whose entity is of a subclass of the persister these aliases were built for, so
+	 * the aliases are calculated once per subclass and cached.
 	 */
 	public String[][] getSuffixedPropertyAliases(Loadable persister) {
+		String[][] suffixedPropertyAliases = suffixedPropertyColumnsBySubclass.get( persister.getEntityName() );
+		if ( suffixedPropertyAliases == null ) {
+			suffixedPropertyAliases = determineSuffixedPropertyAliases( persister );
+			suffixedPropertyColumnsBySubclass.put( persister.getEntityName(), suffixedPropertyAliases );
+		}
+		return suffixedPropertyAliases;
+	}
+
+	private String[][] determineSuffixedPropertyAliases(Loadable persister) {
 		final int size = persister.getPropertyNames().length;
 		final String[][] suffixedPropertyAliases = new String[size][];
 		for ( int j = 0; j < size; j++ ) {
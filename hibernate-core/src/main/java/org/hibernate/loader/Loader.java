@@ -695,11 +695,24 @@ public abstract class Loader {
 			numberOfPersistersToProcess = entitySpan;
 		}
 
+		final EntityAliases[] entityAliases = getEntityAliases();
+		if ( getCompositeKeyManyToOneTargetIndices() == null ) {
+			// the common case: no key needs another one resolved first, so each key can be built straight away
+			// without keeping the hydrated state of the row around
+			for ( int i = 0; i < numberOfPersistersToProcess; i++ ) {
+				final Type idType = persisters[i].getIdentifierType();
+				final Object hydratedId = idType.hydrate( resultSet, entityAliases[i].getSuffixedKeyAliases(), session, null );
+				final Serializable resolvedId = (Serializable) idType.resolve( hydratedId, session, null );
+				keys[i] = resolvedId == null ? null : session.generateEntityKey( resolvedId, persisters[i] );
+			}
+			return;
+		}
+
 		final Object[] hydratedKeyState = new Object[numberOfPersistersToProcess];
 
 		for ( int i = 0; i < numberOfPersistersToProcess; i++ ) {
 			final Type idType = persisters[i].getIdentifierType();
-			hydratedKeyState[i] = idType.hydrate( resultSet, getEntityAliases()[i].getSuffixedKeyAliases(), session, null );
+			hydratedKeyState[i] = idType.hydrate( resultSet, entityAliases[i].getSuffixedKeyAliases(), session, null );
 		}
 
 		for ( int i = 0; i < numberOfPersistersToProcess; i++ ) {
@@ -859,7 +872,7 @@ public abstract class Loader {
 			int count;
 			for ( count = 0; count < maxRows && rs.next(); count++ ) {
 
-                LOG.debugf("Result set row: %s", count);
+                if (LOG.isDebugEnabled()) LOG.debugf("Result set row: %s", count);
 
 				Object result = getRowFromResultSet(
 						rs,
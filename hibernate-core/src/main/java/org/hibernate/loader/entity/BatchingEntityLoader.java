@@ -27,6 +27,9 @@ package org.hibernate.loader.entity;
 import java.io.Serializable;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
 import org.hibernate.MappingException;
@@ -42,6 +45,12 @@ import org.hibernate.type.Type;
 /**
  * "Batch" loads entities, using multiple primary key values in the
  * SQL <tt>where</tt> clause.
+ * <p/>
+ * By default the number of keys used is one of a fixed set of
+ * {@link ArrayHelper#getBatchSizes pre-built batch sizes}.  When
+ * {@link org.hibernate.cfg.Environment#DYNAMIC_BATCH_FETCH dynamic batch fetching}
+ * is enabled, exactly the number of pending keys is used instead, building
+ * (and caching) a loader for that size on first use.
  *
  * @see EntityLoader
  * @author Gavin King
@@ -53,11 +62,24 @@ public class BatchingEntityLoader implements UniqueEntityLoader {
 	private final EntityPersister persister;
 	private final Type idType;
 
+	private final DynamicLoaderBuilder dynamicLoaderBuilder;
+	private final ConcurrentMap<Integer,Loader> dynamicLoaders;
+
 	public BatchingEntityLoader(EntityPersister persister, int[] batchSizes, Loader[] loaders) {
+		this( persister, batchSizes, loaders, null );
+	}
+
+	private BatchingEntityLoader(
+			EntityPersister persister,
+			int[] batchSizes,
+			Loader[] loaders,
+			DynamicLoaderBuilder dynamicLoaderBuilder) {
 		this.batchSizes = batchSizes;
 		this.loaders = loaders;
 		this.persister = persister;
 		idType = persister.getIdentifierType();
+		this.dynamicLoaderBuilder = dynamicLoaderBuilder;
+		this.dynamicLoaders = dynamicLoaderBuilder == null ? null : new ConcurrentHashMap<Integer,Loader>();
 	}
 
 	private Object getObjectFromList(List results, Serializable id, SessionImplementor session) {
@@ -89,6 +111,31 @@ public class BatchingEntityLoader implements UniqueEntityLoader {
 			.getBatchFetchQueue()
 			.getEntityBatch( persister, id, batchSizes[0], session.getEntityMode() );
 
+		if ( dynamicLoaderBuilder != null ) {
+			int numberOfIds = 1;
+			while ( numberOfIds < batch.length && batch[numberOfIds] != null ) {
+				numberOfIds++;
+			}
+			if ( numberOfIds > 1 ) {
+				Serializable[] exactBatch = batch;
+				if ( numberOfIds < batch.length ) {
+					exactBatch = new Serializable[numberOfIds];
+					System.arraycopy( batch, 0, exactBatch, 0, numberOfIds );
+				}
+				final List results = getLoader( numberOfIds ).loadEntityBatch(
+						session,
+						exactBatch,
+						idType,
+						optionalObject,
+						persister.getEntityName(),
+						id,
+						persister,
+						lockOptions
+				);
+				return getObjectFromList( results, id, session ); //EARLY EXIT
+			}
+		}
+
 		for ( int i=0; i<batchSizes.length-1; i++) {
 			final int smallBatchSize = batchSizes[i];
 			if ( batch[smallBatchSize-1]!=null ) {
@@ -112,6 +159,31 @@ public class BatchingEntityLoader implements UniqueEntityLoader {
 
 	}
 
+	private Loader getLoader(int batchSize) {
+		for ( int i = 0; i < batchSizes.length; i++ ) {
+			if ( batchSizes[i] == batchSize ) {
+				return loaders[i];
+			}
+		}
+		final Integer key = Integer.valueOf( batchSize );
+		Loader loader = dynamicLoaders.get( key );
+		if ( loader == null ) {
+			loader = dynamicLoaderBuilder.buildLoader( batchSize );
+			final Loader previous = dynamicLoaders.putIfAbsent( key, loader );
+			if ( previous != null ) {
+				loader = previous;
+			}
+		}
+		return loader;
+	}
+
+	/**
+	 * Builds loaders for batch sizes other than the pre-built ones.
+	 */
+	private static interface DynamicLoaderBuilder {
+		public Loader buildLoader(int batchSize);
+	}
+
 	public static UniqueEntityLoader createBatchingEntityLoader(
 		final OuterJoinLoadable persister,
 		final int maxBatchSize,
@@ -125,7 +197,15 @@ public class BatchingEntityLoader implements UniqueEntityLoader {
 			for ( int i=0; i<batchSizesToCreate.length; i++ ) {
 				loadersToCreate[i] = new EntityLoader(persister, batchSizesToCreate[i], lockMode, factory, loadQueryInfluencers);
 			}
-			return new BatchingEntityLoader(persister, batchSizesToCreate, loadersToCreate);
+			DynamicLoaderBuilder dynamicLoaderBuilder = null;
+			if ( factory.getSettings().isDynamicBatchFetchEnabled() ) {
+				dynamicLoaderBuilder = new DynamicLoaderBuilder() {
+					public Loader buildLoader(int batchSize) {
+						return new EntityLoader( persister, batchSize, lockMode, factory, loadQueryInfluencers );
+					}
+				};
+			}
+			return new BatchingEntityLoader(persister, batchSizesToCreate, loadersToCreate, dynamicLoaderBuilder);
 		}
 		else {
 			return new EntityLoader(persister, lockMode, factory, loadQueryInfluencers);
@@ -145,7 +225,15 @@ public class BatchingEntityLoader implements UniqueEntityLoader {
 			for ( int i=0; i<batchSizesToCreate.length; i++ ) {
 				loadersToCreate[i] = new EntityLoader(persister, batchSizesToCreate[i], lockOptions, factory, loadQueryInfluencers);
 			}
-			return new BatchingEntityLoader(persister, batchSizesToCreate, loadersToCreate);
+			DynamicLoaderBuilder dynamicLoaderBuilder = null;
+			if ( factory.getSettings().isDynamicBatchFetchEnabled() ) {
+				dynamicLoaderBuilder = new DynamicLoaderBuilder() {
+					public Loader buildLoader(int batchSize) {
+						return new EntityLoader( persister, batchSize, lockOptions, factory, loadQueryInfluencers );
+					}
+				};
+			}
+			return new BatchingEntityLoader(persister, batchSizesToCreate, loadersToCreate, dynamicLoaderBuilder);
 		}
 		else {
 			return new EntityLoader(persister, lockOptions, factory, loadQueryInfluencers);
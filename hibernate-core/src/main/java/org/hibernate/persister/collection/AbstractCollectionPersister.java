@@ -1672,6 +1672,10 @@ public abstract class AbstractCollectionPersister
 		return isMutable;
 	}
 
+	public boolean isBatchLoadable() {
+		return batchSize > 1;
+	}
+
 	public String[] getCollectionPropertyColumnAliases(String propertyName, String suffix) {
 		String rawAliases[] = (String[]) collectionPropertyColumnAliases.get(propertyName);
 
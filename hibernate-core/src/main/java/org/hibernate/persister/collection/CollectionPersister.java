@@ -250,6 +250,11 @@ public interface CollectionPersister {
 	 * Can the elements of this collection change?
 	 */
 	public boolean isMutable();
+
+	/**
+	 * Is this collection role batch loadable?
+	 */
+	public boolean isBatchLoadable();
 	
 	//public boolean isSubselectLoadable();
 	
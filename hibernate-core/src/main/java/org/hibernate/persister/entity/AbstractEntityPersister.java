@@ -52,10 +52,13 @@ import org.hibernate.StaleStateException;
 import org.hibernate.bytecode.instrumentation.internal.FieldInterceptionHelper;
 import org.hibernate.bytecode.instrumentation.spi.FieldInterceptor;
 import org.hibernate.bytecode.instrumentation.spi.LazyPropertyInitializer;
+import org.hibernate.bytecode.spi.DirtyCheckOptimizer;
+import org.hibernate.cfg.Environment;
 import org.hibernate.cache.CacheKey;
 import org.hibernate.cache.access.EntityRegionAccessStrategy;
 import org.hibernate.cache.entry.CacheEntry;
 import org.hibernate.cache.entry.CacheEntryStructure;
+import org.hibernate.cache.entry.BinaryCacheEntry;
 import org.hibernate.cache.entry.StructuredCacheEntry;
 import org.hibernate.cache.entry.UnstructuredCacheEntry;
 import org.hibernate.dialect.lock.LockingStrategy;
@@ -121,7 +124,7 @@ import org.hibernate.type.VersionType;
  */
 public abstract class AbstractEntityPersister
 		implements OuterJoinLoadable, Queryable, ClassMetadata, UniqueKeyLoadable,
-				   SQLLoadable, LazyPropertyInitializer, PostInsertIdentityPersister, Lockable {
+				   SQLLoadable, LazyPropertyInitializer, PostInsertIdentityPersister, Lockable, MultiRowInsertable {
 
     private static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class,
                                                                        AbstractEntityPersister.class.getName());
@@ -220,6 +223,8 @@ public abstract class AbstractEntityPersister
 
 	private String[] sqlDeleteStrings;
 	private String[] sqlInsertStrings;
+	private String[] sqlMultiRowInsertStrings;
+	private int multiRowInsertLimit = 1;
 	private String[] sqlUpdateStrings;
 	private String[] sqlLazyUpdateStrings;
 
@@ -248,6 +253,8 @@ public abstract class AbstractEntityPersister
 	private final String temporaryIdTableName;
 	private final String temporaryIdTableDDL;
 
+	private final DirtyCheckOptimizer dirtyCheckOptimizer;
+
 	private final Map subclassPropertyAliases = new HashMap();
 	private final Map subclassPropertyColumnNames = new HashMap();
 
@@ -479,9 +486,15 @@ public abstract class AbstractEntityPersister
 		this.factory = factory;
 		this.cacheAccessStrategy = cacheAccessStrategy;
 		isLazyPropertiesCacheable = persistentClass.isLazyPropertiesCacheable();
-		this.cacheEntryStructure = factory.getSettings().isStructuredCacheEntriesEnabled() ?
-				(CacheEntryStructure) new StructuredCacheEntry(this) :
-				(CacheEntryStructure) new UnstructuredCacheEntry();
+		if ( factory.getSettings().isStructuredCacheEntriesEnabled() ) {
+			this.cacheEntryStructure = new StructuredCacheEntry( this );
+		}
+		else if ( factory.getSettings().isBinaryCacheEntriesEnabled() ) {
+			this.cacheEntryStructure = new BinaryCacheEntry( this );
+		}
+		else {
+			this.cacheEntryStructure = new UnstructuredCacheEntry();
+		}
 
 		this.entityMetamodel = new EntityMetamodel( persistentClass, factory );
 		// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -751,6 +764,14 @@ public abstract class AbstractEntityPersister
 
 		temporaryIdTableName = persistentClass.getTemporaryIdTableName();
 		temporaryIdTableDDL = persistentClass.getTemporaryIdTableDDL();
+
+		dirtyCheckOptimizer = factory.getSettings().isDirtyCheckOptimizerEnabled()
+				? Environment.getBytecodeProvider().getDirtyCheckOptimizer(
+						getEntityName(),
+						entityMetamodel.getProperties(),
+						propertyColumnUpdateable
+				)
+				: null;
 	}
 
 	protected String generateLazySelectString() {
@@ -2050,12 +2071,20 @@ public abstract class AbstractEntityPersister
 	 * Generate the SQL that inserts a row
 	 */
 	protected String generateInsertString(boolean identityInsert, boolean[] includeProperty, int j) {
+		return generateInsertString( identityInsert, includeProperty, j, 1 );
+	}
+
+	/**
+	 * Generate the SQL that inserts the given number of rows
+	 */
+	protected String generateInsertString(boolean identityInsert, boolean[] includeProperty, int j, int rowCount) {
 
 		// todo : remove the identityInsert param and variations;
 		//   identity-insert strings are now generated from generateIdentityInsertString()
 
 		Insert insert = new Insert( getFactory().getDialect() )
-				.setTableName( getTableName( j ) );
+				.setTableName( getTableName( j ) )
+				.setRowCount( rowCount );
 
 		// add normal properties
 		for ( int i = 0; i < entityMetamodel.getPropertySpan(); i++ ) {
@@ -2450,6 +2479,64 @@ public abstract class AbstractEntityPersister
 
 	}
 
+	/**
+	 * Perform a multi-row SQL INSERT of instances with known identifier values.
+	 */
+	protected void insert(
+			final Serializable[] ids,
+	        final Object[][] fields,
+	        final int j,
+	        final SessionImplementor session) throws HibernateException {
+
+		if ( isInverseTable( j ) ) {
+			return;
+		}
+
+		final int rowCount = ids.length;
+		if ( LOG.isTraceEnabled() ) {
+			for ( int i = 0; i < rowCount; i++ ) {
+				LOG.trace( "Inserting entity: " + MessageHelper.infoString( this, ids[i], getFactory() ) );
+			}
+		}
+
+		final String sql = rowCount == multiRowInsertLimit ?
+				sqlMultiRowInsertStrings[j] :
+				generateInsertString( false, getPropertyInsertability(), j, rowCount );
+		final Expectation expectation = Expectations.appropriateExpectation( insertResultCheckStyles[j] );
+
+		try {
+			final PreparedStatement insert = session.getTransactionCoordinator()
+					.getJdbcCoordinator()
+					.getStatementPreparer()
+					.prepareStatement( sql, false );
+			try {
+				int index = 1;
+				for ( int i = 0; i < rowCount; i++ ) {
+					index = dehydrate(
+							ids[i], fields[i], null, getPropertyInsertability(), propertyColumnInsertable, j, insert, session, index
+					);
+				}
+				final int insertedRows = insert.executeUpdate();
+				if ( expectation != Expectations.NONE && insertedRows != rowCount ) {
+					throw new StaleStateException(
+							"Unexpected row count: " + insertedRows + "; expected: " + rowCount
+					);
+				}
+			}
+			finally {
+				insert.close();
+			}
+		}
+		catch ( SQLException e ) {
+			throw getFactory().getSQLExceptionHelper().convert(
+					e,
+					"could not insert: " + MessageHelper.infoString( this ),
+					sql
+			);
+		}
+
+	}
+
 	/**
 	 * Perform an SQL UPDATE or SQL INSERT
 	 */
@@ -2862,6 +2949,20 @@ public abstract class AbstractEntityPersister
 		}
 	}
 
+	public int getMultiRowInsertLimit() {
+		return multiRowInsertLimit;
+	}
+
+	public void insert(Serializable[] ids, Object[][] fields, Object[] objects, SessionImplementor session)
+			throws HibernateException {
+		if ( ids.length > multiRowInsertLimit ) {
+			throw new AssertionFailure( "too many rows for a multi-row insert: " + ids.length );
+		}
+		for ( int j = 0; j < getTableSpan(); j++ ) {
+			insert( ids, fields, j, session );
+		}
+	}
+
 	/**
 	 * Delete an object
 	 */
@@ -3154,10 +3255,40 @@ public abstract class AbstractEntityPersister
 			sqlIdentityInsertString = null;
 		}
 
+		multiRowInsertLimit = determineMultiRowInsertLimit();
+		if ( multiRowInsertLimit > 1 ) {
+			sqlMultiRowInsertStrings = new String[joinSpan];
+			for ( int j = 0; j < joinSpan; j++ ) {
+				sqlMultiRowInsertStrings[j] = generateInsertString( false, getPropertyInsertability(), j, multiRowInsertLimit );
+			}
+		}
+
 		logStaticSQL();
 
 	}
 
+	private int determineMultiRowInsertLimit() {
+		// multi-row inserts are only possible for static, generated, non-callable SQL with
+		// known identifiers, where every (non-inverse) table receives one row per instance
+		if ( !getFactory().getSettings().isMultiRowInsertEnabled()
+				|| entityMetamodel.isDynamicInsert()
+				|| isIdentifierAssignedByInsert() ) {
+			return 1;
+		}
+		int limit = Integer.MAX_VALUE;
+		for ( int j = 0; j < getTableSpan(); j++ ) {
+			if ( isInverseTable( j ) ) {
+				continue;
+			}
+			if ( isNullableTable( j ) || customSQLInsert[j] != null || isInsertCallable( j ) ) {
+				return 1;
+			}
+			final int parameterCount = StringHelper.countUnquoted( sqlInsertStrings[j], '?' );
+			limit = Math.min( limit, getFactory().getDialect().getMultiRowInsertLimit( parameterCount ) );
+		}
+		return limit == Integer.MAX_VALUE ? 1 : Math.max( 1, limit );
+	}
+
 	public void postInstantiate() throws MappingException {
 
 		createLoaders();
@@ -3367,14 +3498,44 @@ public abstract class AbstractEntityPersister
 	 */
 	public int[] findDirty(Object[] currentState, Object[] previousState, Object entity, SessionImplementor session)
 	throws HibernateException {
-		int[] props = TypeHelper.findDirty(
-				entityMetamodel.getProperties(),
-				currentState,
-				previousState,
-				propertyColumnUpdateable,
-				hasUninitializedLazyProperties( entity, session.getEntityMode() ),
-				session
-			);
+		final boolean anyUninitializedProperties = hasUninitializedLazyProperties( entity, session.getEntityMode() );
+		int[] props = dirtyCheckOptimizer != null
+				? dirtyCheckOptimizer.findDirty( currentState, previousState, anyUninitializedProperties, session )
+				: TypeHelper.findDirty(
+						entityMetamodel.getProperties(),
+						currentState,
+						previousState,
+						propertyColumnUpdateable,
+						anyUninitializedProperties,
+						session
+				);
+		if ( props == null ) {
+			return null;
+		}
+		else {
+			logDirtyProperties( props );
+			return props;
+		}
+	}
+
+	public int[] findDirty(
+			Object[] currentState,
+			Object[] previousState,
+			boolean[] includeProperties,
+			Object entity,
+			SessionImplementor session) throws HibernateException {
+		final boolean anyUninitializedProperties = hasUninitializedLazyProperties( entity, session.getEntityMode() );
+		int[] props = dirtyCheckOptimizer != null
+				? dirtyCheckOptimizer.findDirty( currentState, previousState, includeProperties, anyUninitializedProperties, session )
+				: TypeHelper.findDirty(
+						entityMetamodel.getProperties(),
+						currentState,
+						previousState,
+						propertyColumnUpdateable,
+						includeProperties,
+						anyUninitializedProperties,
+						session
+				);
 		if ( props == null ) {
 			return null;
 		}
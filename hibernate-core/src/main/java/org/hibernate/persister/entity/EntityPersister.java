@@ -222,6 +222,26 @@ public interface EntityPersister extends OptimisticCacheSource {
 	 */
 	public int[] findDirty(Object[] currentState, Object[] previousState, Object owner, SessionImplementor session);
 
+	/**
+	 * Compare the two snapshots to determine if they represent dirty state, considering
+	 * only the given properties.  Used when the other properties are already known not
+	 * to have changed.
+	 *
+	 * @param currentState The current snapshot
+	 * @param previousState The baseline snapshot
+	 * @param includeProperties The properties to compare
+	 * @param owner The entity containing the state
+	 * @param session The originating session
+	 * @return The indices of all dirty properties, or null if no properties
+	 * were dirty.
+	 */
+	public int[] findDirty(
+			Object[] currentState,
+			Object[] previousState,
+			boolean[] includeProperties,
+			Object owner,
+			SessionImplementor session);
+
 	/**
 	 * Compare the two snapshots to determine if they represent modified state.
 	 *
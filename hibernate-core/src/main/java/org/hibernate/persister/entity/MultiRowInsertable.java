@@ -0,0 +1,55 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.persister.entity;
+import java.io.Serializable;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.SessionImplementor;
+
+/**
+ * Implemented by persisters able to insert several instances through a single multi-row <tt>insert</tt> statement
+ * per table.
+ *
+ * @see org.hibernate.dialect.Dialect#getMultiRowInsertLimit
+ */
+public interface MultiRowInsertable extends EntityPersister {
+	/**
+	 * The maximum number of instances which may be passed to {@link #insert(Serializable[], Object[][], Object[], SessionImplementor)}
+	 * at once.  A value of one indicates that multi-row inserts are not available for this persister.
+	 *
+	 * @return The maximum number of rows per insert statement
+	 */
+	public int getMultiRowInsertLimit();
+
+	/**
+	 * Persist instances with assigned identifiers, each table being written by a single statement.
+	 *
+	 * @param ids The identifiers of the instances
+	 * @param fields The property values of the instances
+	 * @param objects The instances
+	 * @param session The originating session
+	 */
+	public void insert(Serializable[] ids, Object[][] fields, Object[] objects, SessionImplementor session)
+	throws HibernateException;
+}
@@ -0,0 +1,79 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.service.jdbc.connections.internal;
+
+/**
+ * Management interface exposing the state of the built-in Hibernate connection pool.
+ */
+public interface ConnectionPoolMXBean {
+	/**
+	 * @return The maximum number of inactive connections kept by the pool.
+	 */
+	public int getPoolSize();
+
+	/**
+	 * @return The maximum number of connections handed out at the same time, {@code 0} if unbounded.
+	 */
+	public int getMaxActive();
+
+	/**
+	 * @return The number of physical connections currently open.
+	 */
+	public int getOpenConnectionCount();
+
+	/**
+	 * @return The number of inactive connections currently kept by the pool.
+	 */
+	public int getIdleConnectionCount();
+
+	/**
+	 * @return The number of connections currently checked out of the pool.
+	 */
+	public int getActiveConnectionCount();
+
+	/**
+	 * @return The number of times a connection was checked out of the pool.
+	 */
+	public long getConnectionAcquisitionCount();
+
+	/**
+	 * @return The number of connections checked out which were last released by the same thread.
+	 */
+	public long getThreadAffinityHitCount();
+
+	/**
+	 * @return The number of physical connections opened by the pool.
+	 */
+	public long getConnectionCreationCount();
+
+	/**
+	 * @return The number of times waiting for a connection timed out.
+	 */
+	public long getAcquisitionTimeoutCount();
+
+	/**
+	 * @return The number of connections reported as possible leaks.
+	 */
+	public long getConnectionLeakCount();
+}
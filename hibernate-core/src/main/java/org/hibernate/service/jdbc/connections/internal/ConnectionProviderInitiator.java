@@ -133,7 +133,9 @@ public class ConnectionProviderInitiator implements BasicServiceInitiator<Connec
 
 		if ( connectionProvider == null ) {
 			if ( configurationValues.get( Environment.URL ) != null ) {
-				connectionProvider = new DriverManagerConnectionProviderImpl();
+				connectionProvider = configurationValues.get( Environment.REPLICA_URLS ) != null
+						? new ReplicaRoutingConnectionProviderImpl()
+						: new DriverManagerConnectionProviderImpl();
 			}
 		}
 
@@ -276,6 +278,15 @@ public class ConnectionProviderInitiator implements BasicServiceInitiator<Connec
 		SPECIAL_PROPERTIES.add( Environment.URL );
 		SPECIAL_PROPERTIES.add( Environment.CONNECTION_PROVIDER );
 		SPECIAL_PROPERTIES.add( Environment.POOL_SIZE );
+		SPECIAL_PROPERTIES.add( Environment.POOL_MAX_ACTIVE );
+		SPECIAL_PROPERTIES.add( Environment.POOL_ACQUIRE_TIMEOUT );
+		SPECIAL_PROPERTIES.add( Environment.POOL_IDLE_TIMEOUT );
+		SPECIAL_PROPERTIES.add( Environment.POOL_LEAK_THRESHOLD );
+		SPECIAL_PROPERTIES.add( Environment.POOL_VALIDATION_TIMEOUT );
+		SPECIAL_PROPERTIES.add( Environment.REPLICA_URLS );
+		SPECIAL_PROPERTIES.add( Environment.REPLICA_LAG_QUERY );
+		SPECIAL_PROPERTIES.add( Environment.REPLICA_MAX_LAG );
+		SPECIAL_PROPERTIES.add( Environment.REPLICA_LAG_CHECK_INTERVAL );
 		SPECIAL_PROPERTIES.add( Environment.ISOLATION );
 		SPECIAL_PROPERTIES.add( Environment.DRIVER );
 		SPECIAL_PROPERTIES.add( Environment.USER );
@@ -26,9 +26,19 @@ package org.hibernate.service.jdbc.connections.internal;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.util.ArrayList;
+import java.sql.SQLTransientConnectionException;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import org.hibernate.HibernateException;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.cfg.Environment;
@@ -36,35 +46,60 @@ import org.hibernate.internal.util.ReflectHelper;
 import org.hibernate.internal.util.config.ConfigurationHelper;
 import org.hibernate.service.jdbc.connections.spi.ConnectionProvider;
 import org.hibernate.service.spi.Configurable;
+import org.hibernate.service.spi.Manageable;
 import org.hibernate.service.spi.Stoppable;
 import org.hibernate.service.UnknownUnwrapTypeException;
 import org.jboss.logging.Logger;
 
 /**
- * A connection provider that uses the {@link java.sql.DriverManager} directly to open connections and provides
- * a very rudimentary connection pool.
+ * A connection provider that uses the {@link java.sql.DriverManager} directly to open connections and pools them.
  * <p/>
- * IMPL NOTE : not intended for production use!
+ * Inactive connections are handed off through a non-blocking queue, trying the connection last released by the
+ * requesting thread first.  The number of connections handed out at the same time may be bounded (see
+ * {@link Environment#POOL_MAX_ACTIVE}), in which case requests wait up to {@link Environment#POOL_ACQUIRE_TIMEOUT}.
+ * Optionally, inactive connections are validated before being handed out and closed after
+ * {@link Environment#POOL_IDLE_TIMEOUT}, and connections checked out for longer than
+ * {@link Environment#POOL_LEAK_THRESHOLD} are reported.
  *
  * @author Gavin King
  * @author Steve Ebersole
  */
 @SuppressWarnings( {"UnnecessaryUnboxing"})
-public class DriverManagerConnectionProviderImpl implements ConnectionProvider, Configurable, Stoppable {
+public class DriverManagerConnectionProviderImpl
+		implements ConnectionProvider, Configurable, Stoppable, Manageable, ConnectionPoolMXBean {
 
     private static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class,
                                                                        DriverManagerConnectionProviderImpl.class.getName());
 
+	private static final long MIN_HOUSEKEEPING_PERIOD = 1000;
+
 	private String url;
 	private Properties connectionProps;
 	private Integer isolation;
 	private int poolSize;
 	private boolean autocommit;
+	private int maxActive;
+	private long acquireTimeout;
+	private long idleTimeout;
+	private long leakThreshold;
+	private int validationTimeout;
+
+	private final ConcurrentLinkedQueue<PoolEntry> pool = new ConcurrentLinkedQueue<PoolEntry>();
+	private final ThreadLocal<PoolEntry> lastReleased = new ThreadLocal<PoolEntry>();
+	private final ConcurrentHashMap<Connection,PoolEntry> checkedOut = new ConcurrentHashMap<Connection,PoolEntry>();
+	private final AtomicInteger openConnections = new AtomicInteger();
+	// entries in the IDLE state, bounded by poolSize
+	private final AtomicInteger idleConnections = new AtomicInteger();
+	private Semaphore activePermits;
+	private ScheduledExecutorService housekeeper;
 
-	private final ArrayList<Connection> pool = new ArrayList<Connection>();
-	private int checkedOut = 0;
+	private final AtomicLong acquisitionCount = new AtomicLong();
+	private final AtomicLong threadAffinityHitCount = new AtomicLong();
+	private final AtomicLong creationCount = new AtomicLong();
+	private final AtomicLong acquisitionTimeoutCount = new AtomicLong();
+	private final AtomicLong leakCount = new AtomicLong();
 
-	private boolean stopped;
+	private volatile boolean stopped;
 
 	@Override
 	public boolean isUnwrappableAs(Class unwrapType) {
@@ -107,6 +142,21 @@ public class DriverManagerConnectionProviderImpl implements ConnectionProvider,
 		poolSize = ConfigurationHelper.getInt( Environment.POOL_SIZE, configurationValues, 20 ); // default pool size 20
         LOG.hibernateConnectionPoolSize(poolSize);
 
+		maxActive = ConfigurationHelper.getInt( Environment.POOL_MAX_ACTIVE, configurationValues, 0 );
+		acquireTimeout = ConfigurationHelper.getInt( Environment.POOL_ACQUIRE_TIMEOUT, configurationValues, 30000 );
+		idleTimeout = ConfigurationHelper.getInt( Environment.POOL_IDLE_TIMEOUT, configurationValues, 0 );
+		leakThreshold = ConfigurationHelper.getInt( Environment.POOL_LEAK_THRESHOLD, configurationValues, 0 );
+		validationTimeout = ConfigurationHelper.getInt( Environment.POOL_VALIDATION_TIMEOUT, configurationValues, 0 );
+		LOG.debugf(
+				"Connection pool limits: max active=%s, acquire timeout=%s ms, idle timeout=%s ms, leak threshold=%s ms, validation timeout=%s s",
+				maxActive,
+				acquireTimeout,
+				idleTimeout,
+				leakThreshold,
+				validationTimeout
+		);
+		activePermits = maxActive > 0 ? new Semaphore( maxActive ) : null;
+
 		autocommit = ConfigurationHelper.getBoolean( Environment.AUTOCOMMIT, configurationValues );
         LOG.autoCommitMode( autocommit );
 
@@ -126,80 +176,243 @@ public class DriverManagerConnectionProviderImpl implements ConnectionProvider,
 		// if debug level is enabled, then log the password, otherwise mask it
         if (LOG.isDebugEnabled()) LOG.connectionProperties(connectionProps);
         else LOG.connectionProperties(ConfigurationHelper.maskOut(connectionProps, "password"));
+
+		startHousekeeping();
+	}
+
+	private void startHousekeeping() {
+		long period = Long.MAX_VALUE;
+		if ( idleTimeout > 0 ) {
+			period = idleTimeout / 2;
+		}
+		if ( leakThreshold > 0 ) {
+			period = Math.min( period, leakThreshold / 2 );
+		}
+		if ( period == Long.MAX_VALUE ) {
+			return;
+		}
+		period = Math.max( period, MIN_HOUSEKEEPING_PERIOD );
+		housekeeper = Executors.newSingleThreadScheduledExecutor( new HousekeepingThreadFactory() );
+		housekeeper.scheduleWithFixedDelay(
+				new Runnable() {
+					@Override
+					public void run() {
+						evictIdleConnections();
+						detectLeaks();
+					}
+				},
+				period,
+				period,
+				TimeUnit.MILLISECONDS
+		);
 	}
 
 	public void stop() {
         LOG.cleaningUpConnectionPool(url);
 
-		for ( Connection connection : pool ) {
-			try {
-				connection.close();
-			}
-			catch (SQLException sqle) {
-                LOG.unableToClosePooledConnection(sqle);
+		stopped = true;
+		if ( housekeeper != null ) {
+			housekeeper.shutdownNow();
+			housekeeper = null;
+		}
+		PoolEntry entry;
+		while ( ( entry = pool.poll() ) != null ) {
+			if ( reserve( entry ) ) {
+				discard( entry );
 			}
 		}
-		pool.clear();
-		stopped = true;
 	}
 
 	public Connection getConnection() throws SQLException {
-        LOG.trace("Total checked-out connections: " + checkedOut);
-
-		// essentially, if we have available connections in the pool, use one...
-		synchronized (pool) {
-			if ( !pool.isEmpty() ) {
-				int last = pool.size() - 1;
-                if (LOG.isTraceEnabled()) {
-                    LOG.trace("Using pooled JDBC connection, pool size: " + last);
-					checkedOut++;
-				}
-				Connection pooled = pool.remove(last);
+        if (LOG.isTraceEnabled()) LOG.trace("Total checked-out connections: " + checkedOut.size());
+
+		if ( activePermits != null ) {
+			acquirePermit();
+		}
+		boolean success = false;
+		try {
+			// essentially, if we have available connections in the pool, use one...
+			PoolEntry entry = borrow();
+			if ( entry == null ) {
+				// otherwise we open a new connection...
+				entry = new PoolEntry( openConnection() );
+			}
+			try {
 				if ( isolation != null ) {
-					pooled.setTransactionIsolation( isolation.intValue() );
+					entry.connection.setTransactionIsolation( isolation.intValue() );
 				}
-				if ( pooled.getAutoCommit() != autocommit ) {
-					pooled.setAutoCommit( autocommit );
+				if ( entry.connection.getAutoCommit() != autocommit ) {
+					entry.connection.setAutoCommit( autocommit );
 				}
-				return pooled;
+			}
+			catch ( SQLException e ) {
+				discard( entry );
+				throw e;
+			}
+			entry.checkedOutAt = System.currentTimeMillis();
+			entry.checkoutSite = leakThreshold > 0 ? new Exception( "Connection checked out here" ) : null;
+			entry.leakReported = false;
+			checkedOut.put( entry.connection, entry );
+			acquisitionCount.incrementAndGet();
+			success = true;
+			return entry.connection;
+		}
+		finally {
+			if ( !success && activePermits != null ) {
+				activePermits.release();
 			}
 		}
+	}
 
-		// otherwise we open a new connection...
+	private void acquirePermit() throws SQLException {
+		try {
+			if ( !activePermits.tryAcquire( acquireTimeout, TimeUnit.MILLISECONDS ) ) {
+				acquisitionTimeoutCount.incrementAndGet();
+				throw new SQLTransientConnectionException(
+						"Timed out after " + acquireTimeout + " ms waiting for one of " + maxActive + " pooled JDBC connections"
+				);
+			}
+		}
+		catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			throw new SQLTransientConnectionException( "Interrupted while waiting for a pooled JDBC connection", e );
+		}
+	}
 
-        LOG.debugf("Opening new JDBC connection");
-		Connection conn = DriverManager.getConnection( url, connectionProps );
-		if ( isolation != null ) {
-			conn.setTransactionIsolation( isolation.intValue() );
+	private PoolEntry borrow() {
+		// try the connection last released by this thread first, it is most likely to be idle and cache-warm
+		PoolEntry entry = lastReleased.get();
+		if ( entry != null && reserve( entry ) ) {
+			if ( isUsable( entry ) ) {
+				threadAffinityHitCount.incrementAndGet();
+				LOG.trace( "Using JDBC connection last released by this thread" );
+				return entry;
+			}
+			discard( entry );
+		}
+		while ( ( entry = pool.poll() ) != null ) {
+			entry.queued.set( false );
+			// entries reserved through thread affinity are left in the queue and skipped here
+			if ( reserve( entry ) ) {
+				if ( isUsable( entry ) ) {
+					LOG.trace( "Using pooled JDBC connection" );
+					return entry;
+				}
+				discard( entry );
+			}
+		}
+		return null;
+	}
+
+	private boolean isUsable(PoolEntry entry) {
+		if ( idleTimeout > 0 && System.currentTimeMillis() - entry.releasedAt > idleTimeout ) {
+			return false;
 		}
-		if ( conn.getAutoCommit() != autocommit ) {
-			conn.setAutoCommit(autocommit);
+		if ( validationTimeout > 0 ) {
+			try {
+				return entry.connection.isValid( validationTimeout );
+			}
+			catch ( SQLException e ) {
+				LOG.debug( "Unable to validate pooled JDBC connection", e );
+				return false;
+			}
 		}
+		return true;
+	}
 
-        LOG.debugf("Created connection to: %s, Isolation Level: %s", url, conn.getTransactionIsolation());
+	private Connection openConnection() throws SQLException {
+        LOG.debugf("Opening new JDBC connection");
+		Connection conn = DriverManager.getConnection( url, connectionProps );
+		openConnections.incrementAndGet();
+		creationCount.incrementAndGet();
 
-		checkedOut++;
+        if (LOG.isDebugEnabled()) LOG.debugf("Created connection to: %s, Isolation Level: %s", url, conn.getTransactionIsolation());
 
 		return conn;
 	}
 
 	public void closeConnection(Connection conn) throws SQLException {
-		checkedOut--;
-
-		// add to the pool if the max size is not yet reached.
-		synchronized (pool) {
-			int currentSize = pool.size();
-			if ( currentSize < poolSize ) {
-                LOG.trace("Returning connection to pool, pool size: " + (currentSize + 1));
-				pool.add(conn);
+		final PoolEntry entry = checkedOut.remove( conn );
+		if ( entry == null ) {
+			// not handed out by this pool (anymore)
+			conn.close();
+			return;
+		}
+		if ( activePermits != null ) {
+			activePermits.release();
+		}
+		entry.checkoutSite = null;
+
+		// add to the pool if the max number of inactive connections is not yet reached.
+		int idle = idleConnections.get();
+		while ( !stopped && idle < poolSize ) {
+			if ( idleConnections.compareAndSet( idle, idle + 1 ) ) {
+				LOG.trace( "Returning connection to pool" );
+				entry.releasedAt = System.currentTimeMillis();
+				entry.state.set( PoolEntry.IDLE );
+				lastReleased.set( entry );
+				if ( entry.queued.compareAndSet( false, true ) ) {
+					pool.offer( entry );
+				}
 				return;
 			}
+			idle = idleConnections.get();
 		}
 
-        LOG.debugf("Closing JDBC connection");
+		LOG.debugf( "Closing JDBC connection" );
+		entry.state.set( PoolEntry.REMOVED );
+		openConnections.decrementAndGet();
 		conn.close();
 	}
 
+	private boolean reserve(PoolEntry entry) {
+		if ( entry.reserve() ) {
+			idleConnections.decrementAndGet();
+			return true;
+		}
+		return false;
+	}
+
+	private void discard(PoolEntry entry) {
+		entry.state.set( PoolEntry.REMOVED );
+		openConnections.decrementAndGet();
+		try {
+			entry.connection.close();
+		}
+		catch (SQLException sqle) {
+            LOG.unableToClosePooledConnection(sqle);
+		}
+	}
+
+	private void evictIdleConnections() {
+		if ( idleTimeout <= 0 ) {
+			return;
+		}
+		final long now = System.currentTimeMillis();
+		for ( PoolEntry entry : pool ) {
+			if ( now - entry.releasedAt > idleTimeout && reserve( entry ) ) {
+				LOG.trace( "Evicting idle JDBC connection" );
+				pool.remove( entry );
+				discard( entry );
+			}
+		}
+	}
+
+	private void detectLeaks() {
+		if ( leakThreshold <= 0 ) {
+			return;
+		}
+		final long now = System.currentTimeMillis();
+		for ( PoolEntry entry : checkedOut.values() ) {
+			final Throwable checkoutSite = entry.checkoutSite;
+			if ( !entry.leakReported && checkoutSite != null && now - entry.checkedOutAt > leakThreshold ) {
+				entry.leakReported = true;
+				leakCount.incrementAndGet();
+				LOG.connectionLeakDetected( leakThreshold, checkoutSite );
+			}
+		}
+	}
+
 	@Override
     protected void finalize() throws Throwable {
 		if ( !stopped ) {
@@ -211,4 +424,104 @@ public class DriverManagerConnectionProviderImpl implements ConnectionProvider,
 	public boolean supportsAggressiveRelease() {
 		return false;
 	}
+
+	@Override
+	public String getManagementDomain() {
+		return null; // use Hibernate default domain
+	}
+
+	@Override
+	public String getManagementServiceType() {
+		return null;  // use Hibernate default scheme
+	}
+
+	@Override
+	public Object getManagementBean() {
+		return this;
+	}
+
+	@Override
+	public int getPoolSize() {
+		return poolSize;
+	}
+
+	@Override
+	public int getMaxActive() {
+		return maxActive;
+	}
+
+	@Override
+	public int getOpenConnectionCount() {
+		return openConnections.get();
+	}
+
+	@Override
+	public int getIdleConnectionCount() {
+		return idleConnections.get();
+	}
+
+	@Override
+	public int getActiveConnectionCount() {
+		return checkedOut.size();
+	}
+
+	@Override
+	public long getConnectionAcquisitionCount() {
+		return acquisitionCount.get();
+	}
+
+	@Override
+	public long getThreadAffinityHitCount() {
+		return threadAffinityHitCount.get();
+	}
+
+	@Override
+	public long getConnectionCreationCount() {
+		return creationCount.get();
+	}
+
+	@Override
+	public long getAcquisitionTimeoutCount() {
+		return acquisitionTimeoutCount.get();
+	}
+
+	@Override
+	public long getConnectionLeakCount() {
+		return leakCount.get();
+	}
+
+	/**
+	 * A physical connection and its pooling state.  An entry is reserved by whoever moves it from {@link #IDLE} to
+	 * {@link #IN_USE}, whether it was taken from the queue or through thread affinity.
+	 */
+	private static class PoolEntry {
+		private static final int IDLE = 0;
+		private static final int IN_USE = 1;
+		private static final int REMOVED = 2;
+
+		private final Connection connection;
+		private final AtomicInteger state = new AtomicInteger( IN_USE );
+		private final AtomicBoolean queued = new AtomicBoolean();
+		private volatile long releasedAt;
+		private volatile long checkedOutAt;
+		private volatile Throwable checkoutSite;
+		private volatile boolean leakReported;
+
+		private PoolEntry(Connection connection) {
+			this.connection = connection;
+		}
+
+		private boolean reserve() {
+			return state.compareAndSet( IDLE, IN_USE );
+		}
+	}
+
+	private static class HousekeepingThreadFactory implements ThreadFactory {
+		@Override
+		public Thread newThread(Runnable runnable) {
+			final Thread thread = new Thread( runnable, "Hibernate connection pool housekeeping" );
+			thread.setDaemon( true );
+			return thread;
+		}
+	}
 }
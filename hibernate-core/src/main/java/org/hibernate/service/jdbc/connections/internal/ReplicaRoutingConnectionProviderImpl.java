@@ -0,0 +1,367 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.service.jdbc.connections.internal;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.logging.Logger;
+
+import org.hibernate.HibernateException;
+import org.hibernate.cfg.Environment;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.UnknownUnwrapTypeException;
+import org.hibernate.service.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.service.jdbc.connections.spi.ReadOnlyRoutingConnectionProvider;
+import org.hibernate.service.spi.Configurable;
+import org.hibernate.service.spi.Manageable;
+import org.hibernate.service.spi.Stoppable;
+
+/**
+ * A connection provider pooling connections to a primary database (see {@link Environment#URL}) and to its read
+ * replicas (see {@link Environment#REPLICA_URLS}), each through a {@link DriverManagerConnectionProviderImpl}.
+ * <p/>
+ * Read-only connections go to the replica with the fewest connections in use, ties being broken round robin.
+ * Replicas whose replication lag exceeds {@link Environment#REPLICA_MAX_LAG}, or which cannot be connected to, are
+ * skipped until their next check; when no replica is usable, read-only connections go to the primary database.
+ * Connections to replicas are marked read-only, so that writes accidentally routed to a replica fail right away.
+ * <p/>
+ * The management bean aggregates the metrics of the primary and replica pools.
+ */
+public class ReplicaRoutingConnectionProviderImpl
+		implements ReadOnlyRoutingConnectionProvider, Configurable, Stoppable, Manageable, ConnectionPoolMXBean {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			ReplicaRoutingConnectionProviderImpl.class.getName()
+	);
+
+	private DriverManagerConnectionProviderImpl primary;
+	private Replica[] replicas;
+	private String lagQuery;
+	private int maxLag;
+	private long lagCheckInterval;
+
+	private final AtomicInteger nextReplica = new AtomicInteger();
+	private final ConcurrentHashMap<Connection,Replica> replicaConnections = new ConcurrentHashMap<Connection,Replica>();
+
+	@Override
+	public boolean isUnwrappableAs(Class unwrapType) {
+		return ConnectionProvider.class.equals( unwrapType ) ||
+				ReadOnlyRoutingConnectionProvider.class.equals( unwrapType ) ||
+				ReplicaRoutingConnectionProviderImpl.class.isAssignableFrom( unwrapType );
+	}
+
+	@Override
+	@SuppressWarnings( {"unchecked"})
+	public <T> T unwrap(Class<T> unwrapType) {
+		if ( isUnwrappableAs( unwrapType ) ) {
+			return (T) this;
+		}
+		else {
+			throw new UnknownUnwrapTypeException( unwrapType );
+		}
+	}
+
+	@Override
+	@SuppressWarnings( {"unchecked"})
+	public void configure(Map configurationValues) {
+		primary = new DriverManagerConnectionProviderImpl();
+		primary.configure( configurationValues );
+
+		final String[] replicaUrls = ConfigurationHelper.toStringArray(
+				(String) configurationValues.get( Environment.REPLICA_URLS ),
+				", \t\n\r"
+		);
+		if ( replicaUrls.length == 0 ) {
+			throw new HibernateException( "No read replica specified by " + Environment.REPLICA_URLS );
+		}
+		replicas = new Replica[ replicaUrls.length ];
+		for ( int i = 0; i < replicaUrls.length; i++ ) {
+			final Map replicaConfigurationValues = ConfigurationHelper.clone( configurationValues );
+			replicaConfigurationValues.put( Environment.URL, replicaUrls[i] );
+			final DriverManagerConnectionProviderImpl replicaProvider = new DriverManagerConnectionProviderImpl();
+			replicaProvider.configure( replicaConfigurationValues );
+			replicas[i] = new Replica( replicaUrls[i], replicaProvider );
+		}
+
+		lagQuery = ConfigurationHelper.getString( Environment.REPLICA_LAG_QUERY, configurationValues );
+		maxLag = ConfigurationHelper.getInt( Environment.REPLICA_MAX_LAG, configurationValues, 10 );
+		lagCheckInterval = ConfigurationHelper.getInt( Environment.REPLICA_LAG_CHECK_INTERVAL, configurationValues, 1000 );
+		LOG.debugf( "Routing read-only connections to %s read replicas", replicas.length );
+	}
+
+	@Override
+	public void stop() {
+		if ( replicas != null ) {
+			for ( Replica replica : replicas ) {
+				replica.connectionProvider.stop();
+			}
+		}
+		if ( primary != null ) {
+			primary.stop();
+		}
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return primary.getConnection();
+	}
+
+	@Override
+	public Connection getReadOnlyConnection() throws SQLException {
+		final int start = nextReplica.getAndIncrement() & Integer.MAX_VALUE;
+		for ( int attempt = 0; attempt < replicas.length; attempt++ ) {
+			final long now = System.currentTimeMillis();
+			Replica selected = null;
+			for ( int i = 0; i < replicas.length; i++ ) {
+				final Replica replica = replicas[ ( start + i ) % replicas.length ];
+				if ( replica.isCandidate( now, lagCheckInterval )
+						&& ( selected == null || replica.activeConnections.get() < selected.activeConnections.get() ) ) {
+					selected = replica;
+				}
+			}
+			if ( selected == null ) {
+				break;
+			}
+			final Connection connection = obtainConnection( selected, now );
+			if ( connection != null ) {
+				return connection;
+			}
+		}
+		LOG.debug( "No read replica available, using primary database" );
+		return primary.getConnection();
+	}
+
+	private Connection obtainConnection(Replica replica, long now) {
+		final Connection connection;
+		try {
+			connection = replica.connectionProvider.getConnection();
+		}
+		catch ( SQLException e ) {
+			LOG.debugf( e, "Unable to connect to read replica [%s]", replica.url );
+			replica.unavailableSince = now;
+			return null;
+		}
+		replica.activeConnections.incrementAndGet();
+		replicaConnections.put( connection, replica );
+		try {
+			connection.setReadOnly( true );
+		}
+		catch ( SQLException e ) {
+			LOG.debugf( e, "Unable to mark connection to read replica [%s] read-only", replica.url );
+			replica.unavailableSince = now;
+			release( connection );
+			return null;
+		}
+		if ( lagQuery != null && now - replica.lagCheckedAt >= lagCheckInterval ) {
+			replica.lagCheckedAt = now;
+			replica.lagging = determineLag( replica, connection ) > maxLag;
+			if ( replica.lagging ) {
+				LOG.debugf( "Read replica [%s] lags by more than %s seconds", replica.url, maxLag );
+				release( connection );
+				return null;
+			}
+		}
+		return connection;
+	}
+
+	private double determineLag(Replica replica, Connection connection) {
+		try {
+			final Statement statement = connection.createStatement();
+			try {
+				final ResultSet resultSet = statement.executeQuery( lagQuery );
+				// no value means the database is not replicating, hence not lagging
+				return resultSet.next() ? resultSet.getDouble( 1 ) : 0;
+			}
+			finally {
+				statement.close();
+			}
+		}
+		catch ( SQLException e ) {
+			LOG.debugf( e, "Unable to determine replication lag of read replica [%s]", replica.url );
+			return Double.MAX_VALUE;
+		}
+	}
+
+	@Override
+	public void closeConnection(Connection conn) throws SQLException {
+		if ( !release( conn ) ) {
+			primary.closeConnection( conn );
+		}
+	}
+
+	private boolean release(Connection connection) {
+		final Replica replica = replicaConnections.remove( connection );
+		if ( replica == null ) {
+			return false;
+		}
+		replica.activeConnections.decrementAndGet();
+		try {
+			replica.connectionProvider.closeConnection( connection );
+		}
+		catch ( SQLException e ) {
+			LOG.debugf( e, "Unable to release connection to read replica [%s]", replica.url );
+		}
+		return true;
+	}
+
+	@Override
+	public boolean supportsAggressiveRelease() {
+		return primary.supportsAggressiveRelease();
+	}
+
+	@Override
+	public String getManagementDomain() {
+		return null; // use Hibernate default domain
+	}
+
+	@Override
+	public String getManagementServiceType() {
+		return null;  // use Hibernate default scheme
+	}
+
+	@Override
+	public Object getManagementBean() {
+		return this;
+	}
+
+	@Override
+	public int getPoolSize() {
+		int poolSize = primary.getPoolSize();
+		for ( Replica replica : replicas ) {
+			poolSize += replica.connectionProvider.getPoolSize();
+		}
+		return poolSize;
+	}
+
+	@Override
+	public int getMaxActive() {
+		int maxActive = primary.getMaxActive();
+		for ( Replica replica : replicas ) {
+			if ( maxActive == 0 || replica.connectionProvider.getMaxActive() == 0 ) {
+				// one of the pools is unbounded
+				return 0;
+			}
+			maxActive += replica.connectionProvider.getMaxActive();
+		}
+		return maxActive;
+	}
+
+	@Override
+	public int getOpenConnectionCount() {
+		int count = primary.getOpenConnectionCount();
+		for ( Replica replica : replicas ) {
+			count += replica.connectionProvider.getOpenConnectionCount();
+		}
+		return count;
+	}
+
+	@Override
+	public int getIdleConnectionCount() {
+		int count = primary.getIdleConnectionCount();
+		for ( Replica replica : replicas ) {
+			count += replica.connectionProvider.getIdleConnectionCount();
+		}
+		return count;
+	}
+
+	@Override
+	public int getActiveConnectionCount() {
+		int count = primary.getActiveConnectionCount();
+		for ( Replica replica : replicas ) {
+			count += replica.connectionProvider.getActiveConnectionCount();
+		}
+		return count;
+	}
+
+	@Override
+	public long getConnectionAcquisitionCount() {
+		long count = primary.getConnectionAcquisitionCount();
+		for ( Replica replica : replicas ) {
+			count += replica.connectionProvider.getConnectionAcquisitionCount();
+		}
+		return count;
+	}
+
+	@Override
+	public long getThreadAffinityHitCount() {
+		long count = primary.getThreadAffinityHitCount();
+		for ( Replica replica : replicas ) {
+			count += replica.connectionProvider.getThreadAffinityHitCount();
+		}
+		return count;
+	}
+
+	@Override
+	public long getConnectionCreationCount() {
+		long count = primary.getConnectionCreationCount();
+		for ( Replica replica : replicas ) {
+			count += replica.connectionProvider.getConnectionCreationCount();
+		}
+		return count;
+	}
+
+	@Override
+	public long getAcquisitionTimeoutCount() {
+		long count = primary.getAcquisitionTimeoutCount();
+		for ( Replica replica : replicas ) {
+			count += replica.connectionProvider.getAcquisitionTimeoutCount();
+		}
+		return count;
+	}
+
+	@Override
+	public long getConnectionLeakCount() {
+		long count = primary.getConnectionLeakCount();
+		for ( Replica replica : replicas ) {
+			count += replica.connectionProvider.getConnectionLeakCount();
+		}
+		return count;
+	}
+
+	private static class Replica {
+		private final String url;
+		private final DriverManagerConnectionProviderImpl connectionProvider;
+		private final AtomicInteger activeConnections = new AtomicInteger();
+		private volatile long lagCheckedAt;
+		private volatile boolean lagging;
+		private volatile long unavailableSince;
+
+		private Replica(String url, DriverManagerConnectionProviderImpl connectionProvider) {
+			this.url = url;
+			this.connectionProvider = connectionProvider;
+		}
+
+		private boolean isCandidate(long now, long checkInterval) {
+			final boolean unavailable = unavailableSince > 0 && now - unavailableSince < checkInterval;
+			return !unavailable && !( lagging && now - lagCheckedAt < checkInterval );
+		}
+	}
+}
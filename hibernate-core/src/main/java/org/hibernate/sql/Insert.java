@@ -39,6 +39,7 @@ public class Insert {
 	private String tableName;
 	private String comment;
 	private Map columns = new LinkedHashMap();
+	private int rowCount = 1;
 
 	public Insert(Dialect dialect) {
 		this.dialect = dialect;
@@ -104,8 +105,20 @@ public class Insert {
 		return this;
 	}
 
+	/**
+	 * Sets the number of rows inserted by the statement, repeating the values clause accordingly.
+	 * See {@link Dialect#getMultiRowInsertLimit}.
+	 *
+	 * @param rowCount The number of rows
+	 * @return this
+	 */
+	public Insert setRowCount(int rowCount) {
+		this.rowCount = rowCount;
+		return this;
+	}
+
 	public String toStatementString() {
-		StringBuffer buf = new StringBuffer( columns.size()*15 + tableName.length() + 10 );
+		StringBuffer buf = new StringBuffer( columns.size()*15 + ( columns.size()*3 + 2 )*( rowCount - 1 ) + tableName.length() + 10 );
 		if ( comment != null ) {
 			buf.append( "/* " ).append( comment ).append( " */ " );
 		}
@@ -123,15 +136,21 @@ public class Insert {
 					buf.append( ", " );
 				}
 			}
-			buf.append(") values (");
-			iter = columns.values().iterator();
-			while ( iter.hasNext() ) {
-				buf.append( iter.next() );
-				if ( iter.hasNext() ) {
+			buf.append(") values ");
+			for ( int row = 0; row < rowCount; row++ ) {
+				if ( row > 0 ) {
 					buf.append( ", " );
 				}
+				buf.append( '(' );
+				iter = columns.values().iterator();
+				while ( iter.hasNext() ) {
+					buf.append( iter.next() );
+					if ( iter.hasNext() ) {
+						buf.append( ", " );
+					}
+				}
+				buf.append( ')' );
 			}
-			buf.append(')');
 		}
 		return buf.toString();
 	}
@@ -124,6 +124,18 @@ public interface Statistics {
      */
 	public long getQueryCachePutCount();
 	/**
+	 * Get the global number of query plans successfully retrieved from the query plan cache
+	 */
+	public long getQueryPlanCacheHitCount();
+	/**
+	 * Get the global number of query plans *not* found in the query plan cache, and hence compiled
+	 */
+	public long getQueryPlanCacheMissCount();
+	/**
+	 * Get the global number of query plans evicted from the query plan cache
+	 */
+	public long getQueryPlanCacheEvictionCount();
+	/**
      * Get the global number of flush executed by sessions (either implicit or explicit)
      */
 	public long getFlushCount();
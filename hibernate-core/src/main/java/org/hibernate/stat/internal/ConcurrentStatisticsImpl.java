@@ -84,6 +84,10 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	private AtomicLong queryCacheMissCount = new AtomicLong();
 	private AtomicLong queryCachePutCount = new AtomicLong();
 
+	private AtomicLong queryPlanCacheHitCount = new AtomicLong();
+	private AtomicLong queryPlanCacheMissCount = new AtomicLong();
+	private AtomicLong queryPlanCacheEvictionCount = new AtomicLong();
+
 	private AtomicLong committedTransactionCount = new AtomicLong();
 	private AtomicLong transactionCount = new AtomicLong();
 
@@ -151,6 +155,10 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		queryCacheMissCount.set( 0 );
 		queryCachePutCount.set( 0 );
 
+		queryPlanCacheHitCount.set( 0 );
+		queryPlanCacheMissCount.set( 0 );
+		queryPlanCacheEvictionCount.set( 0 );
+
 		transactionCount.set( 0 );
 		committedTransactionCount.set( 0 );
 
@@ -374,6 +382,18 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		slcs.incrementPutCount();
 	}
 
+	public void queryPlanCacheHit() {
+		queryPlanCacheHitCount.getAndIncrement();
+	}
+
+	public void queryPlanCacheMiss() {
+		queryPlanCacheMissCount.getAndIncrement();
+	}
+
+	public void queryPlanCacheEviction() {
+		queryPlanCacheEvictionCount.getAndIncrement();
+	}
+
 	/**
 	 * Query statistics from query string (HQL or SQL)
 	 *
@@ -446,6 +466,18 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		return queryCachePutCount.get();
 	}
 
+	public long getQueryPlanCacheHitCount() {
+		return queryPlanCacheHitCount.get();
+	}
+
+	public long getQueryPlanCacheMissCount() {
+		return queryPlanCacheMissCount.get();
+	}
+
+	public long getQueryPlanCacheEvictionCount() {
+		return queryPlanCacheEvictionCount.get();
+	}
+
 	/**
 	 * @return flush
 	 */
@@ -571,6 +603,9 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
         LOG.queryCacheHits(queryCacheHitCount.get());
         LOG.queryCacheMisses(queryCacheMissCount.get());
         LOG.maxQueryTime(queryExecutionMaxTime.get());
+        LOG.queryPlanCacheHits(queryPlanCacheHitCount.get());
+        LOG.queryPlanCacheMisses(queryPlanCacheMissCount.get());
+        LOG.queryPlanCacheEvictions(queryPlanCacheEvictionCount.get());
 	}
 
 	/**
@@ -710,6 +745,9 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 				.append( ",query cache hits=" ).append( queryCacheHitCount )
 				.append( ",query cache misses=" ).append( queryCacheMissCount )
 				.append( ",max query time=" ).append( queryExecutionMaxTime )
+				.append( ",query plan cache hits=" ).append( queryPlanCacheHitCount )
+				.append( ",query plan cache misses=" ).append( queryPlanCacheMissCount )
+				.append( ",query plan cache evictions=" ).append( queryPlanCacheEvictionCount )
 				.append( ']' )
 				.toString();
 	}
@@ -196,6 +196,21 @@ public interface StatisticsImplementor extends Statistics, Service {
 	 */
 	public void queryCacheMiss(String hql, String regionName);
 
+	/**
+	 * Callback indicating a query plan was found in the query plan cache.
+	 */
+	public void queryPlanCacheHit();
+
+	/**
+	 * Callback indicating a query plan was not found in the query plan cache and had to be compiled.
+	 */
+	public void queryPlanCacheMiss();
+
+	/**
+	 * Callback indicating a query plan was evicted from the query plan cache.
+	 */
+	public void queryPlanCacheEviction();
+
 	/**
 	 * Callback indicating execution of a sql/hql query
 	 *
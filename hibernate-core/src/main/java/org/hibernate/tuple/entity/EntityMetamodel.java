@@ -86,6 +86,7 @@ public class EntityMetamodel implements Serializable {
 	private final boolean[] propertyUpdateability;
 	private final boolean[] nonlazyPropertyUpdateability;
 	private final boolean[] propertyCheckability;
+	private final boolean[] mutablePropertyCheckability;
 	private final boolean[] propertyInsertability;
 	private final ValueInclusion[] insertInclusions;
 	private final ValueInclusion[] updateInclusions;
@@ -153,6 +154,7 @@ public class EntityMetamodel implements Serializable {
 		updateInclusions = new ValueInclusion[propertySpan];
 		nonlazyPropertyUpdateability = new boolean[propertySpan];
 		propertyCheckability = new boolean[propertySpan];
+		mutablePropertyCheckability = new boolean[propertySpan];
 		propertyNullability = new boolean[propertySpan];
 		propertyVersionability = new boolean[propertySpan];
 		propertyLaziness = new boolean[propertySpan];
@@ -226,6 +228,7 @@ public class EntityMetamodel implements Serializable {
 			}
 
 			if ( propertyTypes[i].isMutable() && propertyCheckability[i] ) {
+				mutablePropertyCheckability[i] = true;
 				foundMutable = true;
 			}
 
@@ -600,6 +603,15 @@ public class EntityMetamodel implements Serializable {
 		return propertyCheckability;
 	}
 
+	/**
+	 * The checkable properties of a mutable type, which may change without the entity ever being written to.
+	 *
+	 * @return Per property, whether it is both checkable and mutable
+	 */
+	public boolean[] getMutablePropertyCheckability() {
+		return mutablePropertyCheckability;
+	}
+
 	public boolean[] getNonlazyPropertyUpdateability() {
 		return nonlazyPropertyUpdateability;
 	}
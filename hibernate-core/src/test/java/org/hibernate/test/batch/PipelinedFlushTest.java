@@ -0,0 +1,153 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.batch;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.type.Type;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests flushing sessions with {@link Environment#PIPELINED_FLUSH} enabled.
+ */
+public class PipelinedFlushTest extends BaseCoreFunctionalTestCase {
+	private static final int ROWS = 55;
+
+	@Override
+	public String[] getMappings() {
+		return new String[] { "batch/DataPoint.hbm.xml" };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		cfg.setProperty( Environment.STATEMENT_BATCH_SIZE, "10" );
+		cfg.setProperty( Environment.PIPELINED_FLUSH, "true" );
+	}
+
+	@Test
+	public void testFlush() {
+		Session s = openSession();
+		s.beginTransaction();
+		DataPoint existing = dataPoint( -1 );
+		s.save( existing );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		existing = (DataPoint) s.get( DataPoint.class, existing.getId() );
+		existing.setDescription( "updated" );
+		for ( int i = 0; i < ROWS; i++ ) {
+			s.save( dataPoint( i ) );
+		}
+		s.flush();
+		// modified after the insertions are executed, so updated by the next flush
+		existing.setDescription( "updated again" );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( Long.valueOf( ROWS + 1 ), s.createQuery( "select count(*) from DataPoint" ).uniqueResult() );
+		assertEquals( "updated again", ( (DataPoint) s.get( DataPoint.class, existing.getId() ) ).getDescription() );
+		List points = s.createQuery( "from DataPoint where description = 'point 42'" ).list();
+		assertEquals( 1, points.size() );
+		s.createQuery( "delete DataPoint" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testFailingFlush() {
+		Session s = openSession();
+		s.beginTransaction();
+		DataPoint existing = dataPoint( -1 );
+		s.save( existing );
+		s.getTransaction().commit();
+		s.close();
+
+		final RuntimeException failure = new RuntimeException( "dirty checking failed" );
+		s = openSession(
+				new EmptyInterceptor() {
+					@Override
+					public int[] findDirty(
+							Object entity,
+							Serializable id,
+							Object[] currentState,
+							Object[] previousState,
+							String[] propertyNames,
+							Type[] types) {
+						if ( "fail".equals( ( (DataPoint) entity ).getDescription() ) ) {
+							throw failure;
+						}
+						return null;
+					}
+				}
+		);
+		s.beginTransaction();
+		existing = (DataPoint) s.get( DataPoint.class, existing.getId() );
+		existing.setDescription( "fail" );
+		for ( int i = 0; i < ROWS; i++ ) {
+			s.save( dataPoint( i ) );
+		}
+		try {
+			// the insert batches are handed over before dirty checking fails
+			s.flush();
+			fail( "expecting the flush to fail" );
+		}
+		catch ( RuntimeException e ) {
+			assertSame( failure, e );
+		}
+		s.getTransaction().rollback();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( Long.valueOf( 1 ), s.createQuery( "select count(*) from DataPoint" ).uniqueResult() );
+		s.createQuery( "delete DataPoint" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private DataPoint dataPoint(int i) {
+		DataPoint dataPoint = new DataPoint();
+		dataPoint.setX( new BigDecimal( i ) );
+		dataPoint.setY( new BigDecimal( Math.cos( i ) ) );
+		dataPoint.setDescription( "point " + i );
+		return dataPoint;
+	}
+}
@@ -0,0 +1,206 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.batchfetch;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.hibernate.EntityMode;
+import org.hibernate.Hibernate;
+import org.hibernate.LockMode;
+import org.hibernate.Session;
+import org.hibernate.engine.SessionImplementor;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.persister.collection.CollectionPersister;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the queue of uninitialized collections kept per role for batch
+ * fetching follows the collections of the persistence context.
+ */
+public class BatchFetchQueueTest extends BaseCoreFunctionalTestCase {
+	private static final String TRACKS = Album.class.getName() + ".tracks";
+	private static final String GENRES = Artist.class.getName() + ".genres";
+	private static final Long NOT_QUEUED = Long.valueOf( -1 );
+
+	@Override
+	public String[] getMappings() {
+		return new String[] { "batchfetch/Album.hbm.xml" };
+	}
+
+	@Override
+	protected void prepareTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( long i = 1; i <= 3; i++ ) {
+			Album album = new Album();
+			album.setId( Long.valueOf( i ) );
+			album.setTitle( "album " + i );
+			album.getTracks().add( "track " + i );
+			s.save( album );
+			Artist artist = new Artist();
+			artist.setId( Long.valueOf( 10 + i ) );
+			artist.setName( "artist " + i );
+			artist.getGenres().add( "genre " + i );
+			s.save( artist );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Override
+	protected void cleanupTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		Iterator owners = s.createQuery( "from Album" ).list().iterator();
+		while ( owners.hasNext() ) {
+			s.delete( owners.next() );
+		}
+		owners = s.createQuery( "from Artist" ).list().iterator();
+		while ( owners.hasNext() ) {
+			s.delete( owners.next() );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testBatchContainsOnlyKeysOfRole() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( long i = 1; i <= 3; i++ ) {
+			s.get( Album.class, Long.valueOf( i ) );
+			s.get( Artist.class, Long.valueOf( 10 + i ) );
+		}
+		assertEquals( keys( 1, 2, 3 ), queuedKeys( s, TRACKS ) );
+		assertEquals( keys( 11, 12, 13 ), queuedKeys( s, GENRES ) );
+
+		Album album = (Album) s.get( Album.class, Long.valueOf( 1 ) );
+		Hibernate.initialize( album.getTracks() );
+		assertEquals( keys(), queuedKeys( s, TRACKS ) );
+		assertEquals( keys( 11, 12, 13 ), queuedKeys( s, GENRES ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testEvictionRemovesQueuedCollections() {
+		Session s = openSession();
+		s.beginTransaction();
+		Album first = (Album) s.get( Album.class, Long.valueOf( 1 ) );
+		Album second = (Album) s.get( Album.class, Long.valueOf( 2 ) );
+		Album third = (Album) s.get( Album.class, Long.valueOf( 3 ) );
+		assertEquals( keys( 1, 2, 3 ), queuedKeys( s, TRACKS ) );
+
+		s.evict( second );
+		assertEquals( keys( 1, 3 ), queuedKeys( s, TRACKS ) );
+
+		// refreshing evicts the collections of the entity before reloading it
+		s.refresh( first );
+		assertEquals( keys( 3, 1 ), queuedKeys( s, TRACKS ) );
+
+		Hibernate.initialize( third.getTracks() );
+		assertTrue( Hibernate.isInitialized( first.getTracks() ) );
+		assertFalse( Hibernate.isInitialized( second.getTracks() ) );
+		assertEquals( keys(), queuedKeys( s, TRACKS ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testReassociationReplacesQueuedCollections() {
+		Session s = openSession();
+		s.beginTransaction();
+		Album first = (Album) s.get( Album.class, Long.valueOf( 1 ) );
+		Album second = (Album) s.get( Album.class, Long.valueOf( 2 ) );
+		Album third = (Album) s.get( Album.class, Long.valueOf( 3 ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		s.evict( s.get( Album.class, Long.valueOf( 1 ) ) );
+		s.update( first );
+		s.lock( second, LockMode.NONE );
+		assertEquals( keys( 1, 2 ), queuedKeys( s, TRACKS ) );
+
+		s.evict( first );
+		s.lock( third, LockMode.NONE );
+		assertEquals( keys( 2, 3 ), queuedKeys( s, TRACKS ) );
+
+		Hibernate.initialize( second.getTracks() );
+		assertTrue( Hibernate.isInitialized( third.getTracks() ) );
+		assertFalse( Hibernate.isInitialized( first.getTracks() ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testDeserializationQueuesUninitializedCollections() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.get( Album.class, Long.valueOf( 1 ) );
+		s.createQuery( "from Album a left join fetch a.tracks where a.id = 2" ).list();
+		s.evict( s.get( Album.class, Long.valueOf( 3 ) ) );
+		s.get( Artist.class, Long.valueOf( 11 ) );
+		s.getTransaction().commit();
+		s.disconnect();
+
+		Session clone = (Session) SerializationHelper.clone( s );
+		s.close();
+		assertEquals( keys( 1 ), queuedKeys( clone, TRACKS ) );
+		assertEquals( keys( 11 ), queuedKeys( clone, GENRES ) );
+		clone.close();
+	}
+
+	private List<Serializable> queuedKeys(Session s, String role) {
+		CollectionPersister persister = sessionFactory().getCollectionPersister( role );
+		// the requested key always comes first, the queued ones follow it
+		Serializable[] batch = ( (SessionImplementor) s ).getPersistenceContext()
+				.getBatchFetchQueue()
+				.getCollectionBatch( persister, NOT_QUEUED, 10, EntityMode.POJO );
+		List<Serializable> keys = new ArrayList<Serializable>();
+		for ( int i = 1; i < batch.length && batch[i] != null; i++ ) {
+			keys.add( batch[i] );
+		}
+		return keys;
+	}
+
+	private static List<Serializable> keys(long... ids) {
+		List<Serializable> keys = new ArrayList<Serializable>();
+		for ( long id : ids ) {
+			keys.add( Long.valueOf( id ) );
+		}
+		return keys;
+	}
+}
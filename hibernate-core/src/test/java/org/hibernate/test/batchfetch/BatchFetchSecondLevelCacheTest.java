@@ -0,0 +1,143 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.batchfetch;
+
+import java.io.Serializable;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.stat.Statistics;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that batch fetching only reads from the database those entities
+ * which are missing from the second-level cache.
+ */
+public class BatchFetchSecondLevelCacheTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "batchfetch/ProductLine.hbm.xml" };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		cfg.setProperty( Environment.USE_SECOND_LEVEL_CACHE, "true" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected String getCacheConcurrencyStrategy() {
+		return "nonstrict-read-write";
+	}
+
+	@Test
+	public void testCachedEntitiesAreLeftOutOfBatch() {
+		Serializable[] ids = createProductLinesCachingSecond();
+		Statistics stats = sessionFactory().getStatistics();
+		stats.clear();
+
+		Session s = openSession();
+		s.beginTransaction();
+		ProductLine first = (ProductLine) s.load( ProductLine.class, ids[0] );
+		ProductLine second = (ProductLine) s.load( ProductLine.class, ids[1] );
+		ProductLine third = (ProductLine) s.load( ProductLine.class, ids[2] );
+		assertEquals( "line 0", first.getDescription() );
+		assertTrue( Hibernate.isInitialized( third ) );
+		assertFalse( Hibernate.isInitialized( second ) );
+		assertEquals( 2, stats.getEntityLoadCount() );
+		assertEquals( 1, stats.getPrepareStatementCount() );
+
+		assertEquals( "line 1", second.getDescription() );
+		assertEquals( 2, stats.getEntityLoadCount() );
+		assertEquals( 1, stats.getSecondLevelCacheHitCount() );
+
+		s.delete( first );
+		s.delete( second );
+		s.delete( third );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testCacheIsReadAgainWhenLoading() {
+		Serializable[] ids = createProductLinesCachingSecond();
+		Statistics stats = sessionFactory().getStatistics();
+		stats.clear();
+
+		Session s = openSession();
+		s.beginTransaction();
+		ProductLine first = (ProductLine) s.load( ProductLine.class, ids[0] );
+		ProductLine second = (ProductLine) s.load( ProductLine.class, ids[1] );
+		ProductLine third = (ProductLine) s.load( ProductLine.class, ids[2] );
+		assertEquals( "line 0", first.getDescription() );
+		assertFalse( Hibernate.isInitialized( second ) );
+
+		// the entry found while building the batch is gone by the time the entity gets loaded
+		sessionFactory().getCache().evictEntityRegion( ProductLine.class );
+		assertEquals( "line 1", second.getDescription() );
+		assertEquals( 3, stats.getEntityLoadCount() );
+		assertEquals( 2, stats.getPrepareStatementCount() );
+		assertEquals( 0, stats.getSecondLevelCacheHitCount() );
+
+		s.delete( first );
+		s.delete( second );
+		s.delete( third );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	/**
+	 * Create three product lines, of which only the second is held in the cache.
+	 */
+	private Serializable[] createProductLinesCachingSecond() {
+		Session s = openSession();
+		s.beginTransaction();
+		Serializable[] ids = new Serializable[3];
+		for ( int i = 0; i < ids.length; i++ ) {
+			ProductLine productLine = new ProductLine();
+			productLine.setDescription( "line " + i );
+			ids[i] = s.save( productLine );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getCache().evictEntityRegion( ProductLine.class );
+
+		s = openSession();
+		s.beginTransaction();
+		s.get( ProductLine.class, ids[1] );
+		s.getTransaction().commit();
+		s.close();
+		return ids;
+	}
+}
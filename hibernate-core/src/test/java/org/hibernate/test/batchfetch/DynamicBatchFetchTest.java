@@ -0,0 +1,96 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2006-2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.batchfetch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests batch fetching with {@link Environment#DYNAMIC_BATCH_FETCH} enabled.
+ */
+public class DynamicBatchFetchTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "batchfetch/ProductLine.hbm.xml" };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		cfg.setProperty( Environment.DYNAMIC_BATCH_FETCH, "true" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testAllPendingProxiesLoadedInOneQuery() {
+		// 13 is not one of the pre-built batch sizes for a batch-size of 64 (64, 32, 16, 10, 9, ...)
+		final int count = 13;
+		List<String> ids = new ArrayList<String>();
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < count; i++ ) {
+			ProductLine productLine = new ProductLine();
+			productLine.setDescription( "line " + i );
+			s.save( productLine );
+			ids.add( productLine.getId() );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		List<ProductLine> proxies = new ArrayList<ProductLine>();
+		for ( String id : ids ) {
+			proxies.add( (ProductLine) s.load( ProductLine.class, id ) );
+		}
+		for ( ProductLine proxy : proxies ) {
+			assertFalse( Hibernate.isInitialized( proxy ) );
+		}
+
+		sessionFactory().getStatistics().clear();
+		proxies.get( 0 ).getDescription();
+		for ( ProductLine proxy : proxies ) {
+			assertTrue( Hibernate.isInitialized( proxy ) );
+		}
+		assertEquals( 1, sessionFactory().getStatistics().getPrepareStatementCount() );
+
+		for ( ProductLine proxy : proxies ) {
+			s.delete( proxy );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+}
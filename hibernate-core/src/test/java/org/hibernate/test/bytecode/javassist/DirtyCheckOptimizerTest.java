@@ -0,0 +1,126 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.bytecode.javassist;
+
+import java.util.Date;
+
+import org.hibernate.Session;
+import org.hibernate.bytecode.internal.javassist.BytecodeProviderImpl;
+import org.hibernate.bytecode.spi.DirtyCheckOptimizer;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.hibernate.test.bytecode.Bean;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests flushing with {@link Environment#USE_DIRTY_CHECK_OPTIMIZER} enabled.
+ */
+public class DirtyCheckOptimizerTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "bytecode/Bean.hbm.xml" };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		cfg.setProperty( Environment.USE_DIRTY_CHECK_OPTIMIZER, "true" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testGeneratedChecker() {
+		EntityPersister persister = sessionFactory().getEntityPersister( Bean.class.getName() );
+		boolean[] updateability = persister.getPropertyUpdateability();
+		boolean[][] includeColumns = new boolean[updateability.length][];
+		for ( int i = 0; i < updateability.length; i++ ) {
+			includeColumns[i] = new boolean[] { updateability[i] };
+		}
+		DirtyCheckOptimizer optimizer = new BytecodeProviderImpl().getDirtyCheckOptimizer(
+				persister.getEntityName(),
+				persister.getEntityMetamodel().getProperties(),
+				includeColumns
+		);
+		assertNotNull( optimizer );
+
+		// someLong, someInteger, someDate, somelong, someint, someObject
+		Object[] previous = new Object[] { 1L, 2, new Date( 0 ), 3L, 4, "x" };
+		Object[] current = new Object[] { 1L, 2, new Date( 0 ), 3L, 4, "x" };
+		assertNull( optimizer.findDirty( current, previous, false, null ) );
+
+		current = new Object[] { null, 2, new Date( 0 ), 5L, 4, "y" };
+		assertArrayEquals( new int[] { 0, 3, 5 }, optimizer.findDirty( current, previous, false, null ) );
+		assertArrayEquals( new int[] { 0, 3, 5 }, optimizer.findDirty( previous, current, false, null ) );
+
+		// someLong, someDate and someObject only
+		boolean[] includeProperties = new boolean[] { true, false, true, false, false, true };
+		assertArrayEquals( new int[] { 0, 5 }, optimizer.findDirty( current, previous, includeProperties, false, null ) );
+		includeProperties = new boolean[] { false, true, true, false, true, false };
+		assertNull( optimizer.findDirty( current, previous, includeProperties, false, null ) );
+	}
+
+	@Test
+	public void testOnlyModifiedEntitiesUpdated() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 3; i++ ) {
+			Bean bean = new Bean();
+			bean.setSomeString( "bean" + i );
+			bean.setSomeLong( (long) i );
+			bean.setSomeint( i );
+			s.save( bean );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getStatistics().clear();
+		s = openSession();
+		s.beginTransaction();
+		Bean bean = (Bean) s.get( Bean.class, "bean1" );
+		s.get( Bean.class, "bean0" );
+		s.get( Bean.class, "bean2" );
+		bean.setSomeLong( null );
+		bean.setSomeint( 42 );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 1, sessionFactory().getStatistics().getEntityUpdateCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		bean = (Bean) s.get( Bean.class, "bean1" );
+		assertNull( bean.getSomeLong() );
+		assertEquals( 42, bean.getSomeint() );
+		s.createQuery( "delete Bean" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
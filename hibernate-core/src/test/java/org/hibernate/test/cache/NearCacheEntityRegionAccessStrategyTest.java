@@ -0,0 +1,233 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.cache.EntityRegion;
+import org.hibernate.cache.ObservableEntityRegion;
+import org.hibernate.cache.RegionInvalidationListener;
+import org.hibernate.cache.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.access.SoftLock;
+import org.hibernate.cache.impl.NearCacheEntityRegionAccessStrategy;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link NearCacheEntityRegionAccessStrategy}.
+ */
+public class NearCacheEntityRegionAccessStrategyTest extends BaseUnitTestCase {
+	@Test
+	public void testHitsAreServedLocally() {
+		MapAccessStrategy delegate = new MapAccessStrategy();
+		NearCacheEntityRegionAccessStrategy nearCache = new NearCacheEntityRegionAccessStrategy( delegate, 10 );
+		delegate.putFromLoad( "key", "value", 1, null );
+
+		assertEquals( "value", nearCache.get( "key", 10 ) );
+		assertEquals( "value", nearCache.get( "key", 20 ) );
+		assertEquals( 1, delegate.getCount );
+
+		// an older transaction is not served what a newer one read
+		assertEquals( "value", nearCache.get( "key", 5 ) );
+		assertEquals( 2, delegate.getCount );
+	}
+
+	@Test
+	public void testLocalChangesInvalidate() {
+		MapAccessStrategy delegate = new MapAccessStrategy();
+		NearCacheEntityRegionAccessStrategy nearCache = new NearCacheEntityRegionAccessStrategy( delegate, 10 );
+		delegate.putFromLoad( "key", "value", 1, null );
+		assertEquals( "value", nearCache.get( "key", 10 ) );
+
+		nearCache.update( "key", "new value", null, null );
+		assertEquals( "new value", nearCache.get( "key", 10 ) );
+
+		nearCache.evictAll();
+		assertNull( nearCache.get( "key", 10 ) );
+	}
+
+	@Test
+	public void testRegionInvalidationsInvalidate() {
+		MapAccessStrategy delegate = new MapAccessStrategy();
+		NearCacheEntityRegionAccessStrategy nearCache = new NearCacheEntityRegionAccessStrategy( delegate, 10 );
+		delegate.putFromLoad( "key", "value", 1, null );
+		assertEquals( "value", nearCache.get( "key", 10 ) );
+
+		// a change made on another node
+		delegate.map.put( "key", "remote value" );
+		delegate.listener.invalidated( "key" );
+		assertEquals( "remote value", nearCache.get( "key", 10 ) );
+
+		delegate.map.clear();
+		delegate.listener.invalidatedAll();
+		assertNull( nearCache.get( "key", 10 ) );
+	}
+
+	@Test
+	public void testSizeIsBounded() {
+		MapAccessStrategy delegate = new MapAccessStrategy();
+		NearCacheEntityRegionAccessStrategy nearCache = new NearCacheEntityRegionAccessStrategy( delegate, 10 );
+		for ( int i = 0; i < 100; i++ ) {
+			delegate.putFromLoad( Integer.valueOf( i ), "value " + i, 1, null );
+			nearCache.get( Integer.valueOf( i ), 10 );
+		}
+		delegate.getCount = 0;
+		for ( int i = 0; i < 100; i++ ) {
+			assertEquals( "value " + i, nearCache.get( Integer.valueOf( i ), 10 ) );
+		}
+		assertTrue( delegate.getCount >= 90 );
+	}
+
+	@Test
+	public void testGetAllOnlyFetchesMissesFromRegion() {
+		MapAccessStrategy delegate = new MapAccessStrategy();
+		NearCacheEntityRegionAccessStrategy nearCache = new NearCacheEntityRegionAccessStrategy( delegate, 10 );
+		delegate.putFromLoad( "a", "value a", 1, null );
+		delegate.putFromLoad( "b", "value b", 1, null );
+		assertEquals( "value a", nearCache.get( "a", 10 ) );
+		delegate.getCount = 0;
+
+		Map<Object, Object> values = nearCache.getAll( Arrays.asList( "a", "b", "c" ), 10 );
+		assertEquals( 2, values.size() );
+		assertEquals( "value a", values.get( "a" ) );
+		assertEquals( "value b", values.get( "b" ) );
+		// "a" was served locally, "b" and "c" were looked up together
+		assertEquals( 2, delegate.getCount );
+		assertEquals( 1, delegate.getAllCount );
+
+		// "b" is now held locally too
+		assertEquals( "value b", nearCache.get( "b", 10 ) );
+		assertEquals( 2, delegate.getCount );
+	}
+
+	private static class MapAccessStrategy implements EntityRegionAccessStrategy {
+		private final Map<Object, Object> map = new HashMap<Object, Object>();
+		private int getCount;
+		private int getAllCount;
+		private RegionInvalidationListener listener;
+		private final ObservableEntityRegion region = (ObservableEntityRegion) Proxy.newProxyInstance(
+				ObservableEntityRegion.class.getClassLoader(),
+				new Class[] { ObservableEntityRegion.class },
+				new InvocationHandler() {
+					public Object invoke(Object proxy, Method method, Object[] args) {
+						if ( method.getName().equals( "addRegionInvalidationListener" ) ) {
+							listener = (RegionInvalidationListener) args[0];
+							return null;
+						}
+						throw new UnsupportedOperationException( method.getName() );
+					}
+				}
+		);
+
+		public EntityRegion getRegion() {
+			return region;
+		}
+
+		public Object get(Object key, long txTimestamp) {
+			getCount++;
+			return map.get( key );
+		}
+
+		public Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) {
+			getAllCount++;
+			Map<Object, Object> result = new HashMap<Object, Object>();
+			for ( Object key : keys ) {
+				Object value = get( key, txTimestamp );
+				if ( value != null ) {
+					result.put( key, value );
+				}
+			}
+			return result;
+		}
+
+		public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version) {
+			map.put( key, value );
+			return true;
+		}
+
+		public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version, boolean minimalPutOverride) {
+			return putFromLoad( key, value, txTimestamp, version );
+		}
+
+		public SoftLock lockItem(Object key, Object version) {
+			return null;
+		}
+
+		public SoftLock lockRegion() {
+			return null;
+		}
+
+		public void unlockItem(Object key, SoftLock lock) {
+		}
+
+		public void unlockRegion(SoftLock lock) {
+		}
+
+		public boolean insert(Object key, Object value, Object version) {
+			map.put( key, value );
+			return true;
+		}
+
+		public boolean afterInsert(Object key, Object value, Object version) {
+			return false;
+		}
+
+		public boolean update(Object key, Object value, Object currentVersion, Object previousVersion) {
+			map.put( key, value );
+			return true;
+		}
+
+		public boolean afterUpdate(Object key, Object value, Object currentVersion, Object previousVersion, SoftLock lock) {
+			return false;
+		}
+
+		public void remove(Object key) {
+			map.remove( key );
+		}
+
+		public void removeAll() {
+			map.clear();
+		}
+
+		public void evict(Object key) {
+			map.remove( key );
+		}
+
+		public void evictAll() {
+			map.clear();
+		}
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache;
+
+import org.hibernate.cache.impl.offheap.OffHeapCache;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the off-heap {@link OffHeapCache}.
+ */
+public class OffHeapCacheTest extends BaseUnitTestCase {
+	@Test
+	public void testPutGetRemove() {
+		OffHeapCache cache = new OffHeapCache( "test", 4096, 1024 );
+		cache.put( "a", "alpha" );
+		cache.put( "b", Long.valueOf( 2 ) );
+		assertEquals( "alpha", cache.get( "a" ) );
+		assertEquals( Long.valueOf( 2 ), cache.get( "b" ) );
+		assertEquals( 2, cache.getElementCountInMemory() );
+		assertTrue( cache.getSizeInMemory() > 0 );
+
+		cache.put( "a", "another alpha" );
+		assertEquals( "another alpha", cache.get( "a" ) );
+		assertEquals( 2, cache.getElementCountInMemory() );
+
+		cache.remove( "a" );
+		assertNull( cache.get( "a" ) );
+		assertEquals( 1, cache.toMap().size() );
+
+		cache.clear();
+		assertNull( cache.get( "b" ) );
+		assertEquals( 0, cache.getElementCountInMemory() );
+		assertEquals( 0, cache.getSizeInMemory() );
+		cache.destroy();
+	}
+
+	@Test
+	public void testSizeBoundedEviction() {
+		OffHeapCache cache = new OffHeapCache( "test", 2048, 512 );
+		for ( int i = 0; i < 1000; i++ ) {
+			cache.put( Integer.valueOf( i ), "value " + i );
+		}
+		assertTrue( cache.getSizeInMemory() <= 2048 );
+		assertTrue( cache.getElementCountInMemory() < 1000 );
+		// the oldest entries went first
+		assertNull( cache.get( Integer.valueOf( 0 ) ) );
+		assertEquals( "value 999", cache.get( Integer.valueOf( 999 ) ) );
+		cache.destroy();
+	}
+
+	@Test
+	public void testEntryLargerThanSegmentIsNotCached() {
+		OffHeapCache cache = new OffHeapCache( "test", 2048, 512 );
+		cache.put( "big", "small" );
+		cache.put( "big", new byte[1024] );
+		assertNull( cache.get( "big" ) );
+		assertEquals( 0, cache.getElementCountInMemory() );
+		cache.destroy();
+	}
+}
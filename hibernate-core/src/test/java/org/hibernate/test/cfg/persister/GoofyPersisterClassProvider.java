@@ -147,6 +147,10 @@ public class GoofyPersisterClassProvider implements PersisterClassResolver {
 			return new int[0];  //To change body of implemented methods use File | Settings | File Templates.
 		}
 
+		public int[] findDirty(Object[] currentState, Object[] previousState, boolean[] includeProperties, Object owner, SessionImplementor session) {
+			return new int[0];
+		}
+
 		public int[] findModified(Object[] old, Object[] current, Object object, SessionImplementor session) {
 			return new int[0];  //To change body of implemented methods use File | Settings | File Templates.
 		}
@@ -637,6 +641,10 @@ public class GoofyPersisterClassProvider implements PersisterClassResolver {
 			return false;  //To change body of implemented methods use File | Settings | File Templates.
 		}
 
+		public boolean isBatchLoadable() {
+			return false;  //To change body of implemented methods use File | Settings | File Templates.
+		}
+
 		public String getNodeName() {
 			return null;  //To change body of implemented methods use File | Settings | File Templates.
 		}
@@ -31,10 +31,14 @@ import org.hibernate.cfg.Configuration;
 import org.hibernate.cfg.Environment;
 import org.hibernate.collection.PersistentSet;
 import org.hibernate.criterion.Restrictions;
+import org.hibernate.engine.CollectionKey;
+import org.hibernate.engine.PersistenceContext;
+import org.hibernate.engine.SessionImplementor;
 import org.hibernate.stat.CollectionStatistics;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
@@ -409,4 +413,46 @@ public class PersistentSetTest extends BaseCoreFunctionalTestCase {
 		session.getTransaction().commit();
 		session.close();
 	}
+
+	@Test
+	public void testCollectionKeysAfterFlush() {
+		Session session = openSession();
+		session.beginTransaction();
+		Parent p1 = new Parent( "p1" );
+		Parent p2 = new Parent( "p2" );
+		session.save( p1 );
+		session.save( p2 );
+		session.getTransaction().commit();
+		session.close();
+
+		session = openSession();
+		session.beginTransaction();
+		p1 = ( Parent ) session.get( Parent.class, "p1" );
+		p2 = ( Parent ) session.get( Parent.class, "p2" );
+		PersistenceContext persistenceContext = ( ( SessionImplementor ) session ).getPersistenceContext();
+		assertEquals( 2, persistenceContext.getCollectionsByKey().size() );
+
+		// replacing the set dereferences the old one and takes over its key
+		p1.setChildren( new HashSet() );
+		session.flush();
+		assertEquals( 2, persistenceContext.getCollectionsByKey().size() );
+		assertEquals( 2, persistenceContext.getCollectionEntries().size() );
+		CollectionKey key = new CollectionKey(
+				persistenceContext.getCollectionEntry( ( PersistentSet ) p1.getChildren() ).getLoadedPersister(),
+				"p1",
+				session.getEntityMode()
+		);
+		assertSame( p1.getChildren(), persistenceContext.getCollection( key ) );
+
+		// removing the owner unmaps its collection
+		session.delete( p2 );
+		session.flush();
+		assertEquals( 1, persistenceContext.getCollectionsByKey().size() );
+		assertEquals( 1, persistenceContext.getCollectionEntries().size() );
+		assertSame( p1.getChildren(), persistenceContext.getCollection( key ) );
+
+		session.delete( p1 );
+		session.getTransaction().commit();
+		session.close();
+	}
 }
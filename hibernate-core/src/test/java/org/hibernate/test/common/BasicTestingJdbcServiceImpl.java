@@ -53,6 +53,7 @@ public class BasicTestingJdbcServiceImpl implements JdbcServices {
 	private Dialect dialect;
 	private SqlStatementLogger sqlStatementLogger;
 	private SqlExceptionHelper exceptionHelper;
+	private int statementCacheSize;
 	private final ExtractedDatabaseMetaData metaDataSupport = new MetaDataSupportImpl();
 	private final ResultSetWrapper resultSetWrapper = ResultSetWrapperImpl.INSTANCE;
 
@@ -97,6 +98,14 @@ public class BasicTestingJdbcServiceImpl implements JdbcServices {
 		return sqlStatementLogger;
 	}
 
+	public int getStatementCacheSize() {
+		return statementCacheSize;
+	}
+
+	public void setStatementCacheSize(int statementCacheSize) {
+		this.statementCacheSize = statementCacheSize;
+	}
+
 	public SqlExceptionHelper getSqlExceptionHelper() {
 		return exceptionHelper;
 	}
@@ -31,6 +31,8 @@ import org.hibernate.engine.jdbc.batch.spi.BatchObserver;
 public class JournalingBatchObserver implements BatchObserver {
 	private int implicitExecutionCount;
 	private int explicitExecutionCount;
+	private int executionCount;
+	private int executedRowCount;
 
 	@Override
 	public void batchExplicitlyExecuted() {
@@ -42,6 +44,12 @@ public class JournalingBatchObserver implements BatchObserver {
 		implicitExecutionCount++;
 	}
 
+	@Override
+	public void batchExecuted(int rowCount, long elapsedNanos) {
+		executionCount++;
+		executedRowCount += rowCount;
+	}
+
 	public int getImplicitExecutionCount() {
 		return implicitExecutionCount;
 	}
@@ -50,8 +58,18 @@ public class JournalingBatchObserver implements BatchObserver {
 		return explicitExecutionCount;
 	}
 
+	public int getExecutionCount() {
+		return executionCount;
+	}
+
+	public int getExecutedRowCount() {
+		return executedRowCount;
+	}
+
 	public void reset() {
 		explicitExecutionCount = 0;
 		implicitExecutionCount = 0;
+		executionCount = 0;
+		executedRowCount = 0;
 	}
 }
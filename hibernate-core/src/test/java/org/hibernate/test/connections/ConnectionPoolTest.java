@@ -0,0 +1,151 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.connections;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+
+import org.junit.Test;
+
+import org.hibernate.cfg.Environment;
+import org.hibernate.service.jdbc.connections.internal.DriverManagerConnectionProviderImpl;
+
+import org.hibernate.testing.env.ConnectionProviderBuilder;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the built-in connection pool
+ */
+public class ConnectionPoolTest extends BaseUnitTestCase {
+	private DriverManagerConnectionProviderImpl buildConnectionProvider(String... settings) {
+		Properties props = ConnectionProviderBuilder.getConnectionProviderProperties();
+		for ( int i = 0; i < settings.length; i += 2 ) {
+			props.put( settings[i], settings[i + 1] );
+		}
+		DriverManagerConnectionProviderImpl connectionProvider = new DriverManagerConnectionProviderImpl();
+		connectionProvider.configure( props );
+		return connectionProvider;
+	}
+
+	@Test
+	public void testThreadAffinity() throws SQLException {
+		DriverManagerConnectionProviderImpl connectionProvider = buildConnectionProvider();
+		try {
+			Connection first = connectionProvider.getConnection();
+			Connection second = connectionProvider.getConnection();
+			assertNotSame( first, second );
+			connectionProvider.closeConnection( first );
+			connectionProvider.closeConnection( second );
+
+			assertSame( second, connectionProvider.getConnection() );
+			assertEquals( 1, connectionProvider.getThreadAffinityHitCount() );
+			assertSame( first, connectionProvider.getConnection() );
+			assertEquals( 2, connectionProvider.getConnectionCreationCount() );
+			assertEquals( 2, connectionProvider.getActiveConnectionCount() );
+		}
+		finally {
+			connectionProvider.stop();
+		}
+	}
+
+	@Test
+	public void testPoolSize() throws SQLException {
+		DriverManagerConnectionProviderImpl connectionProvider = buildConnectionProvider( Environment.POOL_SIZE, "1" );
+		try {
+			Connection first = connectionProvider.getConnection();
+			Connection second = connectionProvider.getConnection();
+			assertEquals( 2, connectionProvider.getOpenConnectionCount() );
+
+			// pool_size bounds the inactive connections only, more may be open while checked out
+			connectionProvider.closeConnection( first );
+			assertFalse( first.isClosed() );
+			assertEquals( 1, connectionProvider.getIdleConnectionCount() );
+			assertSame( first, connectionProvider.getConnection() );
+			assertEquals( 0, connectionProvider.getIdleConnectionCount() );
+			assertEquals( 2, connectionProvider.getConnectionCreationCount() );
+
+			connectionProvider.closeConnection( first );
+			connectionProvider.closeConnection( second );
+			assertEquals( 1, connectionProvider.getOpenConnectionCount() );
+			assertEquals( 1, connectionProvider.getIdleConnectionCount() );
+			assertFalse( first.isClosed() );
+			assertTrue( second.isClosed() );
+			assertSame( first, connectionProvider.getConnection() );
+			assertEquals( 2, connectionProvider.getConnectionCreationCount() );
+		}
+		finally {
+			connectionProvider.stop();
+		}
+	}
+
+	@Test
+	public void testAcquisitionTimeout() throws SQLException {
+		DriverManagerConnectionProviderImpl connectionProvider = buildConnectionProvider(
+				Environment.POOL_MAX_ACTIVE, "1",
+				Environment.POOL_ACQUIRE_TIMEOUT, "50"
+		);
+		try {
+			Connection connection = connectionProvider.getConnection();
+			try {
+				connectionProvider.getConnection();
+				fail( "expecting acquisition to time out" );
+			}
+			catch ( SQLException expected ) {
+			}
+			assertEquals( 1, connectionProvider.getAcquisitionTimeoutCount() );
+			connectionProvider.closeConnection( connection );
+			assertSame( connection, connectionProvider.getConnection() );
+		}
+		finally {
+			connectionProvider.stop();
+		}
+	}
+
+	@Test
+	public void testIdleTimeout() throws Exception {
+		DriverManagerConnectionProviderImpl connectionProvider = buildConnectionProvider(
+				Environment.POOL_IDLE_TIMEOUT, "10",
+				Environment.POOL_VALIDATION_TIMEOUT, "1"
+		);
+		try {
+			Connection connection = connectionProvider.getConnection();
+			connectionProvider.closeConnection( connection );
+			Thread.sleep( 50 );
+			assertNotSame( connection, connectionProvider.getConnection() );
+			assertTrue( connection.isClosed() );
+			assertEquals( 1, connectionProvider.getOpenConnectionCount() );
+		}
+		finally {
+			connectionProvider.stop();
+		}
+	}
+}
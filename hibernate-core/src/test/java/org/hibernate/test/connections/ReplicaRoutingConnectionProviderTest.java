@@ -0,0 +1,122 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.connections;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+
+import org.junit.Test;
+
+import org.hibernate.cfg.Environment;
+import org.hibernate.service.jdbc.connections.internal.ReplicaRoutingConnectionProviderImpl;
+
+import org.hibernate.testing.env.ConnectionProviderBuilder;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests routing of read-only connections to read replicas
+ */
+public class ReplicaRoutingConnectionProviderTest extends BaseUnitTestCase {
+	private static final String REPLICA_URLS = String.format( ConnectionProviderBuilder.URL, "replica1" )
+			+ ", " + String.format( ConnectionProviderBuilder.URL, "replica2" );
+
+	private ReplicaRoutingConnectionProviderImpl buildConnectionProvider(String... settings) {
+		Properties props = ConnectionProviderBuilder.getConnectionProviderProperties( "primary" );
+		props.put( Environment.REPLICA_URLS, REPLICA_URLS );
+		for ( int i = 0; i < settings.length; i += 2 ) {
+			props.put( settings[i], settings[i + 1] );
+		}
+		ReplicaRoutingConnectionProviderImpl connectionProvider = new ReplicaRoutingConnectionProviderImpl();
+		connectionProvider.configure( props );
+		return connectionProvider;
+	}
+
+	private static String databaseOf(Connection connection) throws SQLException {
+		return connection.getMetaData().getURL();
+	}
+
+	@Test
+	public void testRouting() throws SQLException {
+		ReplicaRoutingConnectionProviderImpl connectionProvider = buildConnectionProvider();
+		try {
+			Connection primary = connectionProvider.getConnection();
+			assertTrue( databaseOf( primary ).contains( "primary" ) );
+
+			Connection first = connectionProvider.getReadOnlyConnection();
+			Connection second = connectionProvider.getReadOnlyConnection();
+			assertTrue( databaseOf( first ).contains( "replica" ) );
+			assertTrue( databaseOf( second ).contains( "replica" ) );
+			// the replica with the fewest connections in use is chosen
+			assertFalse( databaseOf( first ).equals( databaseOf( second ) ) );
+
+			connectionProvider.closeConnection( first );
+			connectionProvider.closeConnection( second );
+			connectionProvider.closeConnection( primary );
+		}
+		finally {
+			connectionProvider.stop();
+		}
+	}
+
+	@Test
+	public void testMetricsAggregatePools() throws SQLException {
+		ReplicaRoutingConnectionProviderImpl connectionProvider = buildConnectionProvider( Environment.POOL_SIZE, "5" );
+		try {
+			assertEquals( 15, connectionProvider.getPoolSize() );
+			Connection primary = connectionProvider.getConnection();
+			Connection replica = connectionProvider.getReadOnlyConnection();
+			assertEquals( 2, connectionProvider.getActiveConnectionCount() );
+			assertEquals( 2, connectionProvider.getOpenConnectionCount() );
+			connectionProvider.closeConnection( replica );
+			connectionProvider.closeConnection( primary );
+			assertEquals( 0, connectionProvider.getActiveConnectionCount() );
+			assertEquals( 2, connectionProvider.getIdleConnectionCount() );
+			assertEquals( 2, connectionProvider.getConnectionAcquisitionCount() );
+		}
+		finally {
+			connectionProvider.stop();
+		}
+	}
+
+	@Test
+	public void testLaggingReplicasAreSkipped() throws SQLException {
+		ReplicaRoutingConnectionProviderImpl connectionProvider = buildConnectionProvider(
+				Environment.REPLICA_LAG_QUERY, "select 60",
+				Environment.REPLICA_MAX_LAG, "10"
+		);
+		try {
+			Connection connection = connectionProvider.getReadOnlyConnection();
+			assertTrue( databaseOf( connection ).contains( "primary" ) );
+			connectionProvider.closeConnection( connection );
+		}
+		finally {
+			connectionProvider.stop();
+		}
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.flush;
+
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.SessionFactoryImplementor;
+import org.hibernate.event.EventType;
+import org.hibernate.event.FlushEntityEvent;
+import org.hibernate.event.FlushEntityEventListener;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.integrator.spi.IntegratorService;
+import org.hibernate.service.internal.BasicServiceRegistryImpl;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that an auto-flush is skipped without dirty checking when the query
+ * cannot be affected by anything held in the session.
+ */
+public class AutoFlushQuerySpacesTest extends BaseCoreFunctionalTestCase {
+	private static final CountingFlushEntityEventListener LISTENER = new CountingFlushEntityEventListener();
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Author.class, Book.class, Publisher.class, Reader.class };
+	}
+
+	@Override
+	protected void applyServices(BasicServiceRegistryImpl serviceRegistry) {
+		super.applyServices( serviceRegistry );
+		serviceRegistry.getService( IntegratorService.class ).addIntegrator(
+				new Integrator() {
+					@Override
+					public void integrate(
+							Configuration configuration,
+							SessionFactoryImplementor sessionFactory,
+							SessionFactoryServiceRegistry serviceRegistry) {
+						serviceRegistry.getService( EventListenerRegistry.class )
+								.getEventListenerGroup( EventType.FLUSH_ENTITY )
+								.appendListener( LISTENER );
+					}
+
+					@Override
+					public void disintegrate(
+							SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+					}
+				}
+		);
+	}
+
+	@Test
+	public void testUnaffectedQuerySkipsDirtyCheck() {
+		Session s = openSession();
+		s.beginTransaction();
+		Publisher publisher = new Publisher( "acme" );
+		Author author = new Author( "john" );
+		author.setPublisher( publisher );
+		publisher.getAuthors().add( author );
+		s.save( author );
+		s.save( new Reader( "jane" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		author = (Author) s.get( Author.class, author.getId() );
+		author.setName( "jack" );
+
+		LISTENER.count = 0;
+		assertEquals( 1, s.createQuery( "from Reader" ).list().size() );
+		assertEquals( 0, LISTENER.count );
+
+		assertEquals( 1, s.createQuery( "from Author where name = 'jack'" ).list().size() );
+		assertTrue( LISTENER.count > 0 );
+
+		s.delete( author );
+		s.createQuery( "delete Reader" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private static class CountingFlushEntityEventListener implements FlushEntityEventListener {
+		private int count;
+
+		@Override
+		public void onFlushEntity(FlushEntityEvent event) throws HibernateException {
+			count++;
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package org.hibernate.test.insertordering;
+
+
+/**
+ * Root of a single table hierarchy referencing a {@link Customer}.
+ */
+public class Animal {
+	private Long id;
+	private Customer owner;
+
+	/**
+	 * For persistence
+	 */
+	Animal() {
+	}
+
+	public Animal(Customer owner) {
+		this.owner = owner;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Customer getOwner() {
+		return owner;
+	}
+}
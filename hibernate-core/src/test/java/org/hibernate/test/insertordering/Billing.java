@@ -0,0 +1,29 @@
+package org.hibernate.test.insertordering;
+
+
+/**
+ * Component of {@link PurchaseOrder} holding its reference to the {@link Customer}.
+ */
+public class Billing {
+	private Customer customer;
+	private String reference;
+
+	/**
+	 * For persistence
+	 */
+	Billing() {
+	}
+
+	public Billing(Customer customer, String reference) {
+		this.customer = customer;
+		this.reference = reference;
+	}
+
+	public Customer getCustomer() {
+		return customer;
+	}
+
+	public String getReference() {
+		return reference;
+	}
+}
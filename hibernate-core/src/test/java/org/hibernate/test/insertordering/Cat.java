@@ -0,0 +1,17 @@
+package org.hibernate.test.insertordering;
+
+
+/**
+ * Subclass of {@link Animal}.
+ */
+public class Cat extends Animal {
+	/**
+	 * For persistence
+	 */
+	Cat() {
+	}
+
+	public Cat(Customer owner) {
+		super( owner );
+	}
+}
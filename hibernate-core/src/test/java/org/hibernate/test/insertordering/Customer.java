@@ -0,0 +1,28 @@
+package org.hibernate.test.insertordering;
+
+
+/**
+ * A customer, referenced by orders and animals.
+ */
+public class Customer {
+	private Long id;
+	private String name;
+
+	/**
+	 * For persistence
+	 */
+	Customer() {
+	}
+
+	public Customer(String name) {
+		this.name = name;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+}
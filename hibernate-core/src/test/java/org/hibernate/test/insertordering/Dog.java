@@ -0,0 +1,17 @@
+package org.hibernate.test.insertordering;
+
+
+/**
+ * Subclass of {@link Animal}.
+ */
+public class Dog extends Animal {
+	/**
+	 * For persistence
+	 */
+	Dog() {
+	}
+
+	public Dog(Customer owner) {
+		super( owner );
+	}
+}
@@ -43,6 +43,8 @@ import org.junit.Test;
 import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Steve Ebersole
@@ -50,7 +52,7 @@ import static org.junit.Assert.assertEquals;
 public class InsertOrderingTest extends BaseCoreFunctionalTestCase {
 	@Override
 	public String[] getMappings() {
-		return new String[] { "insertordering/Mapping.hbm.xml" };
+		return new String[] { "insertordering/Mapping.hbm.xml", "insertordering/Dependencies.hbm.xml" };
 	}
 
 	@Override
@@ -89,8 +91,131 @@ public class InsertOrderingTest extends BaseCoreFunctionalTestCase {
 		s.close();
 	}
 
+	/**
+	 * Saves a membership before the user and group it references are saved, so the membership inserts must
+	 * follow those of the entities appearing after them.
+	 */
+	@Test
+	public void testBackwardReference() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.save( new Membership( null, null ) );
+		int iterations = 12;
+		for ( int i = 0; i < iterations; i++ ) {
+			User user = new User( "user-" + i );
+			Group group = new Group( "group-" + i );
+			s.save( user );
+			s.save( group );
+			s.save( new Membership( user, group ) );
+		}
+		StatsBatch.reset();
+		s.getTransaction().commit();
+		s.close();
+
+		assertBatches(
+				new String[] { "INS_ORD_MEM", "INS_ORD_USR", "INS_ORD_GRP", "INS_ORD_MEM" },
+				new int[] { 1, iterations, iterations, iterations }
+		);
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete from " + Membership.class.getName() ).executeUpdate();
+		s.createQuery( "delete from " + User.class.getName() ).executeUpdate();
+		s.createQuery( "delete from " + Group.class.getName() ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	/**
+	 * Orders reference their customer through a component and line items their order through the composite id.
+	 */
+	@Test
+	public void testReferenceThroughComponentAndCompositeId() {
+		Session s = openSession();
+		s.beginTransaction();
+		PurchaseOrder unbilled = new PurchaseOrder( new Billing( null, "unbilled" ) );
+		s.save( unbilled );
+		s.save( new LineItem( unbilled, 1, "product" ) );
+		int iterations = 12;
+		for ( int i = 0; i < iterations; i++ ) {
+			Customer customer = new Customer( "customer-" + i );
+			PurchaseOrder order = new PurchaseOrder( new Billing( customer, "order-" + i ) );
+			s.save( customer );
+			s.save( order );
+			s.save( new LineItem( order, 1, "product" ) );
+			s.save( new LineItem( order, 2, "product" ) );
+		}
+		StatsBatch.reset();
+		s.getTransaction().commit();
+		s.close();
+
+		assertBatches(
+				new String[] { "INS_ORD_PO", "INS_ORD_LINE", "INS_ORD_CUST", "INS_ORD_PO", "INS_ORD_LINE" },
+				new int[] { 1, 1, iterations, iterations, 2 * iterations }
+		);
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete from LineItem" ).executeUpdate();
+		s.createQuery( "delete from PurchaseOrder" ).executeUpdate();
+		s.createQuery( "delete from Customer" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	/**
+	 * Subclasses of one hierarchy are inserted in runs per subclass, after the customers they reference.
+	 */
+	@Test
+	public void testInheritanceHierarchy() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.save( new Dog( null ) );
+		int iterations = 12;
+		for ( int i = 0; i < iterations; i++ ) {
+			Customer customer = new Customer( "customer-" + i );
+			s.save( customer );
+			s.save( new Dog( customer ) );
+			s.save( new Cat( customer ) );
+		}
+		StatsBatch.reset();
+		s.getTransaction().commit();
+		s.close();
+
+		assertBatches(
+				new String[] { "INS_ORD_ANML", "INS_ORD_CUST", "INS_ORD_ANML", "INS_ORD_ANML" },
+				new int[] { 1, iterations, iterations, iterations }
+		);
+		assertEquals(
+				( (Counter) StatsBatch.batchSizes.get( 0 ) ).sql,
+				( (Counter) StatsBatch.batchSizes.get( 2 ) ).sql
+		);
+		assertFalse(
+				( (Counter) StatsBatch.batchSizes.get( 2 ) ).sql.equals(
+						( (Counter) StatsBatch.batchSizes.get( 3 ) ).sql
+				)
+		);
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete from Animal" ).executeUpdate();
+		s.createQuery( "delete from Customer" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private void assertBatches(String[] tables, int[] sizes) {
+		assertEquals( tables.length, StatsBatch.batchSizes.size() );
+		for ( int i = 0; i < tables.length; i++ ) {
+			Counter counter = (Counter) StatsBatch.batchSizes.get( i );
+			assertTrue( counter.sql, counter.sql.startsWith( "insert into " + tables[i] + " " ) );
+			assertEquals( sizes[i], counter.count );
+		}
+	}
+
 	public static class Counter {
 		public int count = 0;
+		public String sql;
 	}
 
 	public static class StatsBatch extends BatchingBatch {
@@ -113,7 +238,9 @@ public class InsertOrderingTest extends BaseCoreFunctionalTestCase {
 			if ( batchSQL == null || ! batchSQL.equals( sql ) ) {
 				currentBatch++;
 				batchSQL = sql;
-				batchSizes.add( currentBatch, new Counter() );
+				Counter counter = new Counter();
+				counter.sql = sql;
+				batchSizes.add( currentBatch, counter );
 			}
 			return super.getBatchStatement( sql, callable );
 		}
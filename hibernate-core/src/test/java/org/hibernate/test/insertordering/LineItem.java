@@ -0,0 +1,29 @@
+package org.hibernate.test.insertordering;
+
+
+/**
+ * A line of a {@link PurchaseOrder}, identified by the order and its line number.
+ */
+public class LineItem {
+	private LineItemId id;
+	private String product;
+
+	/**
+	 * For persistence
+	 */
+	LineItem() {
+	}
+
+	public LineItem(PurchaseOrder order, int lineNumber, String product) {
+		this.id = new LineItemId( order, lineNumber );
+		this.product = product;
+	}
+
+	public LineItemId getId() {
+		return id;
+	}
+
+	public String getProduct() {
+		return product;
+	}
+}
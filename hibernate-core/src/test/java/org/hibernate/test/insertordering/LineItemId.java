@@ -0,0 +1,46 @@
+package org.hibernate.test.insertordering;
+import java.io.Serializable;
+
+/**
+ * Composite identifier of {@link LineItem}, referencing its {@link PurchaseOrder}.
+ */
+public class LineItemId implements Serializable {
+	private PurchaseOrder order;
+	private int lineNumber;
+
+	/**
+	 * For persistence
+	 */
+	LineItemId() {
+	}
+
+	public LineItemId(PurchaseOrder order, int lineNumber) {
+		this.order = order;
+		this.lineNumber = lineNumber;
+	}
+
+	public PurchaseOrder getOrder() {
+		return order;
+	}
+
+	public int getLineNumber() {
+		return lineNumber;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if ( this == o ) {
+			return true;
+		}
+		if ( !( o instanceof LineItemId ) ) {
+			return false;
+		}
+		LineItemId that = (LineItemId) o;
+		return lineNumber == that.lineNumber && order == that.order;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * System.identityHashCode( order ) + lineNumber;
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.insertordering;
+
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.dialect.SQLServer2008Dialect;
+import org.hibernate.persister.entity.MultiRowInsertable;
+
+import org.junit.Test;
+
+import org.hibernate.testing.RequiresDialect;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests inserts grouped into multi-row insert statements
+ */
+@RequiresDialect( { H2Dialect.class, MySQLDialect.class, PostgreSQLDialect.class, SQLServer2008Dialect.class } )
+public class MultiRowInsertTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "insertordering/Mapping.hbm.xml" };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.ORDER_INSERTS, "true" );
+		cfg.setProperty( Environment.USE_MULTI_ROW_INSERT, "true" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+		// without JDBC batching, each single-row insert prepares its own statement
+		cfg.setProperty( Environment.STATEMENT_BATCH_SIZE, "0" );
+	}
+
+	@Test
+	public void testMultiRowInsert() {
+		MultiRowInsertable persister = (MultiRowInsertable) sessionFactory().getEntityPersister( User.class.getName() );
+		assertTrue( persister.getMultiRowInsertLimit() > 1 );
+
+		sessionFactory().getStatistics().clear();
+		Session s = openSession();
+		s.beginTransaction();
+		int iterations = 12;
+		for ( int i = 0; i < iterations; i++ ) {
+			User user = new User( "user-" + i );
+			Group group = new Group( "group-" + i );
+			s.save( user );
+			s.save( group );
+			user.addMembership( group );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 3 * iterations, sessionFactory().getStatistics().getEntityInsertCount() );
+		// one insert statement and one select of the increment generator per entity
+		assertTrue( sessionFactory().getStatistics().getPrepareStatementCount() < iterations );
+
+		s = openSession();
+		s.beginTransaction();
+		List users = s.createQuery( "from User u left join fetch u.memberships m left join fetch m.group" ).list();
+		assertEquals( iterations, users.size() );
+		for ( Object user : users ) {
+			assertTrue( ( (User) user ).getUsername().startsWith( "user-" ) );
+			assertTrue( ( (User) user ).getMemberships().hasNext() );
+			s.delete( user );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+}
@@ -0,0 +1,28 @@
+package org.hibernate.test.insertordering;
+
+
+/**
+ * An order, referencing its customer through the {@link Billing} component.
+ */
+public class PurchaseOrder {
+	private Long id;
+	private Billing billing;
+
+	/**
+	 * For persistence
+	 */
+	PurchaseOrder() {
+	}
+
+	public PurchaseOrder(Billing billing) {
+		this.billing = billing;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Billing getBilling() {
+		return billing;
+	}
+}
@@ -0,0 +1,52 @@
+package org.hibernate.test.instrument.cases;
+import java.util.Collections;
+import junit.framework.Assert;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.bytecode.instrumentation.internal.FieldInterceptionHelper;
+import org.hibernate.bytecode.instrumentation.spi.FieldInterceptor;
+import org.hibernate.test.instrument.domain.Folder;
+
+/**
+ * Checks that the field interceptor records which fields were actually changed.
+ */
+public class TestDirtyFieldTrackingExecutable extends AbstractExecutable {
+	public void execute() {
+		Session s = getFactory().openSession();
+		Transaction t = s.beginTransaction();
+		Folder docs = new Folder();
+		docs.setName("docs");
+		s.persist(docs);
+		t.commit();
+		s.close();
+
+		s = getFactory().openSession();
+		t = s.beginTransaction();
+		docs = (Folder) s.get( Folder.class, docs.getId() );
+		FieldInterceptor interceptor = FieldInterceptionHelper.extractFieldInterceptor( docs );
+		Assert.assertFalse( interceptor.isDirty() );
+		Assert.assertEquals( Collections.emptySet(), interceptor.getDirtyFields() );
+
+		// writing back the same value is not a change
+		docs.setName( docs.getName() );
+		Assert.assertFalse( interceptor.isDirty() );
+
+		docs.setName("documents");
+		Assert.assertTrue( interceptor.isDirty() );
+		Assert.assertEquals( Collections.singleton( "name" ), interceptor.getDirtyFields() );
+		t.commit();
+		Assert.assertFalse( interceptor.isDirty() );
+		s.close();
+
+		s = getFactory().openSession();
+		t = s.beginTransaction();
+		docs = (Folder) s.get( Folder.class, docs.getId() );
+		Assert.assertEquals( "documents", docs.getName() );
+		interceptor = FieldInterceptionHelper.extractFieldInterceptor( docs );
+		interceptor.dirty();
+		Assert.assertNull( interceptor.getDirtyFields() );
+		s.delete( docs );
+		t.commit();
+		s.close();
+	}
+}
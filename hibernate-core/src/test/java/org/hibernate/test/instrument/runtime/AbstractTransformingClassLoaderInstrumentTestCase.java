@@ -88,6 +88,11 @@ public abstract class AbstractTransformingClassLoaderInstrumentTestCase extends
 		executeExecutable( "org.hibernate.test.instrument.cases.TestDirtyCheckExecutable" );
 	}
 
+	@Test
+	public void testDirtyFieldTracking() {
+		executeExecutable( "org.hibernate.test.instrument.cases.TestDirtyFieldTrackingExecutable" );
+	}
+
 	@Test
 	public void testFetchAll() throws Exception {
 		executeExecutable( "org.hibernate.test.instrument.cases.TestFetchAllExecutable" );
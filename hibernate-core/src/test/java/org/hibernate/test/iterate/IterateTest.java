@@ -44,7 +44,7 @@ import static org.junit.Assert.assertTrue;
  */
 public class IterateTest extends BaseCoreFunctionalTestCase {
 	public String[] getMappings() {
-		return new String[] { "iterate/Item.hbm.xml" };
+		return new String[] { "iterate/Item.hbm.xml", "iterate/Product.hbm.xml" };
 	}
 
 	public void configure(Configuration cfg) {
@@ -119,5 +119,95 @@ public class IterateTest extends BaseCoreFunctionalTestCase {
 		s.close();
 		assertEquals( sessionFactory().getStatistics().getEntityFetchCount(), 0 );
 	}
-}
 
+	@Test
+	public void testStream() throws Exception {
+		Session s = openSession();
+		Transaction t = s.beginTransaction();
+		for ( String name : new String[] { "a", "b", "c", "d", "e" } ) {
+			s.persist( "Item", new Item( name ) );
+		}
+		t.commit();
+		s.close();
+
+		s = openSession();
+		t = s.beginTransaction();
+		Iterator iter = s.getNamedQuery( "Item.nameDesc" ).stream( 2 );
+		Item first = (Item) iter.next();
+		Item second = (Item) iter.next();
+		assertEquals( "e", first.getName() );
+		assertTrue( s.contains( first ) );
+		assertTrue( s.contains( second ) );
+		Item third = (Item) iter.next();
+		assertEquals( "c", third.getName() );
+		assertFalse( s.contains( first ) );
+		assertFalse( s.contains( second ) );
+		assertTrue( s.contains( third ) );
+		iter.next();
+		iter.next();
+		assertFalse( iter.hasNext() );
+		t.commit();
+		s.close();
+
+		s = openSession();
+		t = s.beginTransaction();
+		iter = s.createCriteria( "Item" ).stream( 0 );
+		int count = 0;
+		while ( iter.hasNext() ) {
+			assertTrue( s.contains( iter.next() ) );
+			count++;
+		}
+		assertEquals( 5, count );
+		iter = s.getNamedQuery( "Item.nameDesc" ).stream( 0 );
+		iter.next();
+		Hibernate.close( iter );
+		assertFalse( iter.hasNext() );
+		s.createQuery( "delete Item" ).executeUpdate();
+		t.commit();
+		s.close();
+	}
+
+	@Test
+	public void testStreamWithAssociations() throws Exception {
+		Session s = openSession();
+		Transaction t = s.beginTransaction();
+		for ( int i = 0; i < 6; i++ ) {
+			Category category = new Category( "category " + i );
+			s.persist( category );
+			s.persist( new Product( "product " + i, category ) );
+		}
+		t.commit();
+		s.close();
+
+		s = openSession();
+		t = s.beginTransaction();
+		// evicting the results leaves the categories fetched with them in the session
+		Iterator iter = s.createQuery( "from Product p join fetch p.category order by p.name" ).stream( 2 );
+		int count = 0;
+		while ( iter.hasNext() ) {
+			Product product = (Product) iter.next();
+			assertTrue( Hibernate.isInitialized( product.getCategory() ) );
+			count++;
+		}
+		assertEquals( 6, count );
+		assertEquals( 6, s.getStatistics().getEntityCount() );
+		s.clear();
+
+		// clearing the session keeps the persistence context bounded
+		iter = s.createQuery( "from Product p join fetch p.category order by p.name" ).stream( 2, true );
+		count = 0;
+		while ( iter.hasNext() ) {
+			Product product = (Product) iter.next();
+			assertTrue( s.contains( product ) );
+			assertTrue( s.getStatistics().getEntityCount() <= 4 );
+			count++;
+		}
+		assertEquals( 6, count );
+		assertEquals( 0, s.getStatistics().getEntityCount() );
+
+		s.createQuery( "delete Product" ).executeUpdate();
+		s.createQuery( "delete Category" ).executeUpdate();
+		t.commit();
+		s.close();
+	}
+}
@@ -0,0 +1,70 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.jdbc;
+
+import org.hibernate.engine.jdbc.batch.internal.AdaptiveBatchSizer;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link AdaptiveBatchSizer}
+ */
+public class AdaptiveBatchSizerTest extends BaseUnitTestCase {
+	@Test
+	public void testGrowsWhileCheaperPerRow() {
+		AdaptiveBatchSizer sizer = new AdaptiveBatchSizer( 10, 100 );
+		// fixed cost of 1ms per round trip plus 1us per row
+		for ( int i = 0; i < 10; i++ ) {
+			int size = sizer.getBatchSize();
+			sizer.batchExecuted( size, 1000000L + size * 1000L );
+		}
+		assertTrue( sizer.getBatchSize() >= 50 );
+		assertTrue( sizer.getBatchSize() <= 100 );
+	}
+
+	@Test
+	public void testShrinksWhenLargerBatchesCostMore() {
+		AdaptiveBatchSizer sizer = new AdaptiveBatchSizer( 64, 64 );
+		// per row cost growing with the batch size, as when large rows exhaust driver buffers
+		for ( int i = 0; i < 20; i++ ) {
+			int size = sizer.getBatchSize();
+			sizer.batchExecuted( size, (long) size * size * 1000L );
+		}
+		assertTrue( sizer.getBatchSize() <= 4 );
+	}
+
+	@Test
+	public void testPartialBatchesIgnored() {
+		AdaptiveBatchSizer sizer = new AdaptiveBatchSizer( 10, 100 );
+		sizer.batchExecuted( 3, 1000000L );
+		assertEquals( 10, sizer.getBatchSize() );
+		sizer.batchExecuted( 10, 1000000L );
+		assertEquals( 20, sizer.getBatchSize() );
+	}
+}
@@ -25,6 +25,7 @@ package org.hibernate.test.jdbc.proxies;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.Statement;
 
 import org.hibernate.engine.jdbc.batch.internal.BasicBatchKey;
@@ -204,11 +205,14 @@ public class BatchingTest extends BaseUnitTestCase implements BatchKey {
 		insertBatch.addToBatch();
 		assertEquals( 0, batchObserver.getExplicitExecutionCount() );
 		assertEquals( 1, batchObserver.getImplicitExecutionCount() );
+		assertEquals( 1, batchObserver.getExecutionCount() );
+		assertEquals( 2, batchObserver.getExecutedRowCount() );
 		assertTrue( logicalConnection.getResourceRegistry().hasRegisteredResources() );
 
 		insertBatch.execute();
 		assertEquals( 1, batchObserver.getExplicitExecutionCount() );
 		assertEquals( 1, batchObserver.getImplicitExecutionCount() );
+		assertEquals( 1, batchObserver.getExecutionCount() );
 		assertFalse( logicalConnection.getResourceRegistry().hasRegisteredResources() );
 
 		insertBatch.release();
@@ -217,4 +221,64 @@ public class BatchingTest extends BaseUnitTestCase implements BatchKey {
 		logicalConnection.close();
 	}
 
+	@Test
+	public void testPipelinedBatchingUsage() throws Exception {
+		final TransactionContext transactionContext = new TransactionContextImpl( new TransactionEnvironmentImpl( serviceRegistry ) );
+
+		TransactionCoordinatorImpl transactionCoordinator = new TransactionCoordinatorImpl( null, transactionContext );
+		final JdbcCoordinator jdbcCoordinator = transactionCoordinator.getJdbcCoordinator();
+		LogicalConnectionImplementor logicalConnection = jdbcCoordinator.getLogicalConnection();
+		Connection connection = logicalConnection.getShareableConnectionProxy();
+
+		// set up some tables to use
+		Statement statement = connection.createStatement();
+		statement.execute( "drop table SANDBOX_JDBC_TST if exists" );
+		statement.execute( "create table SANDBOX_JDBC_TST ( ID integer, NAME varchar(100) )" );
+		statement.close();
+
+		TransactionImplementor txn = transactionCoordinator.getTransaction();
+		txn.begin();
+
+		final BatchBuilderImpl batchBuilder = new BatchBuilderImpl( 2 );
+		batchBuilder.setPipelinedExecution( true );
+		try {
+			final BatchKey batchKey = new BasicBatchKey( "this", Expectations.BASIC );
+			final Batch insertBatch = batchBuilder.buildBatch( batchKey, jdbcCoordinator );
+			assertTrue( "unexpected Batch impl", BatchingBatch.class.isInstance( insertBatch ) );
+
+			final JournalingBatchObserver batchObserver = new JournalingBatchObserver();
+			insertBatch.addObserver( batchObserver );
+
+			final String insertSql = "insert into SANDBOX_JDBC_TST( ID, NAME ) values ( ?, ? )";
+			for ( int i = 1; i <= 5; i++ ) {
+				PreparedStatement insert = insertBatch.getBatchStatement( insertSql, false );
+				insert.setLong( 1, i );
+				insert.setString( 2, "name " + i );
+				insertBatch.addToBatch();
+			}
+			assertEquals( 2, batchObserver.getImplicitExecutionCount() );
+			assertTrue( logicalConnection.getResourceRegistry().hasRegisteredResources() );
+
+			insertBatch.execute();
+			assertEquals( 1, batchObserver.getExplicitExecutionCount() );
+			assertEquals( 3, batchObserver.getExecutionCount() );
+			assertEquals( 5, batchObserver.getExecutedRowCount() );
+			assertFalse( logicalConnection.getResourceRegistry().hasRegisteredResources() );
+
+			insertBatch.release();
+		}
+		finally {
+			batchBuilder.stop();
+		}
+
+		statement = connection.createStatement();
+		ResultSet resultSet = statement.executeQuery( "select count(*) from SANDBOX_JDBC_TST" );
+		assertTrue( resultSet.next() );
+		assertEquals( 5, resultSet.getInt( 1 ) );
+		statement.close();
+
+		txn.commit();
+		logicalConnection.close();
+	}
+
 }
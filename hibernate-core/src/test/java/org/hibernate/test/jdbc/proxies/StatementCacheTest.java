@@ -0,0 +1,189 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.jdbc.proxies;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.hibernate.ConnectionReleaseMode;
+import org.hibernate.engine.jdbc.internal.LogicalConnectionImpl;
+import org.hibernate.engine.jdbc.internal.proxy.ProxyBuilder;
+import org.hibernate.engine.jdbc.spi.JdbcWrapper;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.hibernate.test.common.BasicTestingJdbcServiceImpl;
+import org.hibernate.test.common.JdbcConnectionAccessImpl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the reuse of prepared statements by the logical connection
+ */
+public class StatementCacheTest extends BaseUnitTestCase {
+	private BasicTestingJdbcServiceImpl services = new BasicTestingJdbcServiceImpl();
+
+	@Before
+	public void setUp() {
+		services.prepare( false );
+		services.setStatementCacheSize( 1 );
+	}
+
+	@After
+	public void tearDown() {
+		services.release();
+	}
+
+	@Test
+	@SuppressWarnings( {"unchecked"})
+	public void testStatementReuse() throws Throwable {
+		LogicalConnectionImpl logicalConnection = new LogicalConnectionImpl(
+				null,
+				ConnectionReleaseMode.AFTER_TRANSACTION,
+				services,
+				new JdbcConnectionAccessImpl( services.getConnectionProvider() )
+		);
+		Connection proxiedConnection = ProxyBuilder.buildConnection( logicalConnection );
+		PreparedStatement physical;
+		try {
+			Statement stmnt = proxiedConnection.createStatement();
+			stmnt.execute( "drop table SANDBOX_JDBC_TST if exists" );
+			stmnt.execute( "create table SANDBOX_JDBC_TST ( ID integer, NAME varchar(100) )" );
+			stmnt.close();
+
+			final String insertSql = "insert into SANDBOX_JDBC_TST( ID, NAME ) values ( ?, ? )";
+			PreparedStatement ps = proxiedConnection.prepareStatement( insertSql );
+			physical = ( (JdbcWrapper<PreparedStatement>) ps ).getWrappedObject();
+			ps.setLong( 1, 1 );
+			ps.setString( 2, "name" );
+			ps.execute();
+			ps.close();
+			assertFalse( logicalConnection.getResourceRegistry().hasRegisteredResources() );
+
+			// released statements are reused...
+			ps = proxiedConnection.prepareStatement( insertSql );
+			assertSame( physical, ( (JdbcWrapper<PreparedStatement>) ps ).getWrappedObject() );
+			ps.setLong( 1, 2 );
+			ps.setString( 2, "another name" );
+			ps.execute();
+
+			// ...but not shared
+			PreparedStatement ps2 = proxiedConnection.prepareStatement( insertSql );
+			assertNotSame( physical, ( (JdbcWrapper<PreparedStatement>) ps2 ).getWrappedObject() );
+			ps.close();
+			ps2.close();
+
+			// the least recently used statement gets evicted
+			final String selectSql = "select count(*) from SANDBOX_JDBC_TST";
+			ps = proxiedConnection.prepareStatement( selectSql );
+			ResultSet rs = ps.executeQuery();
+			assertTrue( rs.next() );
+			assertEquals( 2, rs.getInt( 1 ) );
+			ps.close();
+			assertTrue( physical.isClosed() );
+
+			ps = proxiedConnection.prepareStatement( selectSql );
+			physical = ( (JdbcWrapper<PreparedStatement>) ps ).getWrappedObject();
+			ps.close();
+			assertFalse( physical.isClosed() );
+		}
+		finally {
+			logicalConnection.close();
+		}
+		// closing the logical connection releases the cached statements
+		assertTrue( physical.isClosed() );
+	}
+
+	@Test
+	@SuppressWarnings( {"unchecked"})
+	public void testStatementSettingsAreResetBeforeReuse() throws Throwable {
+		LogicalConnectionImpl logicalConnection = new LogicalConnectionImpl(
+				null,
+				ConnectionReleaseMode.AFTER_TRANSACTION,
+				services,
+				new JdbcConnectionAccessImpl( services.getConnectionProvider() )
+		);
+		Connection proxiedConnection = ProxyBuilder.buildConnection( logicalConnection );
+		try {
+			final String selectSql = "select 1 from dual";
+			PreparedStatement ps = proxiedConnection.prepareStatement( selectSql );
+			PreparedStatement physical = ( (JdbcWrapper<PreparedStatement>) ps ).getWrappedObject();
+			final int fetchSize = physical.getFetchSize();
+			ps.setFetchSize( fetchSize + 50 );
+			ps.setMaxRows( 3 );
+			ps.close();
+
+			ps = proxiedConnection.prepareStatement( selectSql );
+			assertSame( physical, ( (JdbcWrapper<PreparedStatement>) ps ).getWrappedObject() );
+			assertEquals( fetchSize, ps.getFetchSize() );
+			assertEquals( 0, ps.getMaxRows() );
+			ps.close();
+		}
+		finally {
+			logicalConnection.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings( {"unchecked"})
+	public void testStatementIsNotReusedIfResetFails() throws Throwable {
+		LogicalConnectionImpl logicalConnection = new LogicalConnectionImpl(
+				null,
+				ConnectionReleaseMode.AFTER_TRANSACTION,
+				services,
+				new JdbcConnectionAccessImpl( services.getConnectionProvider() )
+		);
+		Connection proxiedConnection = ProxyBuilder.buildConnection( logicalConnection );
+		try {
+			final String selectSql = "select 1 from dual";
+			PreparedStatement ps = proxiedConnection.prepareStatement( selectSql );
+			PreparedStatement physical = ( (JdbcWrapper<PreparedStatement>) ps ).getWrappedObject();
+			// closing the physical statement makes clearing maxRows/queryTimeout fail on release
+			physical.close();
+			ps.close();
+
+			ps = proxiedConnection.prepareStatement( selectSql );
+			PreparedStatement reprepared = ( (JdbcWrapper<PreparedStatement>) ps ).getWrappedObject();
+			assertNotSame( physical, reprepared );
+			ps.close();
+			assertFalse( reprepared.isClosed() );
+
+			ps = proxiedConnection.prepareStatement( selectSql );
+			assertSame( reprepared, ( (JdbcWrapper<PreparedStatement>) ps ).getWrappedObject() );
+			ps.close();
+		}
+		finally {
+			logicalConnection.close();
+		}
+	}
+}
@@ -23,6 +23,13 @@
  */
 package org.hibernate.test.legacy;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.hibernate.cache.Cache;
 import org.hibernate.cache.CacheConcurrencyStrategy;
 import org.hibernate.cache.CacheProvider;
@@ -156,4 +163,59 @@ public class CacheTest extends BaseUnitTestCase {
 
 	}
 
+	@Test
+	public void testConcurrentLockAndRelease() throws Exception {
+		final Cache cache = new HashtableCacheProvider().buildCache( String.class.getName(), System.getProperties() );
+		final CacheConcurrencyStrategy ccs = new ReadWriteCache();
+		ccs.setCache( cache );
+
+		final String[] keys = new String[] { "a", "b", "c", "d", "e", "f", "g", "h" };
+		final long before = cache.nextTimestamp();
+		Thread.sleep( 15 );
+		for ( String key : keys ) {
+			assertTrue( ccs.put( key, key, before, null, null, false ) );
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool( 8 );
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+			for ( int t = 0; t < 8; t++ ) {
+				final int offset = t;
+				futures.add(
+						executor.submit(
+								new Callable<Object>() {
+									public Object call() throws Exception {
+										for ( int i = 0; i < 1000; i++ ) {
+											String key = keys[( i + offset ) % keys.length];
+											SoftLock lock = ccs.lock( key, null );
+											ccs.get( keys[( i + offset + 1 ) % keys.length], before );
+											ccs.release( key, lock );
+										}
+										return null;
+									}
+								}
+						)
+				);
+			}
+			for ( Future<?> future : futures ) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		// every lock was released, so each item may be re-cached and read again
+		Thread.sleep( 15 );
+		long after = cache.nextTimestamp();
+		for ( String key : keys ) {
+			assertTrue( ccs.put( key, key + "'", after, null, null, false ) );
+		}
+		Thread.sleep( 15 );
+		long later = cache.nextTimestamp();
+		for ( String key : keys ) {
+			assertTrue( ccs.get( key, later ).equals( key + "'" ) );
+		}
+	}
+
 }
@@ -255,6 +255,16 @@ public class CustomPersister implements EntityPersister {
 		}
 	}
 
+	public int[] findDirty(
+		Object[] x,
+		Object[] y,
+		boolean[] includeProperties,
+		Object owner,
+		SessionImplementor session
+	) throws HibernateException {
+		return includeProperties[0] ? findDirty( x, y, owner, session ) : null;
+	}
+
 	public int[] findModified(
 		Object[] x,
 		Object[] y,
@@ -23,11 +23,18 @@
  */
 package org.hibernate.test.stateless;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import org.hibernate.HibernateException;
 import org.hibernate.ScrollMode;
 import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
 import org.hibernate.StatelessSession;
 import org.hibernate.Transaction;
+import org.hibernate.transform.Transformers;
 
 import org.junit.Test;
 
@@ -36,6 +43,7 @@ import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.fail;
 
 /**
  * @author Gavin King
@@ -107,6 +115,99 @@ public class StatelessSessionTest extends BaseCoreFunctionalTestCase {
 		ss.close();
 	}
 
+	@Test
+	@SuppressWarnings( {"unchecked"})
+	public void testChunkedScroll() {
+		StatelessSession ss = sessionFactory().openStatelessSession();
+		Transaction tx = ss.beginTransaction();
+		for ( int i = 0; i < 10; i++ ) {
+			Paper paper = new Paper();
+			paper.setColor( "Color " + i );
+			ss.insert( paper );
+		}
+		tx.commit();
+
+		ExecutorService executor = Executors.newFixedThreadPool( 2 );
+		try {
+			tx = ss.beginTransaction();
+			ScrollableResults sr = ss.createQuery( "select p.id, p.color from Paper p order by p.id" )
+					.setResultTransformer( Transformers.TO_LIST )
+					.scroll( ScrollMode.FORWARD_ONLY );
+			Iterator<List> chunks = sr.chunks( 4, executor );
+			int count = 0;
+			while ( chunks.hasNext() ) {
+				List chunk = chunks.next();
+				assertEquals( count < 8 ? 4 : 2, chunk.size() );
+				for ( Object result : chunk ) {
+					assertEquals( "Color " + count++, ( (List) result ).get( 1 ) );
+				}
+			}
+			assertEquals( 10, count );
+			sr.close();
+			tx.commit();
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		tx = ss.beginTransaction();
+		ss.createQuery( "delete Paper" ).executeUpdate();
+		tx.commit();
+		ss.close();
+
+		Session s = openSession();
+		ScrollableResults sr = s.createQuery( "from Paper" ).scroll( ScrollMode.FORWARD_ONLY );
+		try {
+			sr.chunks( 4, executor );
+			fail( "expecting parallel transformation to be refused for a stateful session" );
+		}
+		catch ( HibernateException expected ) {
+		}
+		sr.close();
+		s.close();
+	}
+
+	@Test
+	@SuppressWarnings( {"unchecked"})
+	public void testChunkedScrollWithLazilyInitializedTransformer() {
+		StatelessSession ss = sessionFactory().openStatelessSession();
+		Transaction tx = ss.beginTransaction();
+		for ( int i = 0; i < 40; i++ ) {
+			Paper paper = new Paper();
+			paper.setColor( "Color " + i );
+			ss.insert( paper );
+		}
+		tx.commit();
+
+		ExecutorService executor = Executors.newFixedThreadPool( 4 );
+		try {
+			tx = ss.beginTransaction();
+			// the transformer looks up its setters on the first tuple it is given
+			ScrollableResults sr = ss.createQuery( "select p.id as id, p.color as color from Paper p order by p.id" )
+					.setResultTransformer( Transformers.aliasToBean( Paper.class ) )
+					.scroll( ScrollMode.FORWARD_ONLY );
+			Iterator<List> chunks = sr.chunks( 20, executor );
+			int count = 0;
+			while ( chunks.hasNext() ) {
+				for ( Object result : chunks.next() ) {
+					assertNotNull( ( (Paper) result ).getId() );
+					assertEquals( "Color " + count++, ( (Paper) result ).getColor() );
+				}
+			}
+			assertEquals( 40, count );
+			sr.close();
+			tx.commit();
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		tx = ss.beginTransaction();
+		ss.createQuery( "delete Paper" ).executeUpdate();
+		tx.commit();
+		ss.close();
+	}
+
 	@Test
 	public void testHqlBulk() {
 		StatelessSession ss = sessionFactory().openStatelessSession();
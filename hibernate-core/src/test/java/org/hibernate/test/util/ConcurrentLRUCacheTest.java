@@ -0,0 +1,130 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.internal.util.collections.ConcurrentLRUCache;
+import org.hibernate.internal.util.collections.SoftLimitMRUCache;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link ConcurrentLRUCache} and the {@link SoftLimitMRUCache} built on top of it.
+ */
+public class ConcurrentLRUCacheTest extends BaseUnitTestCase {
+	@Test
+	public void testLeastRecentlyUsedIsEvicted() {
+		final List<String> evicted = new ArrayList<String>();
+		ConcurrentLRUCache<String,String> cache = new ConcurrentLRUCache<String,String>(
+				3,
+				1,
+				new ConcurrentLRUCache.EvictionListener<String,String>() {
+					@Override
+					public void onEviction(String key, String value) {
+						evicted.add( key );
+					}
+				}
+		);
+		cache.put( "a", "A" );
+		cache.put( "b", "B" );
+		cache.put( "c", "C" );
+		// touch "a" so that "b" becomes the eldest entry
+		assertEquals( "A", cache.get( "a" ) );
+		cache.put( "d", "D" );
+
+		assertEquals( 3, cache.size() );
+		assertEquals( 1, evicted.size() );
+		assertEquals( "b", evicted.get( 0 ) );
+		assertNull( cache.get( "b" ) );
+		assertTrue( cache.containsKey( "a" ) );
+		assertTrue( cache.containsKey( "c" ) );
+		assertTrue( cache.containsKey( "d" ) );
+	}
+
+	@Test
+	public void testPutIfAbsentAndRemove() {
+		ConcurrentLRUCache<String,String> cache = new ConcurrentLRUCache<String,String>( 10 );
+		assertNull( cache.putIfAbsent( "a", "A" ) );
+		assertEquals( "A", cache.putIfAbsent( "a", "other" ) );
+		assertEquals( "A", cache.get( "a" ) );
+
+		assertFalse( cache.remove( "a", "other" ) );
+		assertTrue( cache.remove( "a", "A" ) );
+		assertFalse( cache.containsKey( "a" ) );
+
+		cache.put( "b", "B" );
+		cache.clear();
+		assertEquals( 0, cache.size() );
+	}
+
+	@Test
+	public void testSizeNeverExceedsCapacity() {
+		ConcurrentLRUCache<Integer,Integer> cache = new ConcurrentLRUCache<Integer,Integer>( 50 );
+		for ( int i = 0; i < 1000; i++ ) {
+			cache.put( i, i );
+			cache.get( i / 2 );
+		}
+		assertTrue( cache.size() <= 50 );
+	}
+
+	@Test
+	public void testSoftLimitDemotesStrongEvictions() {
+		final List<Object> evicted = new ArrayList<Object>();
+		SoftLimitMRUCache cache = new SoftLimitMRUCache(
+				1,
+				4,
+				new ConcurrentLRUCache.EvictionListener<Object,Object>() {
+					@Override
+					public void onEviction(Object key, Object value) {
+						evicted.add( key );
+					}
+				}
+		);
+		Object first = new Object();
+		cache.put( "first", first );
+		cache.put( "second", new Object() );
+
+		assertEquals( 1, cache.size() );
+		assertEquals( 2, cache.softSize() );
+		// still reachable through the soft reference map
+		assertSame( first, cache.get( "first" ) );
+		assertTrue( evicted.isEmpty() );
+
+		for ( int i = 0; i < 10; i++ ) {
+			cache.put( "key" + i, new Object() );
+		}
+		assertEquals( 4, cache.softSize() );
+		assertFalse( evicted.isEmpty() );
+	}
+}
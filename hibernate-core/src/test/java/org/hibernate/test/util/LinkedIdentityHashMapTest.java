@@ -0,0 +1,166 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.util;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.hibernate.internal.util.collections.IdentityMap;
+import org.hibernate.internal.util.collections.LinkedIdentityHashMap;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link LinkedIdentityHashMap}
+ */
+public class LinkedIdentityHashMapTest extends BaseUnitTestCase {
+	@Test
+	public void testKeysAreComparedByIdentity() {
+		Map map = new LinkedIdentityHashMap( 4 );
+		String key = new String( "key" );
+		String equalKey = new String( "key" );
+		map.put( key, "a" );
+		assertTrue( map.containsKey( key ) );
+		assertFalse( map.containsKey( equalKey ) );
+		assertNull( map.get( equalKey ) );
+		map.put( equalKey, "b" );
+		assertEquals( 2, map.size() );
+		assertEquals( "a", map.get( key ) );
+		assertEquals( "b", map.get( equalKey ) );
+		assertEquals( "a", map.remove( key ) );
+		assertNull( map.remove( key ) );
+		assertEquals( 1, map.size() );
+		assertEquals( "b", map.get( equalKey ) );
+	}
+
+	@Test
+	public void testIterationFollowsInsertionOrder() {
+		Map map = IdentityMap.instantiateSequenced( 2 );
+		List keys = new ArrayList();
+		for ( int i = 0; i < 100; i++ ) {
+			Object key = new Object();
+			keys.add( key );
+			map.put( key, Integer.valueOf( i ) );
+		}
+		// remove every third entry, and replace the value of another one (which must not move it)
+		for ( int i = 0; i < 100; i += 3 ) {
+			map.remove( keys.get( i ) );
+		}
+		map.put( keys.get( 1 ), "replaced" );
+		Object added = new Object();
+		map.put( added, "added" );
+
+		Iterator itr = IdentityMap.keyIterator( map );
+		for ( int i = 0; i < 100; i++ ) {
+			if ( i % 3 != 0 ) {
+				assertSame( keys.get( i ), itr.next() );
+			}
+		}
+		assertSame( added, itr.next() );
+		assertFalse( itr.hasNext() );
+
+		Map.Entry[] entries = IdentityMap.concurrentEntries( map );
+		assertEquals( map.size(), entries.length );
+		assertSame( keys.get( 1 ), entries[0].getKey() );
+		assertEquals( "replaced", entries[0].getValue() );
+		assertSame( added, entries[entries.length - 1].getKey() );
+	}
+
+	@Test
+	public void testEntriesAreSafeFromConcurrentModification() {
+		Map map = IdentityMap.instantiateSequenced( 4 );
+		for ( int i = 0; i < 10; i++ ) {
+			map.put( new Object(), Integer.valueOf( i ) );
+		}
+		Map.Entry[] entries = IdentityMap.concurrentEntries( map );
+		assertSame( entries, IdentityMap.concurrentEntries( map ) );
+		for ( Map.Entry entry : entries ) {
+			map.put( new Object(), entry.getValue() );
+		}
+		assertEquals( 20, map.size() );
+
+		Iterator itr = map.entrySet().iterator();
+		while ( itr.hasNext() ) {
+			map.remove( ( (Map.Entry) itr.next() ).getKey() );
+		}
+		assertTrue( map.isEmpty() );
+	}
+
+	@Test
+	public void testNullKeyAndValue() {
+		Map map = new LinkedIdentityHashMap( 4 );
+		map.put( null, "null key" );
+		map.put( "null value", null );
+		assertTrue( map.containsKey( null ) );
+		assertTrue( map.containsKey( "null value" ) );
+		assertTrue( map.containsValue( null ) );
+		assertEquals( "null key", map.get( null ) );
+		assertNull( IdentityMap.keyIterator( map ).next() );
+		assertEquals( "null key", map.remove( null ) );
+		assertFalse( map.containsKey( null ) );
+	}
+
+	@Test
+	public void testRandomOperationsMatchIdentityHashMap() {
+		Random random = new Random( 42 );
+		Object[] keys = new Object[500];
+		for ( int i = 0; i < keys.length; i++ ) {
+			keys[i] = new Object();
+		}
+		Map map = new LinkedIdentityHashMap( 4 );
+		IdentityHashMap expected = new IdentityHashMap();
+		for ( int i = 0; i < 50000; i++ ) {
+			Object key = keys[random.nextInt( keys.length )];
+			if ( random.nextInt( 3 ) == 0 ) {
+				assertEquals( expected.remove( key ), map.remove( key ) );
+			}
+			else {
+				Integer value = Integer.valueOf( i );
+				assertEquals( expected.put( key, value ), map.put( key, value ) );
+			}
+			assertEquals( expected.size(), map.size() );
+		}
+		for ( Object key : keys ) {
+			assertEquals( expected.get( key ), map.get( key ) );
+		}
+		Iterator itr = map.values().iterator();
+		while ( itr.hasNext() ) {
+			itr.next();
+			itr.remove();
+		}
+		assertTrue( map.isEmpty() );
+	}
+}
@@ -164,6 +164,10 @@ public class PersisterClassProviderTest extends junit.framework.TestCase {
 			return new int[0];  //To change body of implemented methods use File | Settings | File Templates.
 		}
 
+		public int[] findDirty(Object[] currentState, Object[] previousState, boolean[] includeProperties, Object owner, SessionImplementor session) {
+			return new int[0];
+		}
+
 		public int[] findModified(Object[] old, Object[] current, Object object, SessionImplementor session) {
 			return new int[0];  //To change body of implemented methods use File | Settings | File Templates.
 		}
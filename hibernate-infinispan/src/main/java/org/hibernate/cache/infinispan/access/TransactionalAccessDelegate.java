@@ -22,6 +22,10 @@
  * Boston, MA  02110-1301  USA
  */
 package org.hibernate.cache.infinispan.access;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 import javax.transaction.Transaction;
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.access.CollectionRegionAccessStrategy;
@@ -65,6 +69,22 @@ public class TransactionalAccessDelegate {
       return val;
    }
 
+   public Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+      Map<Object, Object> result = new HashMap<Object, Object>();
+      if (!region.checkValid())
+         return result;
+      // Infinispan offers no bulk read, so the keys are read one by one;
+      // the region only needs checking for validity once though
+      for (Object key : keys) {
+         Object val = cacheAdapter.get(key);
+         if (val == null)
+            putValidator.registerPendingPut(key);
+         else
+            result.put(key, val);
+      }
+      return result;
+   }
+
    public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version) throws CacheException {
       if (!region.checkValid())
          return false;
@@ -1,4 +1,7 @@
 package org.hibernate.cache.infinispan.collection;
+import java.util.Collection;
+import java.util.Map;
+
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.CollectionRegion;
 import org.hibernate.cache.access.CollectionRegionAccessStrategy;
@@ -35,6 +38,10 @@ class TransactionalAccess implements CollectionRegionAccessStrategy {
       return delegate.get(key, txTimestamp);
    }
 
+   public Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+      return delegate.getAll(keys, txTimestamp);
+   }
+
    public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version) throws CacheException {
       return delegate.putFromLoad(key, value, txTimestamp, version);
    }
@@ -1,15 +1,22 @@
 package org.hibernate.cache.infinispan.entity;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import javax.transaction.TransactionManager;
 import org.hibernate.cache.CacheDataDescription;
 import org.hibernate.cache.CacheException;
-import org.hibernate.cache.EntityRegion;
+import org.hibernate.cache.ObservableEntityRegion;
 import org.hibernate.cache.RegionFactory;
+import org.hibernate.cache.RegionInvalidationListener;
 import org.hibernate.cache.access.AccessType;
 import org.hibernate.cache.access.EntityRegionAccessStrategy;
 import org.hibernate.cache.infinispan.access.PutFromLoadValidator;
 import org.hibernate.cache.infinispan.impl.BaseTransactionalDataRegion;
 import org.hibernate.cache.infinispan.util.CacheAdapter;
 import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryRemoved;
+import org.infinispan.notifications.cachelistener.event.CacheEntryInvalidatedEvent;
+import org.infinispan.notifications.cachelistener.event.CacheEntryModifiedEvent;
+import org.infinispan.notifications.cachelistener.event.CacheEntryRemovedEvent;
 
 /**
  * @author Chris Bredesen
@@ -17,7 +24,9 @@ import org.infinispan.notifications.Listener;
  * @since 3.5
  */
 @Listener
-public class EntityRegionImpl extends BaseTransactionalDataRegion implements EntityRegion {
+public class EntityRegionImpl extends BaseTransactionalDataRegion implements ObservableEntityRegion {
+
+   private final List<RegionInvalidationListener> invalidationListeners = new CopyOnWriteArrayList<RegionInvalidationListener>();
 
    public EntityRegionImpl(CacheAdapter cacheAdapter, String name, CacheDataDescription metadata, 
             TransactionManager transactionManager, RegionFactory factory) {
@@ -36,4 +45,53 @@ public class EntityRegionImpl extends BaseTransactionalDataRegion implements Ent
    public PutFromLoadValidator getPutFromLoadValidator() {
       return new PutFromLoadValidator(transactionManager);
    }
-}
\ No newline at end of file
+
+   public void addRegionInvalidationListener(RegionInvalidationListener listener) {
+      invalidationListeners.add(listener);
+   }
+
+   public void removeRegionInvalidationListener(RegionInvalidationListener listener) {
+      invalidationListeners.remove(listener);
+   }
+
+   @Override
+   public void destroy() throws CacheException {
+      invalidationListeners.clear();
+      super.destroy();
+   }
+
+   @CacheEntryRemoved
+   public void entryRemoved(CacheEntryRemovedEvent event) {
+      notifyInvalidated(event.getKey());
+   }
+
+   @Override
+   protected boolean handleEvictAllModification(CacheEntryModifiedEvent event) {
+      boolean result = super.handleEvictAllModification(event);
+      if (result)
+         notifyInvalidatedAll();
+      else
+         notifyInvalidated(event.getKey());
+      return result;
+   }
+
+   @Override
+   protected boolean handleEvictAllInvalidation(CacheEntryInvalidatedEvent event) {
+      boolean result = super.handleEvictAllInvalidation(event);
+      if (result)
+         notifyInvalidatedAll();
+      else
+         notifyInvalidated(event.getKey());
+      return result;
+   }
+
+   private void notifyInvalidated(Object key) {
+      for (RegionInvalidationListener listener : invalidationListeners)
+         listener.invalidated(key);
+   }
+
+   private void notifyInvalidatedAll() {
+      for (RegionInvalidationListener listener : invalidationListeners)
+         listener.invalidatedAll();
+   }
+}
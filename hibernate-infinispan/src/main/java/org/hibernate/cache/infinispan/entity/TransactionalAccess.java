@@ -1,4 +1,7 @@
 package org.hibernate.cache.infinispan.entity;
+import java.util.Collection;
+import java.util.Map;
+
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.EntityRegion;
 import org.hibernate.cache.access.EntityRegionAccessStrategy;
@@ -43,6 +46,10 @@ class TransactionalAccess implements EntityRegionAccessStrategy {
       return delegate.insert(key, value, version);
    }
 
+   public Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+      return delegate.getAll(keys, txTimestamp);
+   }
+
    public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version) throws CacheException {
       return delegate.putFromLoad(key, value, txTimestamp, version);
    }
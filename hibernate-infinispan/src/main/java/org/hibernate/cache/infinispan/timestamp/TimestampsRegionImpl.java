@@ -1,12 +1,15 @@
 package org.hibernate.cache.infinispan.timestamp;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import javax.transaction.Transaction;
 import javax.transaction.TransactionManager;
 import org.hibernate.cache.CacheException;
+import org.hibernate.cache.ObservableTimestampsRegion;
 import org.hibernate.cache.RegionFactory;
-import org.hibernate.cache.TimestampsRegion;
+import org.hibernate.cache.TimestampsRegionListener;
 import org.hibernate.cache.infinispan.impl.BaseGeneralDataRegion;
 import org.hibernate.cache.infinispan.util.CacheAdapter;
 import org.hibernate.cache.infinispan.util.CacheHelper;
@@ -26,9 +29,12 @@ import org.infinispan.notifications.cachelistener.event.CacheEntryRemovedEvent;
  * @since 3.5
  */
 @Listener
-public class TimestampsRegionImpl extends BaseGeneralDataRegion implements TimestampsRegion {
+public class TimestampsRegionImpl extends BaseGeneralDataRegion implements ObservableTimestampsRegion {
 
    private Map localCache = new ConcurrentHashMap();
+   // guards changes to the local cache so that listeners see them in order
+   private final Object localCacheLock = new Object();
+   private final List<TimestampsRegionListener> listeners = new CopyOnWriteArrayList<TimestampsRegionListener>();
 
    public TimestampsRegionImpl(CacheAdapter cacheAdapter, String name, TransactionManager transactionManager, RegionFactory factory) {
       super(cacheAdapter, name, transactionManager, factory);
@@ -69,7 +75,7 @@ public class TimestampsRegionImpl extends BaseGeneralDataRegion implements Times
             value = get(key, false);
 
          if (value != null)
-            localCache.put(key, value);
+            putLocal(key, value);
       }
       return value;
    }
@@ -89,8 +95,23 @@ public class TimestampsRegionImpl extends BaseGeneralDataRegion implements Times
       }
    }
 
+   public void addTimestampsRegionListener(TimestampsRegionListener listener) {
+      synchronized (localCacheLock) {
+         listeners.add(listener);
+         for (Object o : localCache.entrySet()) {
+            Map.Entry entry = (Map.Entry) o;
+            listener.timestampUpdated(entry.getKey(), entry.getValue());
+         }
+      }
+   }
+
+   public void removeTimestampsRegionListener(TimestampsRegionListener listener) {
+      listeners.remove(listener);
+   }
+
    @Override
    public void destroy() throws CacheException {
+      listeners.clear();
       localCache.clear();
       cacheAdapter.removeListener(this);
       super.destroy();
@@ -104,7 +125,7 @@ public class TimestampsRegionImpl extends BaseGeneralDataRegion implements Times
    @CacheEntryModified
    public void nodeModified(CacheEntryModifiedEvent event) {
       if (!handleEvictAllModification(event) && !event.isPre()) {
-         localCache.put(event.getKey(), event.getValue());
+         putLocal(event.getKey(), event.getValue());
       }
    }
 
@@ -116,14 +137,18 @@ public class TimestampsRegionImpl extends BaseGeneralDataRegion implements Times
    @CacheEntryRemoved
    public void nodeRemoved(CacheEntryRemovedEvent event) {
       if (event.isPre()) return;
-      localCache.remove(event.getKey());
+      synchronized (localCacheLock) {
+         localCache.remove(event.getKey());
+         for (TimestampsRegionListener listener : listeners)
+            listener.timestampRemoved(event.getKey());
+      }
    }
 
    @Override
    protected boolean handleEvictAllModification(CacheEntryModifiedEvent event) {
       boolean result = super.handleEvictAllModification(event);
       if (result) {
-         localCache.clear();
+         clearLocal();
       }
       return result;
    }
@@ -132,11 +157,27 @@ public class TimestampsRegionImpl extends BaseGeneralDataRegion implements Times
    protected boolean handleEvictAllInvalidation(CacheEntryInvalidatedEvent event) {
       boolean result = super.handleEvictAllInvalidation(event);
       if (result) {
-         localCache.clear();
+         clearLocal();
       }
       return result;
    }
 
+   private void putLocal(Object key, Object value) {
+      synchronized (localCacheLock) {
+         localCache.put(key, value);
+         for (TimestampsRegionListener listener : listeners)
+            listener.timestampUpdated(key, value);
+      }
+   }
+
+   private void clearLocal() {
+      synchronized (localCacheLock) {
+         localCache.clear();
+         for (TimestampsRegionListener listener : listeners)
+            listener.timestampsCleared();
+      }
+   }
+
    /**
     * Brings all data from the distributed cache into our local cache.
     */
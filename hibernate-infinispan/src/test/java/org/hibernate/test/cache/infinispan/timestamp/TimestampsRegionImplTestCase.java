@@ -23,7 +23,9 @@
  */
 package org.hibernate.test.cache.infinispan.timestamp;
 
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.infinispan.AdvancedCache;
 import org.infinispan.notifications.Listener;
@@ -40,6 +42,7 @@ import org.infinispan.notifications.cachelistener.event.Event;
 
 import org.hibernate.cache.CacheDataDescription;
 import org.hibernate.cache.Region;
+import org.hibernate.cache.TimestampsRegionListener;
 import org.hibernate.cache.UpdateTimestampsCache;
 import org.hibernate.cache.infinispan.InfinispanRegionFactory;
 import org.hibernate.cache.infinispan.impl.ClassLoaderAwareCache;
@@ -51,12 +54,17 @@ import org.hibernate.cfg.Configuration;
 import org.hibernate.service.ServiceRegistryBuilder;
 import org.hibernate.service.internal.BasicServiceRegistryImpl;
 
+import org.junit.Test;
+
 import org.hibernate.test.cache.infinispan.AbstractGeneralDataRegionTestCase;
 import org.hibernate.test.cache.infinispan.functional.classloader.Account;
 import org.hibernate.test.cache.infinispan.functional.classloader.AccountHolder;
 import org.hibernate.test.cache.infinispan.functional.classloader.SelectedClassnameClassLoader;
 import org.hibernate.test.cache.infinispan.util.CacheTestUtil;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
 /**
  * Tests of TimestampsRegionImpl.
  * 
@@ -122,6 +130,67 @@ public class TimestampsRegionImplTestCase extends AbstractGeneralDataRegionTestC
 
    }
 
+   @Test
+   public void testListenerSeesLocalAndRemoteUpdates() throws Exception {
+      Configuration cfg = createConfiguration();
+      InfinispanRegionFactory regionFactory = CacheTestUtil.startRegionFactory(
+            new ServiceRegistryBuilder( cfg.getProperties() ).buildServiceRegistry(),
+            cfg,
+            getCacheTestSupport()
+      );
+      // Sleep a bit to avoid concurrent FLUSH problem
+      avoidConcurrentFlush();
+      TimestampsRegionImpl localRegion = (TimestampsRegionImpl) regionFactory.buildTimestampsRegion(getStandardRegionName(REGION_PREFIX), cfg.getProperties());
+
+      cfg = createConfiguration();
+      regionFactory = CacheTestUtil.startRegionFactory(
+            new ServiceRegistryBuilder( cfg.getProperties() ).buildServiceRegistry(),
+            cfg,
+            getCacheTestSupport()
+      );
+      // Sleep a bit to avoid concurrent FLUSH problem
+      avoidConcurrentFlush();
+      TimestampsRegionImpl remoteRegion = (TimestampsRegionImpl) regionFactory.buildTimestampsRegion(getStandardRegionName(REGION_PREFIX), cfg.getProperties());
+
+      localRegion.put("space1", 1L);
+      sleep(250);
+
+      RecordingListener listener = new RecordingListener();
+      localRegion.addTimestampsRegionListener(listener);
+      // the current timestamps are replayed on registration
+      assertEquals(1L, listener.timestamps.get("space1"));
+
+      remoteRegion.put("space2", 2L);
+      // allow async propagation
+      sleep(250);
+      assertEquals(2L, listener.timestamps.get("space2"));
+
+      // local puts are reported before put() returns
+      localRegion.put("space2", 4L);
+      assertEquals(4L, listener.timestamps.get("space2"));
+
+      localRegion.removeTimestampsRegionListener(listener);
+      localRegion.put("space3", 3L);
+      sleep(250);
+      assertNull(listener.timestamps.get("space3"));
+   }
+
+   private static class RecordingListener implements TimestampsRegionListener {
+      private final Map<Object, Object> timestamps = new ConcurrentHashMap<Object, Object>();
+
+      public void timestampUpdated(Object space, Object timestamp) {
+         timestamps.put(space, timestamp);
+      }
+
+      public void timestampRemoved(Object space) {
+         timestamps.remove(space);
+      }
+
+      public void timestampsCleared() {
+         timestamps.clear();
+      }
+   }
+
    @Override
    protected Configuration createConfiguration() {
       return CacheTestUtil.buildConfiguration("test", MockInfinispanRegionFactory.class, false, true);
@@ -0,0 +1,112 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.SessionFactoryImplementor;
+import org.hibernate.performance.model.Customer;
+import org.hibernate.service.BasicServiceRegistry;
+import org.hibernate.service.ServiceRegistryBuilder;
+
+/**
+ * Base state for the benchmarks: builds a {@link org.hibernate.SessionFactory} against a private in-memory H2
+ * database and populates it with {@link #CUSTOMER_COUNT} customers.  Subclasses adjust the configuration through
+ * {@link #configure}.
+ */
+@State(Scope.Benchmark)
+public abstract class AbstractSessionFactoryBenchmark {
+	public static final int CUSTOMER_COUNT = 1000;
+
+	protected SessionFactoryImplementor sessionFactory;
+	protected List<Long> customerIds;
+
+	private BasicServiceRegistry serviceRegistry;
+
+	@Setup
+	public void buildSessionFactory() {
+		Configuration cfg = new Configuration()
+				.setProperty( Environment.DIALECT, H2Dialect.class.getName() )
+				.setProperty( Environment.DRIVER, "org.h2.Driver" )
+				.setProperty( Environment.URL, "jdbc:h2:mem:" + getClass().getSimpleName() + ";DB_CLOSE_DELAY=-1" )
+				.setProperty( Environment.USER, "sa" )
+				.setProperty( Environment.HBM2DDL_AUTO, "create-drop" )
+				.setProperty( Environment.USE_SECOND_LEVEL_CACHE, "false" )
+				.setProperty( Environment.USE_QUERY_CACHE, "false" )
+				.setProperty( Environment.STATEMENT_BATCH_SIZE, "50" )
+				.addAnnotatedClass( Customer.class );
+		configure( cfg );
+
+		serviceRegistry = new ServiceRegistryBuilder( cfg.getProperties() ).buildServiceRegistry();
+		sessionFactory = (SessionFactoryImplementor) cfg.buildSessionFactory( serviceRegistry );
+		customerIds = populate();
+		afterSessionFactoryBuilt();
+	}
+
+	/**
+	 * Hook for adjusting the configuration before the session factory is built.
+	 *
+	 * @param cfg The configuration
+	 */
+	protected void configure(Configuration cfg) {
+	}
+
+	/**
+	 * Hook called once the session factory is built and the database populated.
+	 */
+	protected void afterSessionFactoryBuilt() {
+	}
+
+	private List<Long> populate() {
+		List<Long> ids = new ArrayList<Long>( CUSTOMER_COUNT );
+		Session session = sessionFactory.openSession();
+		session.beginTransaction();
+		for ( int i = 0; i < CUSTOMER_COUNT; i++ ) {
+			ids.add( (Long) session.save( new Customer( i ) ) );
+			if ( i % 50 == 0 ) {
+				session.flush();
+				session.clear();
+			}
+		}
+		session.getTransaction().commit();
+		session.close();
+		return ids;
+	}
+
+	@TearDown
+	public void closeSessionFactory() {
+		sessionFactory.close();
+		ServiceRegistryBuilder.destroy( serviceRegistry );
+	}
+}
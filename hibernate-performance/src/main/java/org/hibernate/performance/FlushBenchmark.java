@@ -0,0 +1,92 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.performance;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.hibernate.Session;
+import org.hibernate.performance.model.Customer;
+
+/**
+ * Measures flushing a session holding all {@link #CUSTOMER_COUNT} customers, which is dominated by dirty checking
+ * in {@link org.hibernate.event.def.DefaultFlushEntityEventListener}.  Each invocation works on a freshly loaded
+ * session whose transaction is rolled back afterwards, so the database never changes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class FlushBenchmark extends AbstractSessionFactoryBenchmark {
+	/**
+	 * One in how many customers {@link #flushDirty} modifies.
+	 */
+	public static final int DIRTY_RATIO = 10;
+
+	private Session session;
+	private List<Customer> customers;
+
+	@Setup(Level.Invocation)
+	@SuppressWarnings({ "unchecked" })
+	public void loadCustomers() {
+		session = sessionFactory.openSession();
+		session.beginTransaction();
+		customers = session.createQuery( "from Customer" ).list();
+	}
+
+	@TearDown(Level.Invocation)
+	public void rollback() {
+		session.getTransaction().rollback();
+		session.close();
+	}
+
+	@Benchmark
+	public void flushClean() {
+		session.flush();
+	}
+
+	@Benchmark
+	public void flushDirty() {
+		for ( int i = 0; i < customers.size(); i += DIRTY_RATIO ) {
+			Customer customer = customers.get( i );
+			customer.setLoyaltyPoints( customer.getLoyaltyPoints() + 1 );
+		}
+		session.flush();
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.performance;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.hibernate.hql.QueryTranslator;
+import org.hibernate.hql.ast.ASTQueryTranslatorFactory;
+
+/**
+ * Measures HQL compilation through {@link ASTQueryTranslatorFactory}, bypassing the query plan cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class HqlCompilationBenchmark extends AbstractSessionFactoryBenchmark {
+	@Param({
+			"from Customer c where c.name = :name",
+			"select c.country, count(c), sum(c.balance) from Customer c where c.active = true and c.loyaltyPoints > :points group by c.country order by c.country",
+			"update Customer c set c.loyaltyPoints = c.loyaltyPoints + 1 where c.city in (:cities)"
+	})
+	public String hql;
+
+	private final ASTQueryTranslatorFactory translatorFactory = new ASTQueryTranslatorFactory();
+
+	@Benchmark
+	public Object compile() {
+		QueryTranslator translator = translatorFactory.createQueryTranslator(
+				hql,
+				hql,
+				Collections.EMPTY_MAP,
+				sessionFactory
+		);
+		translator.compile( Collections.EMPTY_MAP, false );
+		return translator;
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.performance;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.hibernate.Session;
+import org.hibernate.cache.HashtableCacheProvider;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.performance.model.Customer;
+
+/**
+ * The {@link SessionGetBenchmark#get} benchmark with the second level cache enabled and warmed up, so that every
+ * {@link Session#get} is served by a cache hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SecondLevelCacheBenchmark extends AbstractSessionFactoryBenchmark {
+	@Override
+	protected void configure(Configuration cfg) {
+		cfg.setProperty( Environment.USE_SECOND_LEVEL_CACHE, "true" );
+		cfg.setProperty( Environment.CACHE_PROVIDER, HashtableCacheProvider.class.getName() );
+	}
+
+	@Override
+	protected void afterSessionFactoryBuilt() {
+		// one pass over all customers puts them in the cache
+		Session session = sessionFactory.openSession();
+		for ( Long id : customerIds ) {
+			session.get( Customer.class, id );
+		}
+		session.close();
+	}
+
+	@Benchmark
+	public void get(Blackhole blackhole) {
+		Session session = sessionFactory.openSession();
+		try {
+			for ( int i = 0; i < SessionGetBenchmark.ENTITIES_PER_SESSION; i++ ) {
+				blackhole.consume( session.get( Customer.class, customerIds.get( i ) ) );
+			}
+		}
+		finally {
+			session.close();
+		}
+	}
+}
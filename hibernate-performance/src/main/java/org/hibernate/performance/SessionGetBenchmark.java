@@ -0,0 +1,83 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.performance;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.performance.model.Customer;
+
+/**
+ * Measures {@link Session#get} and {@link Session#load} of entities which are not yet associated with the session,
+ * each loaded with its own select.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SessionGetBenchmark extends AbstractSessionFactoryBenchmark {
+	public static final int ENTITIES_PER_SESSION = 100;
+
+	@Benchmark
+	public void get(Blackhole blackhole) {
+		Session session = sessionFactory.openSession();
+		try {
+			for ( int i = 0; i < ENTITIES_PER_SESSION; i++ ) {
+				blackhole.consume( session.get( Customer.class, customerIds.get( i ) ) );
+			}
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@Benchmark
+	public void load(Blackhole blackhole) {
+		Session session = sessionFactory.openSession();
+		try {
+			for ( int i = 0; i < ENTITIES_PER_SESSION; i++ ) {
+				Object proxy = session.load( Customer.class, customerIds.get( i ) );
+				Hibernate.initialize( proxy );
+				blackhole.consume( proxy );
+			}
+		}
+		finally {
+			session.close();
+		}
+	}
+}